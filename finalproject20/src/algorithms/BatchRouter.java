@@ -0,0 +1,198 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calcul en lot des distances d'une liste de couples (source, destination).
+ *
+ * Principe :
+ * 1. Les couples sont regroupes par source, ou par destination si les destinations
+ *    distinctes sont moins nombreuses (recherche inversee sur les arcs entrants)
+ * 2. Une seule recherche de Dijkstra par groupe, arretee des que toutes les
+ *    destinations du groupe sont definitives
+ * 3. Les groupes sont repartis sur un ForkJoinPool ; chaque tache reutilise
+ *    ses tableaux de travail d'un groupe a l'autre
+ *
+ * Le resultat est un tableau de distances aligne sur les couples d'entree
+ * (Double.POSITIVE_INFINITY si la destination est inaccessible).
+ */
+public class BatchRouter {
+
+    /**
+     * Calcule les distances des couples (sources[i], targets[i]) dans un graphe non oriente.
+     *
+     * @param graph Le graphe non oriente
+     * @param sources Les sommets de depart
+     * @param targets Les sommets d'arrivee (meme taille que sources)
+     * @return distances[i] = d(sources[i], targets[i])
+     */
+    public static double[] distances(UndirectedGraph graph, List<Vertex> sources, List<Vertex> targets) {
+        return distances(CompactGraph.of(graph), sources, targets);
+    }
+
+    /**
+     * Calcule les distances des couples (sources[i], targets[i]) dans un graphe oriente.
+     *
+     * @param graph Le graphe oriente
+     * @param sources Les sommets de depart
+     * @param targets Les sommets d'arrivee (meme taille que sources)
+     * @return distances[i] = d(sources[i], targets[i])
+     */
+    public static double[] distances(DirectedGraph graph, List<Vertex> sources, List<Vertex> targets) {
+        return distances(CompactGraph.of(graph), sources, targets);
+    }
+
+    /**
+     * Variante sur la representation compacte, avec le pool commun.
+     */
+    public static double[] distances(CompactGraph graph, List<Vertex> sources, List<Vertex> targets) {
+        if (sources.size() != targets.size()) {
+            throw new IllegalArgumentException("Les listes de sources et de destinations doivent avoir la meme taille");
+        }
+        return distances(graph, toIndices(graph, sources), toIndices(graph, targets), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Variante indexee.
+     *
+     * @param graph Le graphe compact
+     * @param sources Indices des sommets de depart
+     * @param targets Indices des sommets d'arrivee (meme taille que sources)
+     * @param pool Le pool de threads utilise
+     * @return distances[i] = d(sources[i], targets[i])
+     */
+    public static double[] distances(CompactGraph graph, int[] sources, int[] targets, ForkJoinPool pool) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Les tableaux de sources et de destinations doivent avoir la meme taille");
+        }
+        int n = graph.getVertexCount();
+        int pairCount = sources.length;
+        double[] result = new double[pairCount];
+        if (pairCount == 0) {
+            return result;
+        }
+
+        // Grouper du cote qui a le moins de sommets distincts
+        boolean reverse = countDistinct(targets, n) < countDistinct(sources, n);
+        int[] roots = reverse ? targets : sources;
+        int[] others = reverse ? sources : targets;
+
+        // Tri par denombrement des couples selon leur racine
+        int[] counts = new int[n + 1];
+        for (int root : roots) {
+            counts[root + 1]++;
+        }
+        int groupCount = 0;
+        for (int v = 0; v < n; v++) {
+            if (counts[v + 1] > 0) {
+                groupCount++;
+            }
+            counts[v + 1] += counts[v];
+        }
+        int[] order = new int[pairCount];
+        int[] next = Arrays.copyOf(counts, n);
+        for (int i = 0; i < pairCount; i++) {
+            order[next[roots[i]]++] = i;
+        }
+        int[] groupRoots = new int[groupCount];
+        int[] groupStarts = new int[groupCount + 1];
+        int g = 0;
+        for (int v = 0; v < n; v++) {
+            if (counts[v + 1] > counts[v]) {
+                groupRoots[g] = v;
+                groupStarts[g] = counts[v];
+                g++;
+            }
+        }
+        groupStarts[groupCount] = pairCount;
+
+        int grain = Math.max(1, groupCount / (4 * pool.getParallelism()));
+        pool.invoke(new GroupTask(graph, reverse, groupRoots, groupStarts, order, others, result,
+            0, groupCount, grain));
+        return result;
+    }
+
+    private static int[] toIndices(CompactGraph graph, List<Vertex> vertices) {
+        int[] indices = new int[vertices.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = graph.indexOf(vertices.get(i));
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Le sommet " + vertices.get(i) + " n'existe pas dans le graphe");
+            }
+        }
+        return indices;
+    }
+
+    private static int countDistinct(int[] vertices, int n) {
+        boolean[] seen = new boolean[n];
+        int distinct = 0;
+        for (int v : vertices) {
+            if (!seen[v]) {
+                seen[v] = true;
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Traite une tranche de groupes ; decoupee tant qu'elle depasse grain groupes.
+     */
+    private static class GroupTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph graph;
+        private final boolean reverse;
+        private final int[] groupRoots;
+        private final int[] groupStarts;
+        private final int[] order;
+        private final int[] others;
+        private final double[] result;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        GroupTask(CompactGraph graph, boolean reverse, int[] groupRoots, int[] groupStarts, int[] order,
+                  int[] others, double[] result, int from, int to, int grain) {
+            this.graph = graph;
+            this.reverse = reverse;
+            this.groupRoots = groupRoots;
+            this.groupStarts = groupStarts;
+            this.order = order;
+            this.others = others;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                    new GroupTask(graph, reverse, groupRoots, groupStarts, order, others, result, from, middle, grain),
+                    new GroupTask(graph, reverse, groupRoots, groupStarts, order, others, result, middle, to, grain));
+                return;
+            }
+
+            SearchWorkspace workspace = new SearchWorkspace(graph.getVertexCount());
+            for (int group = from; group < to; group++) {
+                int start = groupStarts[group];
+                int end = groupStarts[group + 1];
+                int[] targets = new int[end - start];
+                for (int k = start; k < end; k++) {
+                    targets[k - start] = others[order[k]];
+                }
+                double[] distances = workspace.distancesTo(graph, groupRoots[group], reverse, targets);
+                for (int k = start; k < end; k++) {
+                    result[order[k]] = distances[k - start];
+                }
+            }
+        }
+    }
+}
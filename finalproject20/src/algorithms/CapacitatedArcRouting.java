@@ -0,0 +1,276 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Tournees de collecte avec capacite (CARP : Capacitated Arc Routing Problem).
+ *
+ * Chaque rue a une demande (quantite a collecter) et le camion a une capacite : la grande
+ * tournee du Postier chinois doit etre decoupee en voyages qui partent du depot et y
+ * reviennent vider le camion.
+ *
+ * Principe (route-first, cluster-second, decoupage d'Ulusoy) :
+ * 1. Grande tournee du Postier chinois depuis le depot ; les rues a collecter y sont
+ *    numerotees dans l'ordre de leur premier passage (les passages suivants sont a vide)
+ * 2. Distances du depot a tous les sommets (un seul Dijkstra, graphe non oriente)
+ * 3. Un voyage collecte une suite consecutive de rues i..j de la tournee : il va du depot au
+ *    debut de la rue i, suit la tournee jusqu'a la fin de la rue j, puis rentre au depot.
+ *    Son cout est donc d0(debut i) + (portion de tournee) + d0(fin j), en O(1) grace aux
+ *    distances cumulees le long de la tournee
+ * 4. Le meilleur decoupage est un plus court chemin dans le graphe acyclique des coupures
+ *    (programmation dynamique), en O(nombre de rues x rues par voyage)
+ *
+ * Le decoupage est optimal pour l'ordre de collecte impose par la tournee.
+ */
+public class CapacitatedArcRouting {
+
+    /**
+     * Un voyage du camion : depart et retour au depot.
+     */
+    public static class Trip {
+        private final List<Vertex> route;
+        private final double load;
+        private final double distance;
+
+        public Trip(List<Vertex> route, double load, double distance) {
+            this.route = route;
+            this.load = load;
+            this.distance = distance;
+        }
+
+        public List<Vertex> getRoute() {
+            return route;
+        }
+
+        /**
+         * Retourne la quantite collectee pendant le voyage.
+         */
+        public double getLoad() {
+            return load;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Resultat du decoupage : les voyages et leur distance totale.
+     */
+    public static class Result {
+        private final List<Trip> trips;
+        private final double totalDistance;
+        private final double giantTourDistance;
+
+        public Result(List<Trip> trips, double totalDistance, double giantTourDistance) {
+            this.trips = trips;
+            this.totalDistance = totalDistance;
+            this.giantTourDistance = giantTourDistance;
+        }
+
+        public List<Trip> getTrips() {
+            return trips;
+        }
+
+        public double getTotalDistance() {
+            return totalDistance;
+        }
+
+        /**
+         * Retourne la distance de la grande tournee du Postier chinois (sans capacite).
+         */
+        public double getGiantTourDistance() {
+            return giantTourDistance;
+        }
+    }
+
+    /**
+     * Decoupe la tournee optimale du Postier chinois (appariement exact) en voyages.
+     *
+     * @param graph Le graphe non oriente
+     * @param streets Les rues a collecter (rues absentes : rien a collecter)
+     * @param demands Quantite a collecter dans chaque rue de streets
+     * @param capacity Capacite du camion
+     * @param depot Le depot
+     * @return Les voyages
+     */
+    public static Result solve(UndirectedGraph graph, List<Edge> streets, double[] demands, double capacity,
+                               Vertex depot) {
+        return solve(graph, streets, demands, capacity, depot, ChinesePostman.MatchingMode.EXACT,
+                     ChinesePostman.ALL_PAIRS);
+    }
+
+    /**
+     * Decoupe en voyages la tournee du Postier chinois calculee avec l'appariement donne.
+     *
+     * @param graph Le graphe non oriente
+     * @param streets Les rues a collecter (extremites sans ordre), une entree par rue : deux
+     *                rues paralleles sont deux entrees, rattachees chacune a sa propre arete
+     *                (de meme poids si possible)
+     * @param demands Quantite a collecter dans chaque rue de streets
+     * @param capacity Capacite du camion
+     * @param depot Le depot
+     * @param mode Methode d'appariement des sommets impairs (voir ChinesePostman)
+     * @param candidatesPerVertex Nombre de voisins impairs candidats, ou ChinesePostman.ALL_PAIRS
+     * @return Les voyages
+     * @throws IllegalArgumentException si une demande depasse la capacite, ou si une rue a
+     *         collecter n'existe pas ou n'est pas accessible depuis le depot
+     */
+    public static Result solve(UndirectedGraph graph, List<Edge> streets, double[] demands, double capacity,
+                               Vertex depot, ChinesePostman.MatchingMode mode, int candidatesPerVertex) {
+        if (streets.size() != demands.length) {
+            throw new IllegalArgumentException("Une demande est attendue pour chaque rue");
+        }
+        if (graph.isEmpty()) {
+            throw new IllegalArgumentException("Le graphe est vide");
+        }
+        if (!(capacity > 0) || Double.isInfinite(capacity)) {
+            throw new IllegalArgumentException("La capacité du camion doit être strictement positive");
+        }
+        CompactGraph compact = CompactGraph.of(graph);
+        int root = compact.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt " + depot + " n'existe pas dans le graphe");
+        }
+
+        // Demande de chaque arete (par identifiant) : chaque rue prend une arete libre de memes
+        // extremites, de preference de meme poids
+        int m = compact.getEdgeCount();
+        Map<Edge, IntList> parallel = new HashMap<>();
+        for (int e = 0; e < m; e++) {
+            Edge key = new Edge(compact.getVertex(compact.getEdgeTail(e)),
+                                compact.getVertex(compact.getEdgeHead(e)), compact.getWeight(e));
+            parallel.computeIfAbsent(key, k -> new IntList()).add(e);
+        }
+        double[] demand = new double[m];
+        boolean[] assigned = new boolean[m];
+        int taskCount = 0;
+        for (int i = 0; i < demands.length; i++) {
+            Edge street = streets.get(i);
+            if (!(demands[i] >= 0)) {
+                throw new IllegalArgumentException("Demande négative pour la rue " + street);
+            }
+            if (demands[i] == 0) {
+                continue;
+            }
+            if (demands[i] > capacity) {
+                throw new IllegalArgumentException("La demande de la rue " + street.getFrom().getId() + " - "
+                    + street.getTo().getId() + " (" + demands[i] + ") dépasse la capacité du camion ("
+                    + capacity + ")");
+            }
+            IntList candidates = parallel.getOrDefault(street, new IntList());
+            int chosen = -1;
+            for (int j = 0; j < candidates.size(); j++) {
+                int e = candidates.get(j);
+                if (!assigned[e] && (chosen < 0 || compact.getWeight(chosen) != street.getWeight()
+                                                   && compact.getWeight(e) == street.getWeight())) {
+                    chosen = e;
+                }
+            }
+            if (chosen < 0) {
+                throw new IllegalArgumentException("La rue " + street.getFrom().getId() + " - "
+                    + street.getTo().getId() + " n'existe pas dans le graphe (ou pas autant de fois)");
+            }
+            assigned[chosen] = true;
+            demand[chosen] = demands[i];
+            taskCount++;
+        }
+
+        // Etape 1 : grande tournee, rues a collecter dans l'ordre de leur premier passage
+        int[] multiplicities = ChinesePostman.multiplicities(compact, mode, candidatesPerVertex);
+        EulerianTour.TourIterator iterator = EulerianTour.tourIterator(compact, multiplicities, depot);
+        IntList tour = new IntList();
+        int[] taskPositions = new int[taskCount];
+        double[] taskDemands = new double[taskCount];
+        double[] taskStarts = new double[taskCount];
+        double[] taskEnds = new double[taskCount];
+        boolean[] served = new boolean[m];
+        int k = 0;
+        while (iterator.hasNext()) {
+            double before = iterator.getDistance();
+            tour.add(iterator.nextInt());
+            int edge = iterator.getLastEdge();
+            if (edge >= 0 && demand[edge] > 0 && !served[edge]) {
+                served[edge] = true;
+                taskPositions[k] = tour.size() - 2;
+                taskDemands[k] = demand[edge];
+                taskStarts[k] = before;
+                taskEnds[k] = iterator.getDistance();
+                k++;
+            }
+        }
+        if (k < taskCount) {
+            throw new IllegalArgumentException("Des rues à collecter ne sont pas accessibles depuis le dépôt");
+        }
+
+        // Etape 2 : distances depuis le depot (egales aux distances vers le depot)
+        ShortestPathTree fromDepot = Dijkstra.shortestPathTree(compact, root);
+
+        // Etapes 3 et 4 : best[j] = cout minimal pour collecter les j premieres rues
+        double[] best = new double[k + 1];
+        int[] cut = new int[k + 1];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[0] = 0.0;
+        // Tolerance sur la charge : des demandes decimales ne s'additionnent pas exactement
+        double limit = capacity * (1 + 1e-12);
+        for (int i = 0; i < k; i++) {
+            double access = fromDepot.getDistance(tour.get(taskPositions[i]));
+            double load = 0.0;
+            for (int j = i; j < k; j++) {
+                load += taskDemands[j];
+                if (load > limit) {
+                    break;
+                }
+                double cost = access + (taskEnds[j] - taskStarts[i])
+                    + fromDepot.getDistance(tour.get(taskPositions[j] + 1));
+                if (best[i] + cost < best[j + 1]) {
+                    best[j + 1] = best[i] + cost;
+                    cut[j + 1] = i;
+                }
+            }
+        }
+
+        // Reconstruction des voyages a partir des coupures
+        List<Trip> trips = new ArrayList<>();
+        for (int j = k; j > 0; j = cut[j]) {
+            int i = cut[j];
+            int first = taskPositions[i];
+            int last = taskPositions[j - 1] + 1;
+            double distance = fromDepot.getDistance(tour.get(first)) + (taskEnds[j - 1] - taskStarts[i])
+                + fromDepot.getDistance(tour.get(last));
+            trips.add(buildTrip(compact, fromDepot, tour, first, last, sum(taskDemands, i, j), distance));
+        }
+        Collections.reverse(trips);
+        return new Result(trips, best[k], iterator.getDistance());
+    }
+
+    /**
+     * Voyage : depot → tour[first], tournee de first a last, puis tour[last] → depot.
+     */
+    private static Trip buildTrip(CompactGraph compact, ShortestPathTree fromDepot, IntList tour,
+                                  int first, int last, double load, double distance) {
+        List<Vertex> route = new ArrayList<>();
+        CompactPath outbound = fromDepot.getCompactPath(tour.get(first));
+        for (int p = 0; p < outbound.size() - 1; p++) {
+            route.add(outbound.getVertex(p));
+        }
+        for (int p = first; p <= last; p++) {
+            route.add(compact.getVertex(tour.get(p)));
+        }
+        CompactPath inbound = fromDepot.getCompactPath(tour.get(last));
+        for (int p = inbound.size() - 2; p >= 0; p--) {
+            route.add(inbound.getVertex(p));
+        }
+        return new Trip(route, load, distance);
+    }
+
+    private static double sum(double[] values, int from, int to) {
+        double total = 0.0;
+        for (int p = from; p < to; p++) {
+            total += values[p];
+        }
+        return total;
+    }
+}
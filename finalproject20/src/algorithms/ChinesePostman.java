@@ -3,6 +3,9 @@ package algorithms;
 import graph.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * Algorithme du Postier chinois pour trouver la tournee minimale couvrant toutes les aretes
@@ -10,29 +13,137 @@ import java.util.*;
  * 
  * Principe :
  * 1. Identifier tous les sommets de degre impair
- * 2. Calculer les plus courts chemins entre toutes les paires de sommets impairs
- * 3. Trouver un appariement parfait de cout minimal entre ces sommets
+ * 2. Calculer les plus courts chemins entre les paires de sommets impairs (toutes, ou
+ *    seulement vers les plus proches voisins impairs de chaque sommet)
+ * 3. Trouver un appariement parfait de cout minimal entre ces sommets (exact par
+ *    l'algorithme d'Edmonds, ou glouton)
  * 4. Dupliquer virtuellement les aretes des chemins de l'appariement
  * 5. Le graphe devient eulerien, on peut alors construire une tournee eulerienne
  * 
  * Note importante : on ne modifie PAS le graphe reel, on simule juste les passages supplementaires.
+ * 
+ * Pour un graphe oriente (rues a sens unique), voir solve(DirectedGraph, Vertex) : les
+ * sommets desequilibres sont corriges par un flot de cout minimal au lieu d'un appariement.
  */
 public class ChinesePostman {
+
+    /**
+     * Methode de calcul de l'appariement des sommets impairs.
+     */
+    public enum MatchingMode {
+        /** Paires les plus courtes d'abord : rapide, mais peut ajouter des trajets inutiles */
+        GREEDY,
+        /** Appariement parfait de cout minimal (fleurs d'Edmonds) : tournee optimale */
+        EXACT
+    }
+
+    /**
+     * Nombre de candidats signifiant "toutes les paires de sommets impairs".
+     */
+    public static final int ALL_PAIRS = 0;
     
     /**
      * Resultat de l'algorithme du Postier chinois.
+     * 
+     * La tournee est une vue sur un tableau d'indices de sommets (voir CompactPath), et les
+     * passages supplementaires sont stockes sous forme primitive : identifiants des aretes
+     * dupliquees (dans getGraph()) et nombre de passages en plus pour chacune. La liste
+     * d'objets Edge de getDuplicatedEdges() n'est construite qu'a la demande.
+     * 
+     * Pour le Postier rural (voir RuralPostman), un passage est "en plus" des qu'il ne sert
+     * pas a desservir une rue : les rues non demandees empruntees par la tournee y figurent.
+     * 
+     * Les listes de getTour() et getDuplicatedEdges() des resultats calcules par les solveurs
+     * sont en lecture seule (UnsupportedOperationException a la modification) : copier la
+     * liste avant de la modifier. Le constructeur public conserve les listes qu'on lui donne.
      */
     public static class Result {
+        private final CompactGraph graph;
         private final List<Vertex> tour;
         private final double totalDistance;
-        private final List<Edge> duplicatedEdges; // Arêtes qui doivent être parcourues plusieurs fois
+        private final int[] duplicatedEdgeIds;
+        private final int[] duplicationCounts;
+        private List<Edge> duplicatedEdges; // Construite au premier appel de getDuplicatedEdges
+
+        /**
+         * @param extraPasses Nombre de passages en plus de chaque arete de graph (0 = pas de duplication)
+         */
+        Result(CompactGraph graph, CompactPath tour, double totalDistance, int[] extraPasses) {
+            this.graph = graph;
+            this.tour = tour.asList();
+            this.totalDistance = totalDistance;
+            int duplicated = 0;
+            for (int count : extraPasses) {
+                if (count > 0) {
+                    duplicated++;
+                }
+            }
+            this.duplicatedEdgeIds = new int[duplicated];
+            this.duplicationCounts = new int[duplicated];
+            int next = 0;
+            for (int e = 0; e < extraPasses.length; e++) {
+                if (extraPasses[e] > 0) {
+                    duplicatedEdgeIds[next] = e;
+                    duplicationCounts[next] = extraPasses[e];
+                    next++;
+                }
+            }
+        }
+
+        /**
+         * @param duplicatedEdgeIds Identifiants croissants des aretes parcourues plusieurs fois
+         * @param duplicationCounts Nombre de passages en plus de chacune
+         */
+        Result(CompactGraph graph, CompactPath tour, double totalDistance, int[] duplicatedEdgeIds,
+               int[] duplicationCounts) {
+            this.graph = graph;
+            this.tour = tour.asList();
+            this.totalDistance = totalDistance;
+            this.duplicatedEdgeIds = duplicatedEdgeIds;
+            this.duplicationCounts = duplicationCounts;
+        }
 
+        /**
+         * Construit un resultat a partir d'objets Vertex et Edge. getTour() et
+         * getDuplicatedEdges() retournent les listes donnees ; les aretes dupliquees egales
+         * (Edge.equals) sont regroupees dans un graphe compact propre au resultat (getGraph()),
+         * auquel se rapportent getDuplicatedEdgeIds() et getDuplicationCounts().
+         *
+         * @param duplicatedEdges Les passages supplementaires, une arete par passage en plus
+         */
         public Result(List<Vertex> tour, double totalDistance, List<Edge> duplicatedEdges) {
+            this(duplicationGraph(duplicatedEdges), tour, totalDistance, duplicatedEdges);
+        }
+
+        private Result(CompactGraph graph, List<Vertex> tour, double totalDistance, List<Edge> duplicatedEdges) {
+            this.graph = graph;
             this.tour = tour;
             this.totalDistance = totalDistance;
+            Map<Edge, Integer> passes = new HashMap<>();
+            for (Edge edge : duplicatedEdges) {
+                passes.merge(edge, 1, Integer::sum);
+            }
+            this.duplicatedEdgeIds = new int[graph.getEdgeCount()];
+            this.duplicationCounts = new int[graph.getEdgeCount()];
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                duplicatedEdgeIds[e] = e;
+                duplicationCounts[e] = passes.get(new Edge(graph.getVertex(graph.getEdgeTail(e)),
+                                                           graph.getVertex(graph.getEdgeHead(e)), graph.getWeight(e)));
+            }
             this.duplicatedEdges = duplicatedEdges;
         }
 
+        /**
+         * Graphe des aretes dupliquees distinctes (une par classe d'egalite).
+         */
+        private static CompactGraph duplicationGraph(List<Edge> duplicatedEdges) {
+            UndirectedGraph graph = new UndirectedGraph();
+            for (Edge edge : new LinkedHashSet<>(duplicatedEdges)) {
+                graph.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+            }
+            return CompactGraph.of(graph);
+        }
+
         public List<Vertex> getTour() {
             return tour;
         }
@@ -41,176 +152,540 @@ public class ChinesePostman {
             return totalDistance;
         }
 
-        public List<Edge> getDuplicatedEdges() {
+        /**
+         * Retourne le graphe compact auquel se rapportent les identifiants d'aretes.
+         */
+        public CompactGraph getGraph() {
+            return graph;
+        }
+
+        /**
+         * Retourne les identifiants (croissants) des aretes parcourues plusieurs fois.
+         */
+        public int[] getDuplicatedEdgeIds() {
+            return duplicatedEdgeIds.clone();
+        }
+
+        /**
+         * Retourne le nombre de passages supplementaires de chaque arete de getDuplicatedEdgeIds().
+         */
+        public int[] getDuplicationCounts() {
+            return duplicationCounts.clone();
+        }
+
+        /**
+         * Retourne les passages supplementaires, une arete par passage en plus
+         * (construite au premier appel a partir de la forme primitive).
+         */
+        public synchronized List<Edge> getDuplicatedEdges() {
+            if (duplicatedEdges == null) {
+                List<Edge> edges = new ArrayList<>();
+                for (int i = 0; i < duplicatedEdgeIds.length; i++) {
+                    int e = duplicatedEdgeIds[i];
+                    Edge edge = new Edge(graph.getVertex(graph.getEdgeTail(e)),
+                                         graph.getVertex(graph.getEdgeHead(e)), graph.getWeight(e));
+                    for (int extra = 0; extra < duplicationCounts[i]; extra++) {
+                        edges.add(edge);
+                    }
+                }
+                duplicatedEdges = Collections.unmodifiableList(edges);
+            }
             return duplicatedEdges;
         }
     }
 
     /**
-     * Resout le probleme du Postier chinois.
+     * Resout le probleme du Postier chinois avec un appariement exact sur toutes les paires.
      * 
      * @param graph Le graphe (peut avoir des sommets impairs)
      * @param depot Le sommet de depart (depot)
      * @return Un objet Result contenant la tournee et la distance totale
      */
     public static Result solve(UndirectedGraph graph, Vertex depot) {
+        return solve(graph, depot, MatchingMode.EXACT, ALL_PAIRS);
+    }
+
+    /**
+     * Resout le probleme du Postier chinois avec la methode d'appariement donnee,
+     * sur toutes les paires de sommets impairs.
+     */
+    public static Result solve(UndirectedGraph graph, Vertex depot, MatchingMode mode) {
+        return solve(graph, depot, mode, ALL_PAIRS);
+    }
+
+    /**
+     * Resout le probleme du Postier chinois.
+     * 
+     * Avec candidatesPerVertex > 0, chaque sommet impair n'est apparie qu'a l'un de ses
+     * candidatesPerVertex plus proches voisins impairs : une recherche de Dijkstra courte par
+     * sommet au lieu d'une recherche complete, et un graphe d'appariement creux. Si aucun
+     * appariement parfait n'existe parmi ces candidats, leur nombre est double jusqu'a
+     * toutes les paires (mode EXACT), ou les sommets restes seuls sont apparies entre eux
+     * (mode GREEDY). En mode EXACT, la tournee est alors optimale parmi les paires
+     * candidates (en pratique, l'appariement optimal relie presque toujours des voisins proches).
+     * 
+     * @param graph Le graphe (peut avoir des sommets impairs)
+     * @param depot Le sommet de depart (depot)
+     * @param mode Methode d'appariement des sommets impairs
+     * @param candidatesPerVertex Nombre de voisins impairs candidats par sommet, ou ALL_PAIRS
+     * @return Un objet Result contenant la tournee et la distance totale
+     * @throws IllegalArgumentException si une arete n'est pas accessible depuis le depot :
+     *         aucune tournee n'existe alors
+     */
+    public static Result solve(UndirectedGraph graph, Vertex depot, MatchingMode mode, int candidatesPerVertex) {
         if (graph.isEmpty()) {
             throw new IllegalArgumentException("Le graphe est vide");
         }
+        // Etapes 1 a 4 : nombre de passages de chaque arete (sans copie du graphe)
+        CompactGraph compact = CompactGraph.of(graph);
+        checkReachable(compact, depot);
+        int[] multiplicities = multiplicities(compact, mode, candidatesPerVertex);
+
+        // Etape 5 : Construire la tournee eulerienne sur les passages
+        return tourResult(compact, multiplicities, null, depot);
+    }
 
-        // Etape 1 : Identifier les sommets impairs
-        List<Vertex> oddVertices = EulerianTour.getOddDegreeVertices(graph);
-        
-        if (oddVertices.isEmpty()) {
-            // Cas ideal : tous les sommets sont pairs, tournee eulerienne simple
-            List<Vertex> tour = EulerianTour.findEulerianTour(graph, depot);
-            double distance = EulerianTour.calculateTourDistance(graph, tour);
-            return new Result(tour, distance, new ArrayList<>());
-        }
-
-        if (oddVertices.size() % 2 != 0) {
-            throw new IllegalArgumentException(
-                "Le nombre de sommets impairs doit etre pair. Trouve : " + oddVertices.size());
-        }
-
-        // Etape 2 : Calculer les distances minimales entre toutes les paires de sommets impairs
-        Map<Pair<Vertex>, Double> distances = new HashMap<>();
-        Map<Pair<Vertex>, List<Vertex>> paths = new HashMap<>();
-        
-        for (int i = 0; i < oddVertices.size(); i++) {
-            Vertex v1 = oddVertices.get(i);
-            Dijkstra.Result dijkstraResult = Dijkstra.shortestPaths(graph, v1);
-            
-            for (int j = i + 1; j < oddVertices.size(); j++) {
-                Vertex v2 = oddVertices.get(j);
-                double dist = dijkstraResult.getDistance(v2);
-                List<Vertex> path = dijkstraResult.getPath(v2);
-                
-                distances.put(new Pair<>(v1, v2), dist);
-                paths.put(new Pair<>(v1, v2), path);
-            }
-        }
-
-        // Etape 3 : Trouver un appariement parfait de cout minimal
-        // Version simplifiee : algorithme glouton (peut ne pas etre optimal mais fonctionne bien)
-        List<Pair<Vertex>> matching = findMinimalMatching(oddVertices, distances);
-
-        // Etape 4 : Creer un graphe eulerise (avec les aretes dupliquees)
-        UndirectedGraph eulerizedGraph = new UndirectedGraph();
-        // Copier toutes les arêtes originales
-        for (Vertex v : graph.getVertices()) {
-            eulerizedGraph.addVertex(v);
-        }
-        for (Edge e : graph.getAllEdges()) {
-            eulerizedGraph.addEdge(e.getFrom(), e.getTo(), e.getWeight());
-        }
-        
-        // Dupliquer les arêtes des chemins de l'appariement
-        List<Edge> duplicatedEdges = new ArrayList<>();
-        for (Pair<Vertex> pair : matching) {
-            List<Vertex> path = paths.get(pair);
-            if (path == null || path.size() < 2) {
-                // Essayer dans l'autre sens
-                Pair<Vertex> reversePair = new Pair<>(pair.second, pair.first);
-                path = paths.get(reversePair);
-            }
-            
-            if (path != null && path.size() >= 2) {
-                // Dupliquer chaque arête du chemin
-                for (int i = 0; i < path.size() - 1; i++) {
-                    Vertex from = path.get(i);
-                    Vertex to = path.get(i + 1);
-                    double weight = graph.getWeight(from, to);
-                    eulerizedGraph.addEdge(from, to, weight);
-                    duplicatedEdges.add(new Edge(from, to, weight));
+    /**
+     * Verifie que toutes les aretes sont accessibles depuis le depot (parcours en largeur),
+     * comme la composante fortement connexe du depot dans le cas oriente.
+     */
+    private static void checkReachable(CompactGraph compact, Vertex depot) {
+        int root = compact.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt " + depot + " n'existe pas dans le graphe");
+        }
+        CompactGraph.Adjacency adjacency = compact.getOutgoing();
+        boolean[] reached = new boolean[compact.getVertexCount()];
+        IntList queue = new IntList();
+        reached[root] = true;
+        queue.add(root);
+        for (int i = 0; i < queue.size(); i++) {
+            int u = queue.get(i);
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                if (!reached[v]) {
+                    reached[v] = true;
+                    queue.add(v);
                 }
             }
         }
+        for (int e = 0; e < compact.getEdgeCount(); e++) {
+            if (!reached[compact.getEdgeTail(e)]) {
+                throw new IllegalArgumentException("L'arête " + compact.getVertex(compact.getEdgeTail(e)) + " - "
+                    + compact.getVertex(compact.getEdgeHead(e)) + " n'est pas accessible depuis le dépôt");
+            }
+        }
+    }
+
+    /**
+     * Tournee eulerienne sur les nombres de passages, et sa distance totale.
+     * 
+     * @param servicePasses Passages qui desservent chaque arete (0 ou 1), ou null si toutes
+     *                      les aretes sont a desservir ; les autres sont des passages en plus
+     */
+    static Result tourResult(CompactGraph compact, int[] multiplicities, int[] servicePasses, Vertex depot) {
+        CompactPath circuit = EulerianTour.findEulerianTour(compact, multiplicities, depot);
+        double totalDistance = 0.0;
+        int[] extraPasses = new int[multiplicities.length];
+        for (int e = 0; e < multiplicities.length; e++) {
+            totalDistance += multiplicities[e] * compact.getWeight(e);
+            extraPasses[e] = multiplicities[e] - (servicePasses == null ? 1 : servicePasses[e]);
+        }
+        return new Result(compact, circuit, totalDistance, extraPasses);
+    }
 
-        // Etape 5 : Construire la tournee eulerienne sur le graphe eulerise
-        List<Vertex> tour = EulerianTour.findEulerianTour(eulerizedGraph, depot);
-        
-        // Calculer la distance totale
-        double totalDistance = EulerianTour.calculateTourDistance(eulerizedGraph, tour);
+    /**
+     * Comme tourResult(compact, multiplicities, servicePasses, depot), limite aux aretes
+     * empruntees : le cout est proportionnel a leur nombre, pas a la taille de compact.
+     * 
+     * @param edges Identifiants (distincts) des aretes empruntees
+     * @param passes Nombre de passages de chaque arete de edges
+     * @param servicePasses Passages qui desservent chaque arete de edges (0 ou 1)
+     */
+    static Result tourResult(CompactGraph compact, int[] edges, int[] passes, int[] servicePasses, Vertex depot) {
+        CompactPath circuit = EulerianTour.findEulerianTour(compact, edges, passes, depot);
+        // Aretes par identifiant croissant : (identifiant, position) code sur un long
+        long[] order = new long[edges.length];
+        double totalDistance = 0.0;
+        for (int i = 0; i < edges.length; i++) {
+            order[i] = ((long) edges[i] << 32) | i;
+            totalDistance += passes[i] * compact.getWeight(edges[i]);
+        }
+        Arrays.sort(order);
+        IntList duplicatedEdgeIds = new IntList();
+        IntList duplicationCounts = new IntList();
+        for (long key : order) {
+            int i = (int) key;
+            if (passes[i] > servicePasses[i]) {
+                duplicatedEdgeIds.add(edges[i]);
+                duplicationCounts.add(passes[i] - servicePasses[i]);
+            }
+        }
+        return new Result(compact, circuit, totalDistance, duplicatedEdgeIds.toArray(), duplicationCounts.toArray());
+    }
+
+    /**
+     * Nombre de passages de chaque arete (par identifiant dans compact) d'une tournee du
+     * Postier chinois : 1, plus le nombre de chemins de l'appariement qui l'empruntent.
+     * Les degres sont comptes sur les extremites des aretes (une boucle compte double).
+     */
+    static int[] multiplicities(CompactGraph compact, MatchingMode mode, int candidatesPerVertex) {
+        if (candidatesPerVertex < 0) {
+            throw new IllegalArgumentException("Le nombre de candidats doit etre positif");
+        }
+        int[] degree = new int[compact.getVertexCount()];
+        for (int e = 0; e < compact.getEdgeCount(); e++) {
+            degree[compact.getEdgeTail(e)]++;
+            degree[compact.getEdgeHead(e)]++;
+        }
+        IntList odd = new IntList();
+        for (int v = 0; v < degree.length; v++) {
+            if (degree[v] % 2 != 0) {
+                odd.add(v);
+            }
+        }
 
-        return new Result(tour, totalDistance, duplicatedEdges);
+        int[] multiplicities = new int[compact.getEdgeCount()];
+        Arrays.fill(multiplicities, 1);
+        if (!odd.isEmpty()) {
+            for (int[] path : findMatchedPaths(compact, odd.toArray(), mode, candidatesPerVertex)) {
+                for (int edge : path) {
+                    multiplicities[edge]++;
+                }
+            }
+        }
+        return multiplicities;
     }
 
     /**
-     * Trouve un appariement parfait de cout minimal entre les sommets impairs.
-     * Version simplifiee : algorithme glouton qui choisit toujours la paire de cout minimal.
+     * Resout le probleme du Postier chinois oriente : chaque arc est parcouru dans son sens.
+     * 
+     * Principe :
+     * 1. Tous les arcs et le depot doivent etre dans une meme composante fortement connexe
+     * 2. Un sommet qui a plus d'arcs entrants que sortants doit etre quitte par des arcs
+     *    supplementaires (offre = entrants - sortants), et inversement (demande)
+     * 3. Un flot de cout minimal (poids des arcs, capacites illimitees) achemine les offres
+     *    vers les demandes : le flot d'un arc est son nombre de passages supplementaires
+     * 4. Tous les sommets sont alors equilibres : circuit eulerien par Hierholzer en temps
+     *    lineaire, sur les nombres de passages (sans copie du graphe)
      * 
-     * Note : Pour un appariement optimal, il faudrait utiliser l'algorithme de Blossom,
-     * mais cette version gloutonne donne de bons resultats dans la plupart des cas.
+     * @param graph Le graphe oriente
+     * @param depot Le sommet de depart (depot)
+     * @return Un objet Result contenant la tournee et la distance totale
+     * @throws IllegalArgumentException si un arc n'est pas accessible depuis le depot
+     *         (ou le depot depuis un arc) : aucune tournee n'existe alors
      */
-    private static List<Pair<Vertex>> findMinimalMatching(
-            List<Vertex> oddVertices, 
-            Map<Pair<Vertex>, Double> distances) {
-        
-        List<Pair<Vertex>> matching = new ArrayList<>();
-        Set<Vertex> matched = new HashSet<>();
-        
-        // Créer une liste de toutes les paires triées par distance croissante
-        List<PairWithDistance> allPairs = new ArrayList<>();
-        for (Map.Entry<Pair<Vertex>, Double> entry : distances.entrySet()) {
-            allPairs.add(new PairWithDistance(entry.getKey(), entry.getValue()));
+    public static Result solve(DirectedGraph graph, Vertex depot) {
+        if (graph.isEmpty()) {
+            throw new IllegalArgumentException("Le graphe est vide");
+        }
+        StronglyConnectedComponents components = graph.getStronglyConnectedComponents();
+        CompactGraph compact = components.getGraph();
+        int root = compact.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt " + depot + " n'existe pas dans le graphe");
         }
-        allPairs.sort(Comparator.comparingDouble(p -> p.distance));
 
-        // Algorithme glouton : prendre les paires de coût minimal qui ne se chevauchent pas
-        for (PairWithDistance pairDist : allPairs) {
-            Pair<Vertex> pair = pairDist.pair;
-            if (!matched.contains(pair.first) && !matched.contains(pair.second)) {
-                matching.add(pair);
-                matched.add(pair.first);
-                matched.add(pair.second);
+        // Etapes 1 et 2 : connexite forte et desequilibre de chaque sommet
+        int n = compact.getVertexCount();
+        int m = compact.getEdgeCount();
+        long[] balance = new long[n];
+        double maxWeight = 0.0;
+        for (int e = 0; e < m; e++) {
+            int tail = compact.getEdgeTail(e);
+            int head = compact.getEdgeHead(e);
+            if (components.getComponent(tail) != components.getComponent(root)
+                    || components.getComponent(head) != components.getComponent(root)) {
+                throw new IllegalArgumentException("L'arc " + compact.getVertex(tail) + " → "
+                    + compact.getVertex(head) + " n'est pas dans la composante fortement connexe du dépôt");
             }
+            balance[head]++;
+            balance[tail]--;
+            maxWeight = Math.max(maxWeight, compact.getWeight(e));
         }
 
-        if (matched.size() != oddVertices.size()) {
-            throw new IllegalStateException("Impossible de trouver un appariement parfait");
+        // Etape 3 : flot de cout minimal des sommets en exces vers les sommets en defaut
+        int[] multiplicities = new int[m];
+        Arrays.fill(multiplicities, 1);
+        boolean balanced = true;
+        for (long b : balance) {
+            balanced &= b == 0;
+        }
+        if (!balanced) {
+            double scale = MinCostFlow.scaleCosts(maxWeight);
+            MinCostFlow flow = new MinCostFlow(n);
+            for (int e = 0; e < m; e++) {
+                flow.addArc(compact.getEdgeTail(e), compact.getEdgeHead(e), MinCostFlow.UNBOUNDED,
+                            Math.round(compact.getWeight(e) * scale));
+            }
+            for (int v = 0; v < n; v++) {
+                flow.setSupply(v, balance[v]);
+            }
+            flow.solve();
+            for (int e = 0; e < m; e++) {
+                multiplicities[e] += (int) flow.getFlow(e);
+            }
         }
 
-        return matching;
+        // Etape 4 : circuit eulerien sur les passages
+        return tourResult(compact, multiplicities, null, depot);
     }
 
     /**
-     * Classe auxiliaire pour représenter une paire de sommets.
+     * Paires candidates a l'appariement (rangs parmi les sommets impairs) et leurs distances.
      */
-    private static class Pair<T> {
-        final T first;
-        final T second;
+    private static class CandidatePairs {
+        final int[] first;
+        final int[] second;
+        final double[] distances;
 
-        Pair(T first, T second) {
+        CandidatePairs(int[] first, int[] second, double[] distances) {
             this.first = first;
             this.second = second;
+            this.distances = distances;
+        }
+    }
+
+    /**
+     * Appariement parfait de cout minimal parmi les paires candidates. Si les candidats ne
+     * permettent pas d'apparier tous les sommets, leur nombre est double (jusqu'a toutes les paires).
+     */
+    private static int[] exactMatching(CompactGraph graph, int[] oddIndices, int[] rank, int candidates,
+                                       ForkJoinPool pool, ConcurrentLinkedQueue<SearchWorkspace> workspaces) {
+        int k = oddIndices.length;
+        int[] sources = new int[k];
+        for (int i = 0; i < k; i++) {
+            sources[i] = i;
+        }
+        while (true) {
+            CandidatePairs pairs = findCandidatePairs(graph, oddIndices, sources, rank, candidates, pool, workspaces);
+            int[] mate = MinWeightMatching.solve(k, pairs.first, pairs.second, pairs.distances);
+            if (isPerfect(mate)) {
+                return mate;
+            }
+            if (candidates >= k - 1) {
+                throw new IllegalStateException("Impossible de trouver un appariement parfait");
+            }
+            candidates = Math.min(k - 1, 2 * candidates);
+        }
+    }
+
+    /**
+     * Appariement glouton : les paires candidates sont prises par distance croissante
+     * tant que leurs deux sommets sont libres. Les sommets restes seuls sont ensuite
+     * apparies entre eux, avec de nouveaux candidats cherches parmi eux seulement.
+     * 
+     * Note : le resultat peut etre loin de l'optimum (voir MatchingMode.EXACT), mais il est
+     * obtenu en un simple tri des candidats.
+     * 
+     * Le rang des sommets apparies est mis a -1 dans rank au fur et a mesure.
+     */
+    private static int[] greedyMatching(CompactGraph graph, int[] oddIndices, int[] rank, int candidates,
+                                        ForkJoinPool pool, ConcurrentLinkedQueue<SearchWorkspace> workspaces) {
+        int k = oddIndices.length;
+        int[] mate = new int[k];
+        Arrays.fill(mate, -1);
+        int[] sources = new int[k];
+        for (int i = 0; i < k; i++) {
+            sources[i] = i;
+        }
+        while (sources.length > 0) {
+            int count = Math.min(candidates, sources.length - 1);
+            CandidatePairs pairs = findCandidatePairs(graph, oddIndices, sources, rank, count, pool, workspaces);
+            if (pairs.first.length == 0) {
+                throw new IllegalStateException("Impossible de trouver un appariement parfait");
+            }
+            for (int p : orderByDistance(pairs.distances)) {
+                int a = pairs.first[p];
+                int b = pairs.second[p];
+                if (mate[a] < 0 && mate[b] < 0) {
+                    mate[a] = b;
+                    mate[b] = a;
+                }
+            }
+
+            // Les sommets apparies ne sont plus des cibles
+            IntList unmatched = new IntList();
+            for (int i : sources) {
+                if (mate[i] < 0) {
+                    unmatched.add(i);
+                } else {
+                    rank[oddIndices[i]] = -1;
+                }
+            }
+            sources = unmatched.toArray();
         }
+        return mate;
+    }
+
+    /**
+     * Recherche, depuis chaque sommet impair de sources (en parallele), ses count plus proches
+     * voisins parmi les sommets impairs de rang actif. Une paire trouvee dans les deux sens
+     * n'est retenue qu'une fois.
+     */
+    private static CandidatePairs findCandidatePairs(CompactGraph graph, int[] oddIndices, int[] sources,
+                                                     int[] rank, int count, ForkJoinPool pool,
+                                                     ConcurrentLinkedQueue<SearchWorkspace> workspaces) {
+        int[][] neighbours = new int[oddIndices.length][];
+        double[][] neighbourDistances = new double[oddIndices.length][];
+        pool.submit(() -> IntStream.range(0, sources.length).parallel().forEach(s -> {
+            SearchWorkspace workspace = workspaces.poll();
+            if (workspace == null) {
+                workspace = new SearchWorkspace(graph.getVertexCount());
+            }
+            int i = sources[s];
+            IntList found = new IntList(count);
+            workspace.nearestTargets(graph, oddIndices[i], false, rank, count, found);
+            int[] ranks = new int[found.size()];
+            double[] distances = new double[found.size()];
+            for (int j = 0; j < found.size(); j++) {
+                ranks[j] = rank[found.get(j)];
+                distances[j] = workspace.distance(found.get(j));
+            }
+            // Tri par rang pour tester la reciprocite par recherche dichotomique
+            sortByRank(ranks, distances);
+            neighbours[i] = ranks;
+            neighbourDistances[i] = distances;
+            workspaces.offer(workspace);
+        })).join();
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            Pair<?> pair = (Pair<?>) obj;
-            return Objects.equals(first, pair.first) && Objects.equals(second, pair.second);
+        IntList first = new IntList();
+        IntList second = new IntList();
+        double[] distances = new double[8];
+        int size = 0;
+        for (int i : sources) {
+            for (int p = 0; p < neighbours[i].length; p++) {
+                int j = neighbours[i][p];
+                if (j < i && Arrays.binarySearch(neighbours[j], i) >= 0) {
+                    continue; // Deja retenue depuis j
+                }
+                first.add(i);
+                second.add(j);
+                if (size == distances.length) {
+                    distances = Arrays.copyOf(distances, 2 * size);
+                }
+                distances[size++] = neighbourDistances[i][p];
+            }
         }
+        return new CandidatePairs(first.toArray(), second.toArray(), Arrays.copyOf(distances, size));
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(first, second);
+    /**
+     * Tri par insertion des voisins par rang (listes courtes), les distances suivant leurs rangs.
+     */
+    private static void sortByRank(int[] ranks, double[] distances) {
+        for (int i = 1; i < ranks.length; i++) {
+            int r = ranks[i];
+            double d = distances[i];
+            int j = i - 1;
+            while (j >= 0 && ranks[j] > r) {
+                ranks[j + 1] = ranks[j];
+                distances[j + 1] = distances[j];
+                j--;
+            }
+            ranks[j + 1] = r;
+            distances[j + 1] = d;
         }
     }
 
     /**
-     * Classe auxiliaire pour une paire avec sa distance.
+     * Indices des distances par ordre croissant, sans objets intermediaires : chaque distance
+     * est remplacee par son rang dans le tableau trie, puis (rang, indice) est code sur un long.
      */
-    private static class PairWithDistance {
-        final Pair<Vertex> pair;
-        final double distance;
+    private static int[] orderByDistance(double[] distances) {
+        double[] sorted = distances.clone();
+        Arrays.sort(sorted);
+        long[] keys = new long[distances.length];
+        for (int p = 0; p < distances.length; p++) {
+            keys[p] = ((long) Arrays.binarySearch(sorted, distances[p]) << 32) | p;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[keys.length];
+        for (int p = 0; p < keys.length; p++) {
+            order[p] = (int) keys[p];
+        }
+        return order;
+    }
 
-        PairWithDistance(Pair<Vertex> pair, double distance) {
-            this.pair = pair;
-            this.distance = distance;
+    private static boolean isPerfect(int[] mate) {
+        for (int m : mate) {
+            if (m < 0) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * Apparie les sommets impairs (indices dans graph) et retourne les plus courts chemins
+     * des paires appariees, sous forme d'identifiants d'aretes.
+     */
+    static int[][] findMatchedPaths(CompactGraph graph, int[] oddIndices, MatchingMode mode,
+                                            int candidatesPerVertex) {
+        int[] rank = new int[graph.getVertexCount()];
+        Arrays.fill(rank, -1);
+        return findMatchedPaths(graph, oddIndices, mode, candidatesPerVertex, rank, new ConcurrentLinkedQueue<>());
     }
-}
 
+    /**
+     * Comme findMatchedPaths(graph, oddIndices, mode, candidatesPerVertex), avec des tableaux
+     * de travail fournis par l'appelant pour les reutiliser d'un appel a l'autre : le cout ne
+     * depend alors plus du nombre de sommets du graphe.
+     * 
+     * @param rank Tableau d'un entier par sommet, a -1 partout ; il l'est encore au retour
+     * @param workspaces Tableaux de recherche reutilisables (de la taille de graph) ; ceux
+     *                   crees pendant l'appel y sont ajoutes
+     */
+    static int[][] findMatchedPaths(CompactGraph graph, int[] oddIndices, MatchingMode mode, int candidatesPerVertex,
+                                    int[] rank, ConcurrentLinkedQueue<SearchWorkspace> workspaces) {
+        int k = oddIndices.length;
+        for (int i = 0; i < k; i++) {
+            rank[oddIndices[i]] = i;
+        }
+        try {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            int candidates = candidatesPerVertex == ALL_PAIRS ? k - 1 : Math.min(candidatesPerVertex, k - 1);
+            int[] mate = mode == MatchingMode.EXACT
+                ? exactMatching(graph, oddIndices, rank, candidates, pool, workspaces)
+                : greedyMatching(graph, oddIndices, rank, candidates, pool, workspaces);
+            return findMatchedPaths(graph, oddIndices, mate, pool, workspaces);
+        } finally {
+            for (int v : oddIndices) {
+                rank[v] = -1;
+            }
+        }
+    }
+
+    /**
+     * Plus courts chemins (identifiants d'aretes) des paires appariees, calcules en parallele :
+     * une recherche arretee a la destination par paire.
+     */
+    private static int[][] findMatchedPaths(CompactGraph graph, int[] oddIndices, int[] mate, ForkJoinPool pool,
+                                            ConcurrentLinkedQueue<SearchWorkspace> workspaces) {
+        IntList sources = new IntList();
+        for (int i = 0; i < mate.length; i++) {
+            if (i < mate[i]) {
+                sources.add(i);
+            }
+        }
+        int[][] paths = new int[sources.size()][];
+        pool.submit(() -> IntStream.range(0, paths.length).parallel().forEach(p -> {
+            SearchWorkspace workspace = workspaces.poll();
+            if (workspace == null) {
+                workspace = new SearchWorkspace(graph.getVertexCount());
+            }
+            int source = oddIndices[sources.get(p)];
+            int target = oddIndices[mate[sources.get(p)]];
+            workspace.distancesTo(graph, source, false, new int[] { target });
+            IntList path = new IntList();
+            for (int v = target; v != source; ) {
+                int edge = workspace.predecessorEdge(v);
+                path.add(edge);
+                v = graph.getEdgeTail(edge) == v ? graph.getEdgeHead(edge) : graph.getEdgeTail(edge);
+            }
+            paths[p] = path.toArray();
+            workspaces.offer(workspace);
+        })).join();
+        return paths;
+    }
+}
@@ -0,0 +1,673 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Calcul d'itineraires "personnalisable" (Customizable Route Planning) : index de plus courts
+ * chemins dont les poids se recalculent vite apres des changements de poids en masse.
+ *
+ * Trois phases :
+ * 1. Topologie (une seule fois) : les sommets sont decoupes en cellules emboitees sur
+ *    plusieurs niveaux (bissections successives par parcours en largeur). Au niveau l, un
+ *    sommet est "au bord" s'il a un arc vers une autre cellule de niveau l
+ * 2. Personnalisation (a chaque changement de poids) : pour chaque cellule, on calcule la
+ *    distance entre chaque paire de sommets du bord sans sortir de la cellule (clique du bord).
+ *    Au niveau 1 la recherche se fait dans le graphe d'origine, aux niveaux suivants dans les
+ *    cliques du niveau inferieur. Les cellules d'un meme niveau sont independantes et traitees
+ *    en parallele, et seules les cellules touchees par un changement sont recalculees
+ * 3. Requete : Dijkstra sur un graphe a plusieurs niveaux. Dans les cellules de niveau 1 de
+ *    la source et de la destination on suit les arcs d'origine ; ailleurs on saute d'un bord a
+ *    l'autre par la clique de la plus haute cellule qui ne contient ni la source ni la destination.
+ *    Les arcs de clique empruntes sont ensuite deplies niveau par niveau pour obtenir le chemin
+ *
+ * Les poids doivent etre modifies par setWeight() de cette classe (ils sont aussi appliques au
+ * graphe d'origine) ; la personnalisation est refaite a la requete suivante ou par customize().
+ */
+public class CustomizableRoutePlanner {
+    /** Taille maximale des cellules de chaque niveau, du plus fin au plus grossier. */
+    public static final int[] DEFAULT_CELL_SIZES = {128, 2048, 32768};
+
+    private final CompactGraph graph;
+    private final ForkJoinPool pool;
+    private final int levelCount;
+    // Tableaux indexes par niveau (1 a levelCount, la case 0 est inutilisee)
+    private final int[][] cellOf;             // Cellule de chaque sommet
+    private final int[][] boundaryOffsets;    // Bord de la cellule c : boundaryVertices[offsets[c]..offsets[c+1]-1]
+    private final int[][] boundaryVertices;
+    private final int[][] boundaryPositions;  // Rang d'un sommet dans le bord de sa cellule (-1 s'il n'y est pas)
+    private final int[][] cliqueOffsets;      // Debut de la matrice de clique de chaque cellule
+    private final double[][] cliques;
+    private final boolean[][] dirty;          // Cellules a personnaliser de nouveau
+    private boolean customizationPending;
+    private final Search querySearch;
+    private final Search unpackSearch;
+
+    private CustomizableRoutePlanner(CompactGraph graph, int[] cellSizes, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        int n = graph.getVertexCount();
+
+        // Seuls les niveaux dont les cellules sont plus petites que le graphe sont utiles
+        int levels = 0;
+        while (levels < cellSizes.length && cellSizes[levels] < n) {
+            if (cellSizes[levels] < 1 || (levels > 0 && cellSizes[levels] <= cellSizes[levels - 1])) {
+                throw new IllegalArgumentException("Les tailles de cellules doivent etre positives et croissantes");
+            }
+            levels++;
+        }
+        this.levelCount = levels;
+        this.cellOf = new int[levels + 1][];
+        this.boundaryOffsets = new int[levels + 1][];
+        this.boundaryVertices = new int[levels + 1][];
+        this.boundaryPositions = new int[levels + 1][];
+        this.cliqueOffsets = new int[levels + 1][];
+        this.cliques = new double[levels + 1][];
+        this.dirty = new boolean[levels + 1][];
+
+        buildPartition(cellSizes);
+        for (int level = 1; level <= levelCount; level++) {
+            buildBoundary(level);
+            Arrays.fill(dirty[level], true);
+        }
+        this.customizationPending = true;
+        this.querySearch = new Search(n);
+        this.unpackSearch = new Search(n);
+    }
+
+    /**
+     * Construit l'index d'un graphe non oriente (tailles de cellules par defaut) et le personnalise.
+     */
+    public static CustomizableRoutePlanner build(UndirectedGraph graph) {
+        return build(CompactGraph.of(graph), DEFAULT_CELL_SIZES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construit l'index d'un graphe oriente (tailles de cellules par defaut) et le personnalise.
+     */
+    public static CustomizableRoutePlanner build(DirectedGraph graph) {
+        return build(CompactGraph.of(graph), DEFAULT_CELL_SIZES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construit l'index d'un graphe compact et le personnalise.
+     *
+     * @param graph Le graphe compact (ses poids seront modifies par setWeight)
+     * @param cellSizes Taille maximale des cellules de chaque niveau, strictement croissante
+     * @param pool Le pool utilise pour la personnalisation
+     */
+    public static CustomizableRoutePlanner build(CompactGraph graph, int[] cellSizes, ForkJoinPool pool) {
+        CustomizableRoutePlanner planner = new CustomizableRoutePlanner(graph, cellSizes.clone(), pool);
+        planner.customize();
+        return planner;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * Retourne le nombre de cellules du niveau donne (1 a getLevelCount()).
+     */
+    public int getCellCount(int level) {
+        return boundaryOffsets[level].length - 1;
+    }
+
+    /**
+     * Retourne le nombre de sommets au bord d'une cellule au niveau donne.
+     */
+    public int getBoundaryCount(int level) {
+        return boundaryVertices[level].length;
+    }
+
+    /**
+     * Modifie le poids des arcs de from vers to (dans le graphe compact et dans le graphe
+     * d'origine). Les cellules concernees seront personnalisees de nouveau avant la prochaine requete.
+     */
+    public synchronized void setWeight(Vertex from, Vertex to, double weight) {
+        int[] edgeIds = graph.setWeight(from, to, weight);
+        for (int edgeId : edgeIds) {
+            int tail = graph.getEdgeTail(edgeId);
+            int head = graph.getEdgeHead(edgeId);
+            for (int level = 1; level <= levelCount; level++) {
+                dirty[level][cellOf[level][tail]] = true;
+                dirty[level][cellOf[level][head]] = true;
+            }
+        }
+        customizationPending = edgeIds.length > 0 || customizationPending;
+    }
+
+    /**
+     * Recalcule les cliques des cellules touchees par des changements de poids, niveau par
+     * niveau (un niveau utilise les cliques du precedent), les cellules d'un meme niveau en
+     * parallele. setWeight marque les cellules de tous les niveaux qui contiennent l'arc.
+     */
+    public synchronized void customize() {
+        checkUpToDate();
+        if (!customizationPending) {
+            return;
+        }
+        ConcurrentLinkedQueue<Search> workspaces = new ConcurrentLinkedQueue<>();
+        for (int level = 1; level <= levelCount; level++) {
+            int current = level;
+            int[] cells = dirtyCells(level);
+            pool.submit(() -> IntStream.range(0, cells.length).parallel().forEach(i -> {
+                Search search = workspaces.poll();
+                if (search == null) {
+                    search = new Search(graph.getVertexCount());
+                }
+                customizeCell(search, current, cells[i]);
+                workspaces.offer(search);
+            })).join();
+            Arrays.fill(dirty[level], false);
+        }
+        customizationPending = false;
+    }
+
+    /**
+     * Distance de from vers to (infini si to est inaccessible).
+     */
+    public synchronized double getDistance(Vertex from, Vertex to) {
+        return query(checkedIndex(from), checkedIndex(to));
+    }
+
+    /**
+     * Plus court chemin de from vers to, sous la meme forme qu'un resultat de Dijkstra :
+     * getDistance(to) et getPath(to) donnent la distance et le chemin complet (deplie).
+     * Seuls les sommets du chemin figurent dans le resultat.
+     */
+    public synchronized Dijkstra.Result shortestPath(Vertex from, Vertex to) {
+        int source = checkedIndex(from);
+        int target = checkedIndex(to);
+        Map<Vertex, Double> distances = new HashMap<>();
+        Map<Vertex, Vertex> predecessors = new HashMap<>();
+        double distance = query(source, target);
+        if (distance == Double.POSITIVE_INFINITY) {
+            distances.put(from, 0.0);
+            return new Dijkstra.Result(from, distances, predecessors);
+        }
+
+        // Sauts de la requete (de la destination vers la source), puis depliage de chacun
+        IntList hops = new IntList();
+        for (int v = target; v >= 0; v = querySearch.predecessors[v]) {
+            hops.add(v);
+        }
+        IntList path = new IntList();
+        path.add(source);
+        for (int i = hops.size() - 1; i > 0; i--) {
+            int u = hops.get(i);
+            int v = hops.get(i - 1);
+            int level = queryLevel(u, source, target);
+            if (level >= 1 && cellOf[level][u] == cellOf[level][v]) {
+                unpack(level, u, v, path);
+            } else {
+                path.add(v);
+            }
+        }
+
+        double total = 0.0;
+        Vertex previous = null;
+        for (int i = 0; i < path.size(); i++) {
+            Vertex vertex = graph.getVertex(path.get(i));
+            if (previous != null) {
+                total += lightestWeight(path.get(i - 1), path.get(i));
+            }
+            distances.put(vertex, i == path.size() - 1 ? distance : total);
+            predecessors.put(vertex, previous);
+            previous = vertex;
+        }
+        return new Dijkstra.Result(from, distances, predecessors);
+    }
+
+    // ------------------------------------------------------------------
+    // Topologie
+    // ------------------------------------------------------------------
+
+    /**
+     * Decoupe les sommets du niveau le plus grossier au plus fin : chaque cellule d'un niveau
+     * est redecoupee pour former les cellules du niveau inferieur (cellules emboitees).
+     */
+    private void buildPartition(int[] cellSizes) {
+        int n = graph.getVertexCount();
+        Bisection bisection = new Bisection(graph);
+        List<int[]> current = new ArrayList<>();
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) {
+            all[v] = v;
+        }
+        current.add(all);
+
+        for (int level = levelCount; level >= 1; level--) {
+            cellOf[level] = new int[n];
+            List<int[]> next = new ArrayList<>();
+            for (int[] cell : current) {
+                for (int[] part : bisection.split(cell, cellSizes[level - 1])) {
+                    for (int v : part) {
+                        cellOf[level][v] = next.size();
+                    }
+                    next.add(part);
+                }
+            }
+            dirty[level] = new boolean[next.size()];
+            current = next;
+        }
+    }
+
+    /**
+     * Repere les sommets au bord des cellules d'un niveau et reserve leurs cliques.
+     */
+    private void buildBoundary(int level) {
+        int n = graph.getVertexCount();
+        int cellCount = dirty[level].length;
+        int[] cells = cellOf[level];
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+        CompactGraph.Adjacency incoming = graph.getIncoming();
+
+        boolean[] onBoundary = new boolean[n];
+        int[] counts = new int[cellCount + 1];
+        for (int v = 0; v < n; v++) {
+            onBoundary[v] = hasNeighborOutside(outgoing, v, cells) || hasNeighborOutside(incoming, v, cells);
+            if (onBoundary[v]) {
+                counts[cells[v] + 1]++;
+            }
+        }
+        for (int c = 0; c < cellCount; c++) {
+            counts[c + 1] += counts[c];
+        }
+
+        int[] vertices = new int[counts[cellCount]];
+        int[] positions = new int[n];
+        int[] cursor = Arrays.copyOf(counts, cellCount);
+        for (int v = 0; v < n; v++) {
+            if (onBoundary[v]) {
+                positions[v] = cursor[cells[v]] - counts[cells[v]];
+                vertices[cursor[cells[v]]++] = v;
+            } else {
+                positions[v] = -1;
+            }
+        }
+
+        int[] offsets = new int[cellCount + 1];
+        for (int c = 0; c < cellCount; c++) {
+            long size = counts[c + 1] - counts[c];
+            long end = offsets[c] + size * size;
+            if (end > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Cliques trop grandes : reduire la taille des cellules");
+            }
+            offsets[c + 1] = (int) end;
+        }
+
+        boundaryOffsets[level] = counts;
+        boundaryVertices[level] = vertices;
+        boundaryPositions[level] = positions;
+        cliqueOffsets[level] = offsets;
+        cliques[level] = new double[offsets[cellCount]];
+    }
+
+    private static boolean hasNeighborOutside(CompactGraph.Adjacency adjacency, int v, int[] cells) {
+        for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+            if (cells[adjacency.target(slot)] != cells[v]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bissections successives par parcours en largeur : on part d'un sommet eloigne
+     * (pseudo-peripherique) et on coupe l'ordre de parcours en deux moities. Sur un reseau
+     * routier, les couches du parcours forment des coupes courtes.
+     */
+    private static class Bisection {
+        private final CompactGraph graph;
+        private final int[] member;
+        private final int[] seen;
+        private final int[] queue;
+        private int stamp;
+        private int partToken;   // Marque des membres de la partie en cours de decoupage
+
+        Bisection(CompactGraph graph) {
+            this.graph = graph;
+            int n = graph.getVertexCount();
+            this.member = new int[n];
+            this.seen = new int[n];
+            this.queue = new int[n];
+            this.stamp = 0;
+        }
+
+        /**
+         * Decoupe un ensemble de sommets en parties d'au plus maxSize sommets.
+         */
+        List<int[]> split(int[] vertices, int maxSize) {
+            List<int[]> parts = new ArrayList<>();
+            Deque<int[]> pending = new ArrayDeque<>();
+            pending.push(vertices);
+            while (!pending.isEmpty()) {
+                int[] part = pending.pop();
+                if (part.length <= maxSize) {
+                    parts.add(part);
+                    continue;
+                }
+                int[] order = bfsOrder(part);
+                int split = bestSplit(order);
+                pending.push(Arrays.copyOfRange(order, split, order.length));
+                pending.push(Arrays.copyOfRange(order, 0, split));
+            }
+            return parts;
+        }
+
+        /**
+         * Ordre de parcours en largeur de la partie (arcs pris dans les deux sens), depuis un
+         * sommet pseudo-peripherique ; les composantes suivantes sont parcourues a la suite.
+         */
+        private int[] bfsOrder(int[] part) {
+            int token = ++stamp;
+            partToken = token;
+            for (int v : part) {
+                member[v] = token;
+            }
+
+            // Sommet le plus eloigne du premier sommet : point de depart du decoupage
+            int seenToken = ++stamp;
+            int count = bfs(part[0], 0, token, seenToken);
+            int start = queue[count - 1];
+
+            seenToken = ++stamp;
+            count = bfs(start, 0, token, seenToken);
+            for (int v : part) {
+                if (seen[v] != seenToken) {
+                    count = bfs(v, count, token, seenToken);
+                }
+            }
+            return Arrays.copyOf(queue, count);
+        }
+
+        /**
+         * Position de coupe de l'ordre de parcours qui coupe le moins d'arcs, parmi les
+         * positions assez equilibrees (entre 35 % et 65 % des sommets). Le nombre d'arcs
+         * coupes se met a jour en O(degre) a chaque sommet ajoute a la premiere moitie.
+         */
+        private int bestSplit(int[] order) {
+            int token = partToken;
+            int prefixToken = ++stamp;
+            int low = Math.max(1, (int) (order.length * 0.35));
+            int high = Math.min(order.length - 1, (int) Math.ceil(order.length * 0.65));
+            int best = order.length / 2;
+            long bestCut = Long.MAX_VALUE;
+            long cut = 0;
+            for (int i = 0; i < high; i++) {
+                int v = order[i];
+                seen[v] = prefixToken;
+                cut += countLinks(graph.getOutgoing(), v, token, prefixToken);
+                if (graph.getIncoming() != graph.getOutgoing()) {
+                    cut += countLinks(graph.getIncoming(), v, token, prefixToken);
+                }
+                if (i + 1 >= low && cut < bestCut) {
+                    bestCut = cut;
+                    best = i + 1;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Variation du nombre d'arcs coupes quand v rejoint la premiere moitie : ses arcs vers
+         * le reste de la partie deviennent coupes, ceux vers la premiere moitie ne le sont plus.
+         */
+        private int countLinks(CompactGraph.Adjacency adjacency, int v, int token, int prefixToken) {
+            int delta = 0;
+            for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+                int w = adjacency.target(slot);
+                if (w == v || member[w] != token) {
+                    continue;
+                }
+                delta += seen[w] == prefixToken ? -1 : 1;
+            }
+            return delta;
+        }
+
+        private int bfs(int start, int count, int token, int seenToken) {
+            CompactGraph.Adjacency outgoing = graph.getOutgoing();
+            CompactGraph.Adjacency incoming = graph.getIncoming();
+            seen[start] = seenToken;
+            queue[count++] = start;
+            for (int head = count - 1; head < count; head++) {
+                int u = queue[head];
+                count = enqueueNeighbors(outgoing, u, count, token, seenToken);
+                if (incoming != outgoing) {
+                    count = enqueueNeighbors(incoming, u, count, token, seenToken);
+                }
+            }
+            return count;
+        }
+
+        private int enqueueNeighbors(CompactGraph.Adjacency adjacency, int u, int count, int token, int seenToken) {
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                if (member[v] == token && seen[v] != seenToken) {
+                    seen[v] = seenToken;
+                    queue[count++] = v;
+                }
+            }
+            return count;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Personnalisation
+    // ------------------------------------------------------------------
+
+    private int[] dirtyCells(int level) {
+        IntList cells = new IntList();
+        for (int c = 0; c < dirty[level].length; c++) {
+            if (dirty[level][c]) {
+                cells.add(c);
+            }
+        }
+        return cells.toArray();
+    }
+
+    /**
+     * Recalcule la clique d'une cellule : une recherche limitee a la cellule depuis chaque
+     * sommet de son bord.
+     */
+    private void customizeCell(Search search, int level, int cell) {
+        int base = boundaryOffsets[level][cell];
+        int size = boundaryOffsets[level][cell + 1] - base;
+        int row = cliqueOffsets[level][cell];
+        for (int i = 0; i < size; i++) {
+            cellSearch(search, level, cell, boundaryVertices[level][base + i], -1);
+            for (int j = 0; j < size; j++) {
+                cliques[level][row + i * size + j] = search.distance(boundaryVertices[level][base + j]);
+            }
+        }
+    }
+
+    /**
+     * Dijkstra sans sortir d'une cellule, dans le graphe du niveau inferieur (arcs d'origine
+     * au niveau 1, cliques des sous-cellules et arcs entre sous-cellules au-dela).
+     *
+     * @param target Sommet ou s'arreter, ou -1 pour explorer toute la cellule
+     */
+    private void cellSearch(Search search, int level, int cell, int source, int target) {
+        search.start(source);
+        while (!search.queue.isEmpty()) {
+            int u = search.queue.poll();
+            if (u == target) {
+                break;
+            }
+            relax(search, u, level - 1, level, cell);
+        }
+        search.queue.clear();
+    }
+
+    /**
+     * Relache les arcs sortants de u dans le graphe du niveau innerLevel : clique de sa cellule
+     * de ce niveau et arcs d'origine qui en sortent (tous les arcs d'origine au niveau 0).
+     * Si boundLevel >= 1, seuls les sommets de la cellule boundCell de ce niveau sont atteints.
+     */
+    private void relax(Search search, int u, int innerLevel, int boundLevel, int boundCell) {
+        double distanceU = search.distances[u];
+        if (innerLevel >= 1) {
+            int cell = cellOf[innerLevel][u];
+            int base = boundaryOffsets[innerLevel][cell];
+            int size = boundaryOffsets[innerLevel][cell + 1] - base;
+            int row = cliqueOffsets[innerLevel][cell] + boundaryPositions[innerLevel][u] * size;
+            for (int j = 0; j < size; j++) {
+                double weight = cliques[innerLevel][row + j];
+                if (weight != Double.POSITIVE_INFINITY) {
+                    search.offer(boundaryVertices[innerLevel][base + j], distanceU + weight, u);
+                }
+            }
+        }
+
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+        for (int slot = outgoing.start(u); slot < outgoing.end(u); slot++) {
+            int v = outgoing.target(slot);
+            if (innerLevel >= 1 && cellOf[innerLevel][v] == cellOf[innerLevel][u]) {
+                continue; // Deja couvert par la clique
+            }
+            if (boundLevel >= 1 && cellOf[boundLevel][v] != boundCell) {
+                continue;
+            }
+            search.offer(v, distanceU + graph.getWeight(outgoing.edgeId(slot)), u);
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Requetes
+    // ------------------------------------------------------------------
+
+    /**
+     * Dijkstra a plusieurs niveaux de source vers target ; les predecesseurs restent dans querySearch.
+     */
+    private double query(int source, int target) {
+        customize();
+        Search search = querySearch;
+        search.start(source);
+        while (!search.queue.isEmpty()) {
+            int u = search.queue.poll();
+            if (u == target) {
+                break;
+            }
+            relax(search, u, queryLevel(u, source, target), 0, -1);
+        }
+        search.queue.clear();
+        return search.distance(target);
+    }
+
+    /**
+     * Plus haut niveau dont la cellule de v ne contient ni la source ni la destination
+     * (0 si v est dans la cellule de niveau 1 de l'une d'elles).
+     */
+    private int queryLevel(int v, int source, int target) {
+        for (int level = levelCount; level >= 1; level--) {
+            int cell = cellOf[level][v];
+            if (cell != cellOf[level][source] && cell != cellOf[level][target]) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Deplie l'arc de clique (a, b) du niveau donne et ajoute a path les sommets apres a.
+     */
+    private void unpack(int level, int a, int b, IntList path) {
+        cellSearch(unpackSearch, level, cellOf[level][a], a, b);
+        IntList hops = new IntList();
+        for (int v = b; v != a; v = unpackSearch.predecessors[v]) {
+            hops.add(v);
+        }
+        hops.add(a);
+
+        // Les sauts sont lus avant les appels recursifs, qui reutilisent unpackSearch
+        int inner = level - 1;
+        for (int i = hops.size() - 1; i > 0; i--) {
+            int u = hops.get(i);
+            int v = hops.get(i - 1);
+            if (inner >= 1 && cellOf[inner][u] == cellOf[inner][v]) {
+                unpack(inner, u, v, path);
+            } else {
+                path.add(v);
+            }
+        }
+    }
+
+    private double lightestWeight(int u, int v) {
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+        double lightest = Double.POSITIVE_INFINITY;
+        for (int slot = outgoing.start(u); slot < outgoing.end(u); slot++) {
+            if (outgoing.target(slot) == v) {
+                lightest = Math.min(lightest, graph.getWeight(outgoing.edgeId(slot)));
+            }
+        }
+        return lightest;
+    }
+
+    private int checkedIndex(Vertex vertex) {
+        int index = graph.indexOf(vertex);
+        if (index < 0) {
+            throw new IllegalArgumentException("Le sommet " + vertex + " n'existe pas dans le graphe");
+        }
+        return index;
+    }
+
+    private void checkUpToDate() {
+        if (!graph.isUpToDate()) {
+            throw new IllegalStateException("Le graphe d'origine a ete modifie hors de l'index : il faut le reconstruire");
+        }
+    }
+
+    /**
+     * Tableaux de travail d'une recherche (tampons, comme SearchWorkspace) ; une instance par thread.
+     */
+    private static class Search {
+        private final double[] distances;
+        private final int[] predecessors;
+        private final int[] visited;
+        private final IndexedMinHeap queue;
+        private int stamp;
+
+        Search(int vertexCount) {
+            this.distances = new double[vertexCount];
+            this.predecessors = new int[vertexCount];
+            this.visited = new int[vertexCount];
+            this.queue = new IndexedMinHeap(vertexCount);
+            this.stamp = 0;
+        }
+
+        void start(int source) {
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                stamp = 0;
+            }
+            stamp++;
+            visited[source] = stamp;
+            distances[source] = 0.0;
+            predecessors[source] = -1;
+            queue.insertOrDecrease(source, 0.0);
+        }
+
+        void offer(int v, double distance, int predecessor) {
+            if (visited[v] != stamp || distance < distances[v]) {
+                visited[v] = stamp;
+                distances[v] = distance;
+                predecessors[v] = predecessor;
+                queue.insertOrDecrease(v, distance);
+            }
+        }
+
+        double distance(int v) {
+            return visited[v] == stamp ? distances[v] : Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Plus courts chemins depuis une source par l'algorithme Delta-stepping (Meyer et Sanders),
+ * parallelise sur un ForkJoinPool.
+ *
+ * Principe :
+ * 1. Les sommets sont ranges dans des seaux de largeur delta selon leur distance provisoire
+ * 2. On traite le plus petit seau non vide : les aretes "legeres" (poids <= delta) de tous
+ *    ses sommets sont relachees en parallele, ce qui peut remettre des sommets dans ce seau ;
+ *    on recommence jusqu'a ce qu'il soit vide
+ * 3. Les aretes "lourdes" (poids > delta) des sommets retires du seau sont alors relachees
+ *    une seule fois, en parallele, puisqu'elles ne peuvent pas atteindre le seau courant
+ *
+ * Avec delta tres petit on retrouve Dijkstra, avec delta infini Bellman-Ford : un delta
+ * intermediaire donne beaucoup de travail independant par seau, reparti sur tous les coeurs.
+ *
+ * Les distances obtenues sont identiques a celles de Dijkstra.
+ */
+public class DeltaStepping {
+
+    /** En dessous de ce nombre de sommets, une tache de relachement n'est plus decoupee. */
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+
+    /**
+     * Execute Delta-stepping sur un graphe non oriente (delta automatique, pool commun).
+     *
+     * @param graph Le graphe non oriente
+     * @param source Le sommet source
+     * @return Un objet Result contenant les distances et les chemins
+     */
+    public static Dijkstra.Result shortestPaths(UndirectedGraph graph, Vertex source) {
+        return shortestPathTree(CompactGraph.of(graph), source).toResult();
+    }
+
+    /**
+     * Execute Delta-stepping sur un graphe oriente (delta automatique, pool commun).
+     *
+     * @param graph Le graphe oriente
+     * @param source Le sommet source
+     * @return Un objet Result contenant les distances et les chemins
+     */
+    public static Dijkstra.Result shortestPaths(DirectedGraph graph, Vertex source) {
+        return shortestPathTree(CompactGraph.of(graph), source).toResult();
+    }
+
+    /**
+     * Execute Delta-stepping sur la representation compacte (delta automatique, pool commun).
+     */
+    public static ShortestPathTree shortestPathTree(CompactGraph graph, Vertex source) {
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex < 0) {
+            throw new IllegalArgumentException("Le sommet source n'existe pas dans le graphe");
+        }
+        return shortestPathTree(graph, sourceIndex, chooseDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Execute Delta-stepping avec une largeur de seau et un pool donnes.
+     *
+     * @param graph Le graphe compact
+     * @param source L'indice du sommet source
+     * @param delta Largeur des seaux (strictement positive)
+     * @param pool Le pool de threads utilise pour les relachements
+     * @return L'arbre des plus courts chemins depuis source
+     */
+    public static ShortestPathTree shortestPathTree(CompactGraph graph, int source, double delta, ForkJoinPool pool) {
+        if (!(delta > 0)) {
+            throw new IllegalArgumentException("delta doit etre strictement positif");
+        }
+
+        int n = graph.getVertexCount();
+        AtomicLongArray distances = new AtomicLongArray(n);
+        long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            distances.set(v, infinity);
+        }
+        distances.set(source, Double.doubleToLongBits(0.0));
+
+        // Seaux indexes par floor(distance / delta) ; un sommet peut y figurer plusieurs fois,
+        // les entrees perimees sont ignorees a l'extraction
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        buckets.computeIfAbsent(0L, k -> new IntList()).add(source);
+        int[] settledStamp = new int[n];
+        int stamp = 0;
+
+        while (!buckets.isEmpty()) {
+            long current = buckets.firstKey();
+            IntList removed = new IntList();
+            stamp++;
+
+            // Phases legeres : tant que le seau courant se remplit a nouveau
+            IntList bucket;
+            while ((bucket = buckets.remove(current)) != null) {
+                IntList frontier = new IntList();
+                for (int i = 0; i < bucket.size(); i++) {
+                    int v = bucket.get(i);
+                    double distance = Double.longBitsToDouble(distances.get(v));
+                    if ((long) Math.floor(distance / delta) != current) {
+                        continue; // Entree perimee : le sommet a ete ameliore depuis
+                    }
+                    frontier.add(v);
+                    if (settledStamp[v] != stamp) {
+                        settledStamp[v] = stamp;
+                        removed.add(v);
+                    }
+                }
+                if (frontier.isEmpty()) {
+                    break;
+                }
+                IntList improved = pool.invoke(new RelaxTask(graph, distances, frontier, 0, frontier.size(), delta, true));
+                distribute(improved, distances, delta, buckets);
+            }
+
+            // Phase lourde : une seule fois pour tous les sommets retires du seau
+            IntList improved = pool.invoke(new RelaxTask(graph, distances, removed, 0, removed.size(), delta, false));
+            distribute(improved, distances, delta, buckets);
+        }
+
+        double[] finalDistances = new double[n];
+        for (int v = 0; v < n; v++) {
+            finalDistances[v] = Double.longBitsToDouble(distances.get(v));
+        }
+        int[] predecessors = buildPredecessors(graph, source, finalDistances, pool);
+        return new ShortestPathTree(graph, source, finalDistances, predecessors, false);
+    }
+
+    /**
+     * Choisit automatiquement la largeur des seaux : poids maximal divise par le degre moyen
+     * (heuristique delta = C / d de Meyer et Sanders), borne inferieurement par le plus petit
+     * poids strictement positif pour eviter des seaux quasi vides.
+     */
+    public static double chooseDelta(CompactGraph graph) {
+        int m = graph.getEdgeCount();
+        int n = graph.getVertexCount();
+        double maxWeight = 0.0;
+        double minPositive = Double.POSITIVE_INFINITY;
+        for (int e = 0; e < m; e++) {
+            double w = graph.getWeight(e);
+            maxWeight = Math.max(maxWeight, w);
+            if (w > 0) {
+                minPositive = Math.min(minPositive, w);
+            }
+        }
+        if (maxWeight == 0.0) {
+            return 1.0;
+        }
+        double averageDegree = n == 0 ? 1.0 : Math.max(1.0, (graph.isDirected() ? 1.0 : 2.0) * m / n);
+        return Math.max(maxWeight / averageDegree, minPositive);
+    }
+
+    /**
+     * Range les sommets ameliores dans le seau correspondant a leur nouvelle distance.
+     */
+    private static void distribute(IntList improved, AtomicLongArray distances, double delta,
+                                   TreeMap<Long, IntList> buckets) {
+        for (int i = 0; i < improved.size(); i++) {
+            int v = improved.get(i);
+            long index = (long) Math.floor(Double.longBitsToDouble(distances.get(v)) / delta);
+            buckets.computeIfAbsent(index, k -> new IntList()).add(v);
+        }
+    }
+
+    /**
+     * Diminue atomiquement la distance de v si candidate est meilleure.
+     *
+     * @return true si la distance a ete amelioree
+     */
+    private static boolean relax(AtomicLongArray distances, int v, double candidate) {
+        long candidateBits = Double.doubleToLongBits(candidate);
+        while (true) {
+            long currentBits = distances.get(v);
+            if (candidate >= Double.longBitsToDouble(currentBits)) {
+                return false;
+            }
+            if (distances.compareAndSet(v, currentBits, candidateBits)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reconstruit les predecesseurs a partir des distances finales : u precede v si
+     * d(u) + w(u, v) = d(v). Avec des poids strictement positifs tout choix convient et
+     * le calcul est parallele ; avec des poids nuls on parcourt les arcs serres depuis
+     * la source pour eviter les cycles.
+     */
+    private static int[] buildPredecessors(CompactGraph graph, int source, double[] distances, ForkJoinPool pool) {
+        int n = graph.getVertexCount();
+        int[] predecessors = new int[n];
+        Arrays.fill(predecessors, -1);
+        CompactGraph.Adjacency incoming = graph.getIncoming();
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+
+        boolean hasZeroWeight = false;
+        for (int e = 0; e < graph.getEdgeCount() && !hasZeroWeight; e++) {
+            hasZeroWeight = graph.getWeight(e) == 0.0;
+        }
+
+        if (!hasZeroWeight) {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(v -> {
+                if (v == source || distances[v] == Double.POSITIVE_INFINITY) {
+                    return;
+                }
+                for (int slot = incoming.start(v); slot < incoming.end(v); slot++) {
+                    int u = incoming.target(slot);
+                    if (distances[u] + graph.getWeight(incoming.edgeId(slot)) == distances[v]) {
+                        predecessors[v] = u;
+                        return;
+                    }
+                }
+            })).join();
+            return predecessors;
+        }
+
+        boolean[] reached = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        reached[source] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int slot = outgoing.start(u); slot < outgoing.end(u); slot++) {
+                int v = outgoing.target(slot);
+                if (!reached[v] && distances[u] + graph.getWeight(outgoing.edgeId(slot)) == distances[v]) {
+                    reached[v] = true;
+                    predecessors[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * Relache en parallele les aretes legeres (ou lourdes) d'une tranche de sommets.
+     * Retourne la liste des sommets dont la distance a diminue.
+     */
+    private static class RelaxTask extends RecursiveTask<IntList> {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph graph;
+        private final AtomicLongArray distances;
+        private final IntList vertices;
+        private final int from;
+        private final int to;
+        private final double delta;
+        private final boolean light;
+
+        RelaxTask(CompactGraph graph, AtomicLongArray distances, IntList vertices,
+                  int from, int to, double delta, boolean light) {
+            this.graph = graph;
+            this.distances = distances;
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.delta = delta;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                RelaxTask left = new RelaxTask(graph, distances, vertices, from, middle, delta, light);
+                RelaxTask right = new RelaxTask(graph, distances, vertices, middle, to, delta, light);
+                left.fork();
+                IntList result = right.compute();
+                result.addAll(left.join());
+                return result;
+            }
+
+            IntList improved = new IntList();
+            CompactGraph.Adjacency adjacency = graph.getOutgoing();
+            for (int i = from; i < to; i++) {
+                int u = vertices.get(i);
+                double distanceU = Double.longBitsToDouble(distances.get(u));
+                for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                    double w = graph.getWeight(adjacency.edgeId(slot));
+                    if ((w <= delta) != light) {
+                        continue;
+                    }
+                    int v = adjacency.target(slot);
+                    if (relax(distances, v, distanceU + w)) {
+                        improved.add(v);
+                    }
+                }
+            }
+            return improved;
+        }
+    }
+}
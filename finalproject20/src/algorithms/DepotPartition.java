@@ -0,0 +1,252 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Partage des sommets entre plusieurs depots : chaque sommet est rattache au depot le
+ * plus proche (cellules de Voronoi du graphe).
+ *
+ * Principe (Dijkstra multi-sources) :
+ * - Tous les depots sont inseres dans la file avec une distance nulle
+ * - Lorsqu'un sommet est ameliore depuis u, il herite du depot de u
+ * - Une seule recherche suffit, quel que soit le nombre de depots
+ *
+ * Chaque partie peut ensuite etre vue comme un sous-graphe induit (sans copie des aretes)
+ * et traitee independamment des autres, par exemple en parallele. Les aretes dont les
+ * deux extremites sont dans des parties differentes n'appartiennent a aucune partie.
+ */
+public class DepotPartition {
+    private final CompactGraph graph;
+    private final boolean reverse;
+    private final int[] depots;
+    private final int[] owners;
+    private final double[] distances;
+    private final int[] partOffsets;
+    private final int[] partVertices;
+
+    private DepotPartition(CompactGraph graph, boolean reverse, int[] depots, int[] owners,
+                           double[] distances, int[] partOffsets, int[] partVertices) {
+        this.graph = graph;
+        this.reverse = reverse;
+        this.depots = depots;
+        this.owners = owners;
+        this.distances = distances;
+        this.partOffsets = partOffsets;
+        this.partVertices = partVertices;
+    }
+
+    /**
+     * Partage un graphe non oriente entre les depots donnes.
+     *
+     * @param graph Le graphe non oriente
+     * @param depots Les depots (distincts)
+     * @return Le partage des sommets
+     */
+    public static DepotPartition compute(UndirectedGraph graph, List<Vertex> depots) {
+        return compute(CompactGraph.of(graph), depots, false);
+    }
+
+    /**
+     * Partage un graphe oriente entre les depots donnes, selon la distance depot → sommet.
+     *
+     * @param graph Le graphe oriente
+     * @param depots Les depots (distincts)
+     * @return Le partage des sommets
+     */
+    public static DepotPartition compute(DirectedGraph graph, List<Vertex> depots) {
+        return compute(CompactGraph.of(graph), depots, false);
+    }
+
+    /**
+     * Partage un graphe compact entre les depots donnes.
+     *
+     * @param graph Le graphe compact
+     * @param depots Les depots (distincts)
+     * @param reverse Si vrai, distance sommet → depot (arcs entrants) au lieu de depot → sommet
+     * @return Le partage des sommets
+     */
+    public static DepotPartition compute(CompactGraph graph, List<Vertex> depots, boolean reverse) {
+        if (depots.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un depot est necessaire");
+        }
+        int n = graph.getVertexCount();
+        int k = depots.size();
+        int[] depotIndices = new int[k];
+        int[] owners = new int[n];
+        double[] distances = new double[n];
+        Arrays.fill(owners, -1);
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        for (int i = 0; i < k; i++) {
+            int d = graph.indexOf(depots.get(i));
+            if (d < 0) {
+                throw new IllegalArgumentException("Le dépôt " + depots.get(i) + " n'existe pas dans le graphe");
+            }
+            if (owners[d] >= 0) {
+                throw new IllegalArgumentException("Le dépôt " + depots.get(i) + " est en double");
+            }
+            depotIndices[i] = d;
+            owners[d] = i;
+            distances[d] = 0.0;
+            queue.insertOrDecrease(d, 0.0);
+        }
+
+        // Dijkstra multi-sources ; les sommets sont notes dans l'ordre ou ils deviennent definitifs
+        CompactGraph.Adjacency adjacency = graph.getAdjacency(reverse);
+        IntList settled = new IntList();
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            settled.add(u);
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                double newDistance = distances[u] + graph.getWeight(adjacency.edgeId(slot));
+                if (newDistance < distances[v]) {
+                    distances[v] = newDistance;
+                    owners[v] = owners[u];
+                    queue.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+
+        // Regrouper les sommets par depot (tri par comptage, distances croissantes dans chaque partie)
+        int[] partOffsets = new int[k + 1];
+        for (int i = 0; i < settled.size(); i++) {
+            partOffsets[owners[settled.get(i)] + 1]++;
+        }
+        for (int i = 0; i < k; i++) {
+            partOffsets[i + 1] += partOffsets[i];
+        }
+        int[] cursor = Arrays.copyOf(partOffsets, k);
+        int[] partVertices = new int[settled.size()];
+        for (int i = 0; i < settled.size(); i++) {
+            int v = settled.get(i);
+            partVertices[cursor[owners[v]]++] = v;
+        }
+        return new DepotPartition(graph, reverse, depotIndices, owners, distances, partOffsets, partVertices);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Indique si les distances sont mesurees vers les depots (sommet → depot).
+     */
+    public boolean isReverse() {
+        return reverse;
+    }
+
+    public int getDepotCount() {
+        return depots.length;
+    }
+
+    /**
+     * Retourne le depot de rang i (dans l'ordre de la liste donnee).
+     */
+    public Vertex getDepot(int i) {
+        return graph.getVertex(depots[i]);
+    }
+
+    /**
+     * Retourne le rang du depot de v dans la liste des depots (-1 si v n'est atteint par aucun).
+     */
+    public int getOwner(int vertexIndex) {
+        return owners[vertexIndex];
+    }
+
+    /**
+     * Retourne le depot le plus proche de v, ou null si aucun depot ne l'atteint.
+     */
+    public Vertex getOwner(Vertex v) {
+        int owner = owners[checkedIndex(v)];
+        return owner < 0 ? null : getDepot(owner);
+    }
+
+    /**
+     * Retourne le rang du depot de chaque sommet, indexe comme le graphe compact (copie).
+     */
+    public int[] getOwners() {
+        return owners.clone();
+    }
+
+    /**
+     * Retourne la distance de v a son depot (infini si aucun depot ne l'atteint).
+     */
+    public double getDistance(Vertex v) {
+        return distances[checkedIndex(v)];
+    }
+
+    public double getDistance(int vertexIndex) {
+        return distances[vertexIndex];
+    }
+
+    /**
+     * Retourne la distance de chaque sommet a son depot, indexee comme le graphe compact (copie).
+     */
+    public double[] getDistances() {
+        return distances.clone();
+    }
+
+    /**
+     * Retourne le nombre de sommets rattaches au depot de rang i (depot compris).
+     */
+    public int getPartSize(int i) {
+        return partOffsets[i + 1] - partOffsets[i];
+    }
+
+    /**
+     * Retourne le nombre de sommets qu'aucun depot n'atteint.
+     */
+    public int getUnreachedCount() {
+        return graph.getVertexCount() - partVertices.length;
+    }
+
+    /**
+     * Retourne les indices des sommets rattaches au depot de rang i, par distance croissante.
+     */
+    public int[] getPartIndices(int i) {
+        return Arrays.copyOfRange(partVertices, partOffsets[i], partOffsets[i + 1]);
+    }
+
+    /**
+     * Retourne les sommets rattaches au depot de rang i, par distance croissante.
+     */
+    public List<Vertex> getPartVertices(int i) {
+        List<Vertex> result = new ArrayList<>(getPartSize(i));
+        for (int p = partOffsets[i]; p < partOffsets[i + 1]; p++) {
+            result.add(graph.getVertex(partVertices[p]));
+        }
+        return result;
+    }
+
+    /**
+     * Retourne la partie du depot de rang i comme sous-graphe induit du graphe non oriente d'origine.
+     */
+    public UndirectedSubgraph getUndirectedSubgraph(int i) {
+        if (!(graph.getSource() instanceof UndirectedGraph)) {
+            throw new IllegalStateException("Le graphe d'origine n'est pas un graphe non oriente");
+        }
+        return new UndirectedSubgraph((UndirectedGraph) graph.getSource(), getPartVertices(i));
+    }
+
+    /**
+     * Retourne la partie du depot de rang i comme sous-graphe induit du graphe oriente d'origine.
+     */
+    public DirectedSubgraph getDirectedSubgraph(int i) {
+        if (!(graph.getSource() instanceof DirectedGraph)) {
+            throw new IllegalStateException("Le graphe d'origine n'est pas un graphe oriente");
+        }
+        return new DirectedSubgraph((DirectedGraph) graph.getSource(), getPartVertices(i));
+    }
+
+    private int checkedIndex(Vertex v) {
+        int index = graph.indexOf(v);
+        if (index < 0) {
+            throw new IllegalArgumentException("Le sommet " + v + " n'existe pas dans le graphe");
+        }
+        return index;
+    }
+}
@@ -20,16 +20,27 @@ public class Dijkstra {
     
     /**
      * Resultat d'une execution de Dijkstra : distances et chemins.
+     * 
+     * Pour une recherche inversee (shortestPathsTo), la "source" est la destination commune :
+     * getDistance(v) est la distance de v vers elle, et predecessors associe a chaque sommet
+     * le suivant sur son chemin vers la destination.
      */
     public static class Result {
         private final Map<Vertex, Double> distances;
         private final Map<Vertex, Vertex> predecessors;
         private final Vertex source;
+        private final boolean reversed;
 
         public Result(Vertex source, Map<Vertex, Double> distances, Map<Vertex, Vertex> predecessors) {
+            this(source, distances, predecessors, false);
+        }
+
+        public Result(Vertex source, Map<Vertex, Double> distances, Map<Vertex, Vertex> predecessors,
+                      boolean reversed) {
             this.source = source;
             this.distances = distances;
             this.predecessors = predecessors;
+            this.reversed = reversed;
         }
 
         public double getDistance(Vertex target) {
@@ -42,17 +53,77 @@ public class Dijkstra {
                 return path; // Pas de chemin
             }
 
+            if (reversed) {
+                // Chemin target -> source : les successeurs se lisent deja dans l'ordre
+                Vertex current = target;
+                while (current != null) {
+                    path.add(current);
+                    current = predecessors.get(current);
+                }
+                return path;
+            }
+
+            // Remonter les predecesseurs puis retourner la liste : O(n) au lieu de add(0, ...)
             Vertex current = target;
             while (current != null) {
-                path.add(0, current);
+                path.add(current);
                 current = predecessors.get(current);
             }
+            Collections.reverse(path);
             return path;
         }
 
         public Vertex getSource() {
             return source;
         }
+
+        /**
+         * Indique si le resultat provient d'une recherche inversee (distances vers la source).
+         */
+        public boolean isReversed() {
+            return reversed;
+        }
+    }
+
+    /**
+     * Couts aller-retour depot -> client -> depot pour tous les clients d'un graphe oriente,
+     * obtenus avec deux recherches seulement : une depuis le depot, une vers le depot.
+     */
+    public static class RoundTripResult {
+        private final ShortestPathTree outbound;
+        private final ShortestPathTree inbound;
+
+        public RoundTripResult(ShortestPathTree outbound, ShortestPathTree inbound) {
+            this.outbound = outbound;
+            this.inbound = inbound;
+        }
+
+        public Vertex getDepot() {
+            return outbound.getSource();
+        }
+
+        public double getOutboundDistance(Vertex customer) {
+            return outbound.getDistance(customer);
+        }
+
+        public double getReturnDistance(Vertex customer) {
+            return inbound.getDistance(customer);
+        }
+
+        /**
+         * Retourne le cout de l'aller-retour, ou Double.POSITIVE_INFINITY si l'un des trajets est impossible.
+         */
+        public double getRoundTripDistance(Vertex customer) {
+            return getOutboundDistance(customer) + getReturnDistance(customer);
+        }
+
+        public List<Vertex> getOutboundPath(Vertex customer) {
+            return outbound.getPath(customer);
+        }
+
+        public List<Vertex> getReturnPath(Vertex customer) {
+            return inbound.getPath(customer);
+        }
     }
 
     /**
@@ -165,6 +236,152 @@ public class Dijkstra {
         return new Result(source, distances, predecessors);
     }
 
+    /**
+     * Execute l'algorithme de Dijkstra a rebours sur un graphe oriente : calcule en une seule
+     * passe la distance de chaque sommet VERS target, en remontant les arcs entrants.
+     * 
+     * @param graph Le graphe oriente
+     * @param target Le sommet destination (par exemple le depot)
+     * @return Un objet Result inverse : getDistance(v) = d(v, target), getPath(v) = v -> target
+     */
+    public static Result shortestPathsTo(DirectedGraph graph, Vertex target) {
+        if (!graph.getVertices().contains(target)) {
+            throw new IllegalArgumentException("Le sommet destination n'existe pas dans le graphe");
+        }
+
+        Map<Vertex, Double> distances = new HashMap<>();
+        Map<Vertex, Vertex> successors = new HashMap<>();
+        Set<Vertex> visited = new HashSet<>();
+        
+        // Initialisation : distance infinie pour tous sauf la destination
+        for (Vertex v : graph.getVertices()) {
+            distances.put(v, Double.POSITIVE_INFINITY);
+        }
+        distances.put(target, 0.0);
+
+        PriorityQueue<VertexDistance> queue = new PriorityQueue<>();
+        queue.add(new VertexDistance(target, 0.0));
+
+        while (!queue.isEmpty()) {
+            VertexDistance current = queue.poll();
+            Vertex u = current.vertex;
+            
+            if (visited.contains(u)) {
+                continue;
+            }
+            visited.add(u);
+
+            // Examiner tous les predecesseurs de u (via les arcs entrants)
+            for (DirectedEdge edge : graph.getIncomingEdges(u)) {
+                Vertex v = edge.getFrom();
+                if (visited.contains(v)) {
+                    continue;
+                }
+
+                double newDistance = distances.get(u) + edge.getWeight();
+                if (newDistance < distances.get(v)) {
+                    distances.put(v, newDistance);
+                    successors.put(v, u);
+                    queue.add(new VertexDistance(v, newDistance));
+                }
+            }
+        }
+
+        return new Result(target, distances, successors, true);
+    }
+
+    /**
+     * Calcule les couts aller et retour entre le depot et tous les autres sommets
+     * d'un graphe oriente en deux recherches (au lieu d'une par client).
+     * 
+     * @param graph Le graphe oriente
+     * @param depot Le depot
+     * @return Les arbres aller (depuis le depot) et retour (vers le depot)
+     */
+    public static RoundTripResult roundTrips(DirectedGraph graph, Vertex depot) {
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        return new RoundTripResult(shortestPathTree(compactGraph, depot), shortestPathTreeTo(compactGraph, depot));
+    }
+
+    /**
+     * Execute l'algorithme de Dijkstra sur la representation compacte d'un graphe
+     * (oriente ou non) et retourne l'arbre des plus courts chemins sous forme de tableaux.
+     *
+     * @param graph Le graphe compact
+     * @param source Le sommet source
+     * @return L'arbre des plus courts chemins depuis source
+     */
+    public static ShortestPathTree shortestPathTree(CompactGraph graph, Vertex source) {
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex < 0) {
+            throw new IllegalArgumentException("Le sommet source n'existe pas dans le graphe");
+        }
+        return shortestPathTree(graph, sourceIndex);
+    }
+
+    /**
+     * Variante indexee : la source est donnee par son indice dans le graphe compact.
+     */
+    public static ShortestPathTree shortestPathTree(CompactGraph graph, int source) {
+        return search(graph, source, false);
+    }
+
+    /**
+     * Recherche inversee sur la representation compacte : distance de chaque sommet vers target.
+     * Pour un graphe non oriente, l'arbre obtenu est le meme que depuis target.
+     *
+     * @param graph Le graphe compact
+     * @param target Le sommet destination
+     * @return Un arbre inverse (getPath(v) donne le chemin v -> target)
+     */
+    public static ShortestPathTree shortestPathTreeTo(CompactGraph graph, Vertex target) {
+        int targetIndex = graph.indexOf(target);
+        if (targetIndex < 0) {
+            throw new IllegalArgumentException("Le sommet destination n'existe pas dans le graphe");
+        }
+        return shortestPathTreeTo(graph, targetIndex);
+    }
+
+    /**
+     * Variante indexee de la recherche inversee.
+     */
+    public static ShortestPathTree shortestPathTreeTo(CompactGraph graph, int target) {
+        return search(graph, target, true);
+    }
+
+    /**
+     * Dijkstra depuis root, en suivant les arcs sortants (reverse = false) ou entrants (reverse = true).
+     */
+    private static ShortestPathTree search(CompactGraph graph, int root, boolean reverse) {
+        int n = graph.getVertexCount();
+        double[] distances = new double[n];
+        int[] predecessors = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, -1);
+        distances[root] = 0.0;
+
+        CompactGraph.Adjacency adjacency = graph.getAdjacency(reverse);
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        queue.insertOrDecrease(root, 0.0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            double distanceU = distances[u];
+
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                double newDistance = distanceU + graph.getWeight(adjacency.edgeId(slot));
+                if (newDistance < distances[v]) {
+                    distances[v] = newDistance;
+                    predecessors[v] = u;
+                    queue.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+
+        return new ShortestPathTree(graph, root, distances, predecessors, reverse);
+    }
+
     /**
      * Classe auxiliaire pour la file de priorité.
      */
@@ -0,0 +1,184 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matrice dense des plus courtes distances entre un ensemble de points (depot et points
+ * de collecte) d'un graphe routier peu dense.
+ *
+ * Principe :
+ * - Une recherche de Dijkstra par point, arretee des que tous les autres points sont
+ *   definitifs (seule la zone utile du graphe est exploree)
+ * - Les lignes sont calculees en parallele sur un ForkJoinPool
+ * - Les k x k distances sont rangees ligne par ligne dans un seul double[]
+ *   (get(i, j) = distances[i * k + j]), sans objet par case
+ *
+ * Les solveurs du theme 2 (NearestNeighborSolver, MstBuilder, MstTspSolver) acceptent
+ * cette matrice a la place d'un graphe complet.
+ */
+public class DistanceMatrix {
+    private final Vertex[] points;
+    private final Map<Vertex, Integer> indices;
+    private final double[] distances;
+
+    DistanceMatrix(Vertex[] points, double[] distances) {
+        this.points = points;
+        this.distances = distances;
+        this.indices = new HashMap<>();
+        for (int i = 0; i < points.length; i++) {
+            indices.put(points[i], i);
+        }
+    }
+
+    /**
+     * Construit la matrice des distances entre les points d'un graphe non oriente.
+     *
+     * @param graph Le graphe non oriente
+     * @param points Les points retenus (depot et points de collecte), sans doublon
+     * @return La matrice des distances
+     */
+    public static DistanceMatrix build(UndirectedGraph graph, List<Vertex> points) {
+        return build(CompactGraph.of(graph), points, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construit la matrice des distances entre les points d'un graphe oriente
+     * (get(i, j) est la distance de i vers j, differente en general de get(j, i)).
+     *
+     * @param graph Le graphe oriente
+     * @param points Les points retenus, sans doublon
+     * @return La matrice des distances
+     */
+    public static DistanceMatrix build(DirectedGraph graph, List<Vertex> points) {
+        return build(CompactGraph.of(graph), points, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construit la matrice sur la representation compacte avec un pool donne.
+     */
+    public static DistanceMatrix build(CompactGraph graph, List<Vertex> points, ForkJoinPool pool) {
+        int k = points.size();
+        Vertex[] pointArray = new Vertex[k];
+        int[] pointIndices = new int[k];
+        Set<Vertex> seen = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            Vertex point = points.get(i);
+            pointIndices[i] = graph.indexOf(point);
+            if (pointIndices[i] < 0) {
+                throw new IllegalArgumentException("Le sommet " + point + " n'existe pas dans le graphe");
+            }
+            if (!seen.add(point)) {
+                throw new IllegalArgumentException("Le sommet " + point + " apparait plusieurs fois");
+            }
+            pointArray[i] = point;
+        }
+
+        double[] distances = new double[k * k];
+        if (k > 0) {
+            int grain = Math.max(1, k / (4 * pool.getParallelism()));
+            pool.invoke(new RowTask(graph, pointIndices, distances, 0, k, grain));
+        }
+        return new DistanceMatrix(pointArray, distances);
+    }
+
+    /**
+     * Retourne le nombre de points.
+     */
+    public int size() {
+        return points.length;
+    }
+
+    public Vertex getPoint(int index) {
+        return points[index];
+    }
+
+    public List<Vertex> getPoints() {
+        return Collections.unmodifiableList(Arrays.asList(points));
+    }
+
+    /**
+     * Retourne la position du sommet dans la matrice, ou -1 s'il n'en fait pas partie.
+     */
+    public int indexOf(Vertex vertex) {
+        Integer index = indices.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    public boolean contains(Vertex vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    /**
+     * Distance du point i vers le point j.
+     */
+    public double get(int i, int j) {
+        return distances[i * points.length + j];
+    }
+
+    /**
+     * Distance de from vers to (les deux doivent etre des points de la matrice).
+     */
+    public double getDistance(Vertex from, Vertex to) {
+        int i = indexOf(from);
+        int j = indexOf(to);
+        if (i < 0 || j < 0) {
+            throw new IllegalArgumentException("Le sommet " + (i < 0 ? from : to) + " ne fait pas partie de la matrice");
+        }
+        return get(i, j);
+    }
+
+    /**
+     * Calcule la distance totale d'une tournee passant par des points de la matrice.
+     */
+    public double getTourDistance(List<Vertex> tour) {
+        double totalDistance = 0.0;
+        for (int i = 0; i < tour.size() - 1; i++) {
+            totalDistance += getDistance(tour.get(i), tour.get(i + 1));
+        }
+        return totalDistance;
+    }
+
+    /**
+     * Calcule un bloc de lignes ; decoupe tant qu'il depasse grain lignes.
+     */
+    private static class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph graph;
+        private final int[] points;
+        private final double[] distances;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RowTask(CompactGraph graph, int[] points, double[] distances, int from, int to, int grain) {
+            this.graph = graph;
+            this.points = points;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowTask(graph, points, distances, from, middle, grain),
+                          new RowTask(graph, points, distances, middle, to, grain));
+                return;
+            }
+
+            SearchWorkspace workspace = new SearchWorkspace(graph.getVertexCount());
+            int k = points.length;
+            for (int row = from; row < to; row++) {
+                double[] rowDistances = workspace.distancesTo(graph, points[row], false, points);
+                System.arraycopy(rowDistances, 0, distances, row * k, k);
+            }
+        }
+    }
+}
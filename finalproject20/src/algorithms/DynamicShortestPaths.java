@@ -0,0 +1,232 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Mise a jour incrementale d'arbres de plus courts chemins apres un changement de poids
+ * (dans l'esprit de l'algorithme de Ramalingam et Reps).
+ *
+ * Principe :
+ * - Diminution du poids de (a, b) : si d(a) + w < d(b), b s'ameliore ; on propage
+ *   l'amelioration par un Dijkstra qui ne part que des sommets ameliores
+ * - Augmentation du poids de (a, b) : seul le sous-arbre de b est concerne, et seulement
+ *   si (a, b) etait l'arc de l'arbre menant a b
+ *   1. Si b a un autre predecesseur serre (d(y) + w(y, b) = d(b), d(y) < d(b)),
+ *      on change simplement de predecesseur
+ *   2. Sinon on retire le sous-arbre de b, on calcule pour chacun de ses sommets la
+ *      meilleure distance depuis l'exterieur, puis un Dijkstra limite au sous-arbre
+ *
+ * Le cout d'une mise a jour est proportionnel a la partie de l'arbre qui change,
+ * pas a la taille du graphe. Les tableaux de travail sont alloues une seule fois.
+ */
+public class DynamicShortestPaths {
+    private final CompactGraph graph;
+    private final IndexedMinHeap queue;
+    private final int[] affected;
+    private int stamp;
+
+    /**
+     * Prepare la reparation d'arbres construits sur ce graphe compact.
+     */
+    public DynamicShortestPaths(CompactGraph graph) {
+        this.graph = graph;
+        this.queue = new IndexedMinHeap(graph.getVertexCount());
+        this.affected = new int[graph.getVertexCount()];
+        this.stamp = 0;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Modifie le poids des aretes de from vers to (dans le graphe d'origine et dans le
+     * graphe compact) puis repare chacun des arbres donnes.
+     *
+     * @param from Extremite de depart
+     * @param to Extremite d'arrivee
+     * @param weight Le nouveau poids
+     * @param trees Les arbres a garder a jour (tous construits sur ce graphe compact)
+     */
+    public void updateWeight(Vertex from, Vertex to, double weight, Collection<ShortestPathTree> trees) {
+        for (ShortestPathTree tree : trees) {
+            checkGraph(tree);
+        }
+        int[] changedEdges = graph.setWeight(from, to, weight);
+        for (ShortestPathTree tree : trees) {
+            repair(tree, changedEdges);
+        }
+    }
+
+    /**
+     * Repare un arbre apres modification du poids des aretes donnees (deja appliquee au graphe).
+     *
+     * @param tree L'arbre a reparer, modifie en place
+     * @param changedEdges Identifiants des aretes dont le poids a change
+     */
+    public void repair(ShortestPathTree tree, int[] changedEdges) {
+        checkGraph(tree);
+        boolean reverse = tree.isReverse();
+        CompactGraph.Adjacency forward = graph.getAdjacency(reverse);
+        CompactGraph.Adjacency backward = graph.getAdjacency(!reverse);
+        double[] distances = tree.distances();
+        int[] predecessors = tree.predecessors();
+
+        // Arcs modifies dans le sens de parcours de l'arbre : (tails[i], heads[i])
+        int pairCount = graph.isDirected() ? changedEdges.length : 2 * changedEdges.length;
+        int[] tails = new int[pairCount];
+        int[] heads = new int[pairCount];
+        for (int i = 0; i < changedEdges.length; i++) {
+            int tail = graph.getEdgeTail(changedEdges[i]);
+            int head = graph.getEdgeHead(changedEdges[i]);
+            if (!graph.isDirected()) {
+                tails[2 * i] = tail;
+                heads[2 * i] = head;
+                tails[2 * i + 1] = head;
+                heads[2 * i + 1] = tail;
+            } else if (reverse) {
+                tails[i] = head;
+                heads[i] = tail;
+            } else {
+                tails[i] = tail;
+                heads[i] = head;
+            }
+        }
+
+        // Etape 1 : augmentations sur les arcs de l'arbre
+        for (int i = 0; i < pairCount; i++) {
+            int a = tails[i];
+            int b = heads[i];
+            if (predecessors[b] == a && distances[a] + lightestWeight(forward, a, b) > distances[b]) {
+                rebuildSubtree(b, forward, backward, distances, predecessors);
+            }
+        }
+
+        // Etape 2 : diminutions, propagees depuis les sommets ameliores
+        for (int i = 0; i < pairCount; i++) {
+            int a = tails[i];
+            int b = heads[i];
+            double candidate = distances[a] + lightestWeight(forward, a, b);
+            if (candidate < distances[b]) {
+                distances[b] = candidate;
+                predecessors[b] = a;
+                queue.insertOrDecrease(b, candidate);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int slot = forward.start(u); slot < forward.end(u); slot++) {
+                int v = forward.target(slot);
+                double newDistance = distances[u] + graph.getWeight(forward.edgeId(slot));
+                if (newDistance < distances[v]) {
+                    distances[v] = newDistance;
+                    predecessors[v] = u;
+                    queue.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recalcule les distances du sous-arbre de b, dont l'arc d'entree s'est allonge.
+     */
+    private void rebuildSubtree(int b, CompactGraph.Adjacency forward, CompactGraph.Adjacency backward,
+                                double[] distances, int[] predecessors) {
+        // Cas simple : un autre predecesseur serre, strictement plus proche (donc hors du sous-arbre)
+        for (int slot = backward.start(b); slot < backward.end(b); slot++) {
+            int y = backward.target(slot);
+            if (distances[y] < distances[b]
+                    && distances[y] + graph.getWeight(backward.edgeId(slot)) == distances[b]) {
+                predecessors[b] = y;
+                return;
+            }
+        }
+
+        // Collecter le sous-arbre de b (les enfants de x sont ses voisins dont x est le predecesseur)
+        nextStamp();
+        IntList subtree = new IntList();
+        subtree.add(b);
+        affected[b] = stamp;
+        for (int i = 0; i < subtree.size(); i++) {
+            int x = subtree.get(i);
+            for (int slot = forward.start(x); slot < forward.end(x); slot++) {
+                int child = forward.target(slot);
+                if (affected[child] != stamp && predecessors[child] == x) {
+                    affected[child] = stamp;
+                    subtree.add(child);
+                }
+            }
+        }
+
+        for (int i = 0; i < subtree.size(); i++) {
+            int x = subtree.get(i);
+            distances[x] = Double.POSITIVE_INFINITY;
+            predecessors[x] = -1;
+        }
+
+        // Meilleure entree dans le sous-arbre depuis un sommet exterieur (distance inchangee)
+        for (int i = 0; i < subtree.size(); i++) {
+            int x = subtree.get(i);
+            for (int slot = backward.start(x); slot < backward.end(x); slot++) {
+                int y = backward.target(slot);
+                if (affected[y] == stamp || distances[y] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                double candidate = distances[y] + graph.getWeight(backward.edgeId(slot));
+                if (candidate < distances[x]) {
+                    distances[x] = candidate;
+                    predecessors[x] = y;
+                }
+            }
+            if (distances[x] != Double.POSITIVE_INFINITY) {
+                queue.insertOrDecrease(x, distances[x]);
+            }
+        }
+
+        // Dijkstra limite au sous-arbre : les autres sommets ne peuvent pas s'ameliorer
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int slot = forward.start(u); slot < forward.end(u); slot++) {
+                int v = forward.target(slot);
+                if (affected[v] != stamp) {
+                    continue;
+                }
+                double newDistance = distances[u] + graph.getWeight(forward.edgeId(slot));
+                if (newDistance < distances[v]) {
+                    distances[v] = newDistance;
+                    predecessors[v] = u;
+                    queue.insertOrDecrease(v, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plus petit poids parmi les arcs (paralleles) de a vers b.
+     */
+    private double lightestWeight(CompactGraph.Adjacency forward, int a, int b) {
+        double lightest = Double.POSITIVE_INFINITY;
+        for (int slot = forward.start(a); slot < forward.end(a); slot++) {
+            if (forward.target(slot) == b) {
+                lightest = Math.min(lightest, graph.getWeight(forward.edgeId(slot)));
+            }
+        }
+        return lightest;
+    }
+
+    private void checkGraph(ShortestPathTree tree) {
+        if (tree.getGraph() != graph) {
+            throw new IllegalArgumentException("L'arbre n'a pas ete construit sur ce graphe compact");
+        }
+    }
+
+    private void nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(affected, 0);
+            stamp = 0;
+        }
+        stamp++;
+    }
+}
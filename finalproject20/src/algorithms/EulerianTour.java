@@ -2,7 +2,10 @@ package algorithms;
 
 import graph.*;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  * Algorithmes pour les tournées eulériennes.
@@ -11,6 +14,8 @@ import java.util.*;
  * Un graphe non orienté a une tournée eulérienne si et seulement si tous les sommets ont un degré pair.
  */
 public class EulerianTour {
+
+    private static final String UNREACHABLE = "Des arêtes à parcourir ne sont pas accessibles depuis le départ";
     
     /**
      * Vérifie si un graphe est eulérien (tous les sommets ont un degré pair).
@@ -49,6 +54,8 @@ public class EulerianTour {
      *    - Construire un nouveau cycle à partir de ce sommet
      *    - Fusionner ce cycle avec le cycle principal
      * 
+     * Le calcul est fait sur la représentation compacte du graphe (voir la version CompactGraph).
+     * 
      * @param graph Le graphe (doit être eulérien)
      * @param start Le sommet de départ (généralement le dépôt)
      * @return Liste ordonnée des sommets de la tournée eulérienne
@@ -58,55 +65,389 @@ public class EulerianTour {
             throw new IllegalArgumentException("Le graphe n'est pas eulérien (tous les sommets doivent avoir un degré pair)");
         }
 
-        // Compter le nombre d'occurrences de chaque arête dans le graphe
-        // (nécessaire pour gérer les arêtes dupliquées dans le Postier chinois)
-        Map<Edge, Integer> edgeCount = new HashMap<>();
-        for (Vertex v : graph.getVertices()) {
-            for (Edge e : graph.getEdges(v)) {
-                edgeCount.put(e, edgeCount.getOrDefault(e, 0) + 1);
-            }
-        }
-        // Diviser par 2 car chaque arête est comptée deux fois (une fois par sommet)
-        for (Map.Entry<Edge, Integer> entry : edgeCount.entrySet()) {
-            edgeCount.put(entry.getKey(), entry.getValue() / 2);
-        }
-
-        // Créer une copie des compteurs d'arêtes pour marquer celles qui sont visitées
-        Map<Edge, Integer> edgeUsage = new HashMap<>(edgeCount);
-
-        List<Vertex> tour = new ArrayList<>();
-        Stack<Vertex> stack = new Stack<>();
-        stack.push(start);
-
-        while (!stack.isEmpty()) {
-            Vertex current = stack.peek();
-            
-            // Chercher une arête non utilisée depuis current
-            Edge unusedEdge = null;
-            Vertex next = null;
-            
-            for (Edge edge : graph.getEdges(current)) {
-                int remaining = edgeUsage.getOrDefault(edge, 0);
-                if (remaining > 0) {
-                    unusedEdge = edge;
-                    next = edge.getOther(current);
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] multiplicities = new int[compact.getEdgeCount()];
+        Arrays.fill(multiplicities, 1);
+        return new ArrayList<>(findEulerianTour(compact, multiplicities, start).asList());
+    }
+
+    /**
+     * Hierholzer en temps linéaire sur un graphe compact (orienté ou non).
+     * 
+     * La tournée est produite par tourIterator() et recopiée dans un tableau ; pour une
+     * tournée trop longue pour être gardée en mémoire, utiliser directement tourIterator()
+     * ou streamEulerianTour().
+     * 
+     * @param graph Le graphe compact
+     * @param multiplicities Nombre de passages voulus sur chaque arête/arc (par identifiant),
+     *                       par exemple 2 pour une rue dupliquée par le Postier chinois
+     * @param start Le sommet de départ
+     * @return La tournée, qui commence et finit en start
+     * @throws IllegalArgumentException si un sommet a un degré impair (non orienté) ou des degrés
+     *         entrant et sortant différents (orienté), en comptant les passages, ou si des
+     *         arêtes à parcourir ne sont pas accessibles depuis le départ
+     */
+    public static CompactPath findEulerianTour(CompactGraph graph, int[] multiplicities, Vertex start) {
+        return collect(graph, tourIterator(graph, multiplicities, start));
+    }
+
+    /**
+     * Hierholzer limité aux arêtes données : la tournée emprunte passes[i] fois l'arête
+     * edges[i], et aucune autre. Les sommets touchés sont renumérotés localement, si bien que
+     * le coût est proportionnel au nombre d'arêtes données et de passages, pas à la taille
+     * du graphe (pour une tournée qui n'utilise qu'une petite partie de la ville).
+     * 
+     * @param graph Le graphe compact
+     * @param edges Identifiants des arêtes empruntées (distincts)
+     * @param passes Nombre de passages de chaque arête de edges
+     * @param start Le sommet de départ
+     * @return La tournée, qui commence et finit en start
+     * @throws IllegalArgumentException si un sommet a un degré impair (non orienté) ou des degrés
+     *         entrant et sortant différents (orienté), en comptant les passages, ou si des
+     *         arêtes à parcourir ne sont pas accessibles depuis le départ
+     */
+    public static CompactPath findEulerianTour(CompactGraph graph, int[] edges, int[] passes, Vertex start) {
+        int first = graph.indexOf(start);
+        if (first < 0) {
+            throw new IllegalArgumentException("Le sommet de départ n'existe pas dans le graphe");
+        }
+        if (edges.length != passes.length) {
+            throw new IllegalArgumentException("Un nombre de passages est attendu pour chaque arête");
+        }
+
+        // Numérotation locale des sommets touchés (le départ reçoit 0)
+        Map<Integer, Integer> local = new HashMap<>();
+        IntList vertices = new IntList();
+        local.put(first, 0);
+        vertices.add(first);
+        int[] tails = new int[edges.length];
+        int[] heads = new int[edges.length];
+        long total = 0;
+        for (int i = 0; i < edges.length; i++) {
+            if (passes[i] < 0) {
+                throw new IllegalArgumentException("Nombre de passages négatif pour l'arête " + edges[i]);
+            }
+            total += passes[i];
+            tails[i] = localIndex(local, vertices, graph.getEdgeTail(edges[i]));
+            heads[i] = localIndex(local, vertices, graph.getEdgeHead(edges[i]));
+        }
+        if (total >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tournée trop longue");
+        }
+
+        // Vérifier les degrés, puis listes d'adjacence locales (à rebours pour les arcs, comme tourIterator)
+        int n = vertices.size();
+        long[] balance = new long[n];
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edges.length; i++) {
+            balance[tails[i]] += passes[i];
+            balance[heads[i]] += graph.isDirected() ? -passes[i] : passes[i];
+            offsets[heads[i] + 1]++;
+            if (!graph.isDirected()) {
+                offsets[tails[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (graph.isDirected() ? balance[v] != 0 : balance[v] % 2 != 0) {
+                throw new IllegalArgumentException("Le graphe n'est pas eulérien au sommet "
+                    + graph.getVertex(vertices.get(v)));
+            }
+            offsets[v + 1] += offsets[v];
+        }
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] slotEdges = new int[offsets[n]];
+        int[] slotTargets = new int[offsets[n]];
+        for (int i = 0; i < edges.length; i++) {
+            slotEdges[cursor[heads[i]]] = i;
+            slotTargets[cursor[heads[i]]++] = tails[i];
+            if (!graph.isDirected()) {
+                slotEdges[cursor[tails[i]]] = i;
+                slotTargets[cursor[tails[i]]++] = heads[i];
+            }
+        }
+        System.arraycopy(offsets, 0, cursor, 0, n);
+
+        // Hierholzer : pile des arêtes empruntées, sommets émis au dépilement
+        int[] remaining = passes.clone();
+        IntList stack = new IntList();
+        int[] tour = new int[(int) total + 1];
+        int length = 0;
+        int current = 0;
+        while (true) {
+            int slot = cursor[current];
+            while (slot < offsets[current + 1] && remaining[slotEdges[slot]] == 0) {
+                slot++;
+            }
+            cursor[current] = slot;
+            if (slot == offsets[current + 1]) {
+                tour[length++] = vertices.get(current);
+                if (stack.isEmpty()) {
                     break;
                 }
+                int i = stack.removeLast();
+                current = graph.isDirected() || tails[i] == current ? heads[i] : tails[i];
+            } else {
+                int i = slotEdges[slot];
+                remaining[i]--;
+                stack.add(i);
+                current = slotTargets[slot];
             }
+        }
+        if (length != tour.length) {
+            throw new IllegalArgumentException(UNREACHABLE);
+        }
+        return new CompactPath(graph, tour);
+    }
+
+    private static int localIndex(Map<Integer, Integer> local, IntList vertices, int v) {
+        Integer index = local.get(v);
+        if (index == null) {
+            index = vertices.size();
+            local.put(v, index);
+            vertices.add(v);
+        }
+        return index;
+    }
+
+    private static CompactPath collect(CompactGraph graph, TourIterator iterator) {
+        int[] vertices = new int[(int) iterator.passes + 1];
+        int length = 0;
+        while (iterator.hasNext()) {
+            vertices[length++] = iterator.nextInt();
+        }
+        return new CompactPath(graph, vertices);
+    }
+
+    /**
+     * Émet la tournée eulérienne sommet par sommet (indices du graphe compact) vers sink,
+     * sans la recopier dans un tableau : sink peut écrire directement dans un fichier ou une
+     * socket (voir tourIterator() pour la mémoire utilisée).
+     * 
+     * @return La distance totale de la tournée, cumulée pendant la construction
+     * @throws IllegalArgumentException comme tourIterator(), éventuellement après que sink a
+     *         reçu une partie de la tournée
+     * @see #tourIterator(CompactGraph, int[], Vertex)
+     */
+    public static double streamEulerianTour(CompactGraph graph, int[] multiplicities, Vertex start,
+                                            IntConsumer sink) {
+        TourIterator iterator = tourIterator(graph, multiplicities, start);
+        while (iterator.hasNext()) {
+            sink.accept(iterator.nextInt());
+        }
+        return iterator.getDistance();
+    }
+
+    /**
+     * Écrit la tournée eulérienne dans out, un identifiant de sommet par ligne, au fur et à
+     * mesure de sa construction. Le flux n'est ni vidé ni fermé.
+     * 
+     * @return La distance totale de la tournée
+     * @throws IOException si l'écriture échoue (la tournée est alors abandonnée)
+     */
+    public static double writeEulerianTour(CompactGraph graph, int[] multiplicities, Vertex start,
+                                           Writer out) throws IOException {
+        TourIterator iterator = tourIterator(graph, multiplicities, start);
+        while (iterator.hasNext()) {
+            out.write(graph.getVertex(iterator.nextInt()).getId());
+            out.write('\n');
+        }
+        return iterator.getDistance();
+    }
+
+    /**
+     * Retourne un itérateur qui construit la tournée eulérienne à la demande (Hierholzer).
+     * 
+     * Structures :
+     * - Un curseur par sommet sur ses arêtes : une arête épuisée est sautée une seule fois
+     *   pour toutes, au lieu de reparcourir la liste depuis le début à chaque étape
+     * - Le nombre de passages restants de chaque arête dans un int[] indexé par identifiant
+     * - La pile de Hierholzer dans une liste d'entiers extensible, réduite aux arêtes
+     *   empruntées : le sommet d'une entrée est l'extrémité de l'arête de l'entrée suivante
+     * 
+     * Hierholzer dépile les sommets dans l'ordre inverse de la tournée. Le parcours suit donc
+     * les arcs à rebours (listes entrantes) : l'ordre de dépilement est alors exactement celui
+     * de la tournée dans le sens des arcs, et chaque sommet est émis dès qu'il est dépilé, sans
+     * tableau de la tournée ni retournement.
+     * 
+     * Mémoire : O(V + E) plus un entier par arête empilée. La pile n'est pas bornée par V + E :
+     * au pire (premier circuit parcouru presque sans impasse) elle contient presque toute la
+     * tournée, soit O(nombre de passages). Le gain par rapport à findEulerianTour() vient de
+     * ce que les sommets déjà émis ne sont plus gardés, ce qui dépend de la forme du graphe.
+     * 
+     * @throws IllegalArgumentException si un sommet a un degré impair (non orienté) ou des degrés
+     *         entrant et sortant différents (orienté), en comptant les passages ; levée par
+     *         hasNext() en fin de parcours si des arêtes à parcourir ne sont pas accessibles
+     *         depuis le départ (les sommets déjà émis ne forment alors qu'une partie de la tournée)
+     */
+    public static TourIterator tourIterator(CompactGraph graph, int[] multiplicities, Vertex start) {
+        return pathIterator(graph, multiplicities, start, start);
+    }
+
+    /**
+     * Comme tourIterator(), pour un chemin eulérien ouvert de start à end.
+     * 
+     * L'arête virtuelle end → start qui rendrait le graphe eulérien n'est pas ajoutée au graphe :
+     * elle n'intervient que dans la vérification des degrés. Le parcours à rebours part de end,
+     * si bien que les sommets dépilés forment directement le chemin de start à end ; l'arête
+     * virtuelle n'est jamais empruntée et il n'y a rien à retirer de la tournée.
+     * 
+     * @throws IllegalArgumentException si les degrés (en comptant les passages) ne permettent
+     *         pas un chemin eulérien de start à end ; levée par hasNext() en fin de parcours si
+     *         des arêtes à parcourir ne sont pas accessibles
+     */
+    public static TourIterator pathIterator(CompactGraph graph, int[] multiplicities, Vertex start, Vertex end) {
+        int first = graph.indexOf(start);
+        if (first < 0) {
+            throw new IllegalArgumentException("Le sommet de départ n'existe pas dans le graphe");
+        }
+        int root = graph.indexOf(end);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le sommet d'arrivée n'existe pas dans le graphe");
+        }
+        if (multiplicities.length != graph.getEdgeCount()) {
+            throw new IllegalArgumentException("Un nombre de passages est attendu pour chaque arête");
+        }
 
-            if (unusedEdge == null) {
-                // Plus d'arêtes disponibles depuis ce sommet, l'ajouter à la tournée
-                tour.add(stack.pop());
+        // Vérifier les degrés en tenant compte des passages multiples
+        int n = graph.getVertexCount();
+        long[] balance = new long[n];
+        long total = 0;
+        for (int e = 0; e < multiplicities.length; e++) {
+            if (multiplicities[e] < 0) {
+                throw new IllegalArgumentException("Nombre de passages négatif pour l'arête " + e);
+            }
+            total += multiplicities[e];
+            if (graph.isDirected()) {
+                balance[graph.getEdgeTail(e)] += multiplicities[e];
+                balance[graph.getEdgeHead(e)] -= multiplicities[e];
             } else {
-                // Décrémenter le compteur de cette arête
-                edgeUsage.put(unusedEdge, edgeUsage.get(unusedEdge) - 1);
-                stack.push(next);
+                balance[graph.getEdgeTail(e)] += multiplicities[e];
+                balance[graph.getEdgeHead(e)] += multiplicities[e];
+            }
+        }
+        // Arête virtuelle end → start (sans effet si start == end)
+        balance[root]++;
+        if (graph.isDirected()) {
+            balance[first]--;
+        } else {
+            balance[first]++;
+        }
+        for (int v = 0; v < n; v++) {
+            if (graph.isDirected() ? balance[v] != 0 : balance[v] % 2 != 0) {
+                throw new IllegalArgumentException("Le graphe n'est pas eulérien au sommet " + graph.getVertex(v));
+            }
+        }
+        if (total >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tournée trop longue");
+        }
+        return new TourIterator(graph, multiplicities.clone(), root, total);
+    }
+
+    /**
+     * Itérateur primitif sur les sommets (indices du graphe compact) d'une tournée ou d'un
+     * chemin eulérien, construit pas à pas : chaque appel à nextInt() reprend Hierholzer jusqu'au prochain
+     * sommet dépilé. La distance parcourue est cumulée au passage.
+     */
+    public static class TourIterator implements PrimitiveIterator.OfInt {
+        private final CompactGraph graph;
+        private final CompactGraph.Adjacency backward;
+        private final int[] remaining;
+        private final int[] cursor;
+        private final long passes;
+        private long walked = 0;
+        // Pile de Hierholzer : arêtes empruntées depuis le départ ; le sommet courant est au sommet
+        private final IntList stack = new IntList();
+        private int current;
+        private boolean finished = false;
+        private int pendingVertex = -1;
+        private int pendingArrival = -1;
+        private int previousArrival = -1;
+        private int lastEdge = -1;
+        private double distance = 0.0;
+
+        private TourIterator(CompactGraph graph, int[] remaining, int root, long passes) {
+            this.graph = graph;
+            this.backward = graph.getIncoming();
+            this.remaining = remaining;
+            this.passes = passes;
+            this.cursor = new int[graph.getVertexCount()];
+            for (int v = 0; v < cursor.length; v++) {
+                cursor[v] = backward.start(v);
+            }
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pendingVertex >= 0) {
+                return true;
             }
+            while (!finished) {
+                // Avancer le curseur au-delà des arêtes épuisées (chacune n'est sautée qu'une fois)
+                int end = backward.end(current);
+                int slot = cursor[current];
+                while (slot < end && remaining[backward.edgeId(slot)] == 0) {
+                    slot++;
+                }
+                cursor[current] = slot;
+
+                if (slot == end) {
+                    // Plus d'arêtes disponibles depuis ce sommet : il est le prochain de la tournée
+                    pendingVertex = current;
+                    if (stack.isEmpty()) {
+                        if (walked != passes) {
+                            // Retour au départ avant d'avoir tout parcouru : le reste est inaccessible
+                            throw new IllegalArgumentException(UNREACHABLE);
+                        }
+                        pendingArrival = -1;
+                        finished = true;
+                    } else {
+                        // Revenir par l'arête d'arrivée : à rebours, on l'avait suivie depuis son arrivée
+                        pendingArrival = stack.removeLast();
+                        current = graph.isDirected() || graph.getEdgeTail(pendingArrival) == current
+                            ? graph.getEdgeHead(pendingArrival) : graph.getEdgeTail(pendingArrival);
+                    }
+                    return true;
+                }
+                // Emprunter l'arête (le curseur y reste tant qu'il lui reste des passages)
+                int edge = backward.edgeId(slot);
+                remaining[edge]--;
+                walked++;
+                stack.add(edge);
+                current = backward.target(slot);
+            }
+            return false;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            // L'arête d'arrivée du sommet dépilé précédemment le relie à celui-ci
+            lastEdge = previousArrival;
+            if (lastEdge >= 0) {
+                distance += graph.getWeight(lastEdge);
+            }
+            previousArrival = pendingArrival;
+            int vertex = pendingVertex;
+            pendingVertex = -1;
+            return vertex;
+        }
+
+        /**
+         * Retourne l'arête empruntée pour arriver au dernier sommet émis (-1 pour le premier).
+         */
+        public int getLastEdge() {
+            return lastEdge;
         }
 
-        // La tournée est construite à l'envers, la retourner
-        Collections.reverse(tour);
-        return tour;
+        /**
+         * Retourne la distance parcourue jusqu'au dernier sommet émis.
+         */
+        public double getDistance() {
+            return distance;
+        }
     }
 
     /**
@@ -115,9 +456,12 @@ public class EulerianTour {
      * Un chemin eulérien existe si et seulement si exactement 0 ou 2 sommets ont un degré impair.
      * Dans le cas de 2 sommets impairs, le chemin doit commencer à l'un et finir à l'autre.
      * 
+     * Le graphe n'est pas recopié : l'arête qui relierait les deux sommets impairs reste
+     * virtuelle (voir pathIterator) et le chemin retourné ne la contient pas.
+     * 
      * @param graph Le graphe
      * @param start Le sommet de départ (doit être un des deux sommets impairs)
-     * @return Liste ordonnée des sommets du chemin eulérien
+     * @return Liste ordonnée des sommets du chemin eulérien, de start à l'autre sommet impair
      */
     public static List<Vertex> findEulerianPath(UndirectedGraph graph, Vertex start) {
         List<Vertex> oddVertices = getOddDegreeVertices(graph);
@@ -131,28 +475,24 @@ public class EulerianTour {
             throw new IllegalArgumentException("Le sommet de départ doit être un des deux sommets impairs");
         }
 
-        // Créer une copie temporaire du graphe et ajouter une arête virtuelle
-        // entre les deux sommets impairs pour rendre le graphe eulérien
-        UndirectedGraph tempGraph = new UndirectedGraph();
-        for (Vertex v : graph.getVertices()) {
-            tempGraph.addVertex(v);
-        }
-        for (Edge e : graph.getAllEdges()) {
-            tempGraph.addEdge(e.getFrom(), e.getTo(), e.getWeight());
-        }
-        
         Vertex otherOdd = oddVertices.get(0).equals(start) ? oddVertices.get(1) : oddVertices.get(0);
-        // Ajouter une arête virtuelle de poids 0 (ne sera pas comptée dans la distance)
-        tempGraph.addEdge(start, otherOdd, 0.0);
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] multiplicities = new int[compact.getEdgeCount()];
+        Arrays.fill(multiplicities, 1);
+        return new ArrayList<>(findEulerianPath(compact, multiplicities, start, otherOdd).asList());
+    }
 
-        // Trouver la tournée eulérienne sur le graphe temporaire
-        List<Vertex> tour = findEulerianTour(tempGraph, start);
-        
-        // Retirer l'arête virtuelle de la tournée (si elle apparaît)
-        // En pratique, on garde la tournée telle quelle car l'arête virtuelle
-        // n'a pas de poids réel
-        
-        return tour;
+    /**
+     * Chemin eulérien de start à end sur un graphe compact (orienté ou non), en temps linéaire.
+     * 
+     * @param multiplicities Nombre de passages voulus sur chaque arête/arc (par identifiant)
+     * @return Le chemin, qui commence en start et finit en end
+     * @throws IllegalArgumentException si les degrés ne permettent pas un tel chemin, ou si des
+     *         arêtes à parcourir ne sont pas accessibles
+     * @see #pathIterator(CompactGraph, int[], Vertex, Vertex)
+     */
+    public static CompactPath findEulerianPath(CompactGraph graph, int[] multiplicities, Vertex start, Vertex end) {
+        return collect(graph, pathIterator(graph, multiplicities, start, end));
     }
 
     /**
@@ -0,0 +1,254 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plus courtes distances entre tous les couples de sommets (fermeture metrique)
+ * par l'algorithme de Floyd-Warshall, decoupe en blocs et parallelise.
+ *
+ * Principe :
+ * - La matrice n x n est rangee ligne par ligne dans un seul double[]
+ * - Elle est decoupee en tuiles de BLOCK_SIZE x BLOCK_SIZE qui tiennent dans le cache
+ * - Pour chaque bloc pivot kb :
+ *   1. La tuile diagonale (kb, kb) est mise a jour seule
+ *   2. Les tuiles de la ligne kb et de la colonne kb, qui ne dependent que de la
+ *      diagonale, sont mises a jour en parallele
+ *   3. Toutes les autres tuiles, qui ne dependent que de la ligne et de la colonne kb,
+ *      sont mises a jour en parallele
+ *
+ * En option, le tableau des successeurs (next[i][j] = sommet suivant apres i sur le
+ * plus court chemin i -> j) permet de reconstruire les chemins.
+ *
+ * Complexite : O(n^3) en temps, O(n^2) en memoire. Adapte aux graphes de quelques
+ * milliers de sommets.
+ */
+public class FloydWarshall {
+
+    /** Cote d'une tuile : 64 x 64 doubles = 32 Ko. */
+    private static final int BLOCK_SIZE = 64;
+
+    /** Au-dela, n * n ne tient plus dans un tableau Java. */
+    private static final int MAX_VERTICES = 46340;
+
+    /**
+     * Resultat de Floyd-Warshall : matrice des distances et, en option, des successeurs.
+     */
+    public static class Result {
+        private final CompactGraph graph;
+        private final DistanceMatrix distances;
+        private final int[] next;
+
+        Result(CompactGraph graph, DistanceMatrix distances, int[] next) {
+            this.graph = graph;
+            this.distances = distances;
+            this.next = next;
+        }
+
+        /**
+         * Retourne la matrice des distances (les points sont tous les sommets du graphe).
+         */
+        public DistanceMatrix getDistanceMatrix() {
+            return distances;
+        }
+
+        public double getDistance(Vertex from, Vertex to) {
+            return distances.getDistance(from, to);
+        }
+
+        /**
+         * Indique si les successeurs ont ete conserves (chemins disponibles).
+         */
+        public boolean hasPaths() {
+            return next != null;
+        }
+
+        /**
+         * Retourne le plus court chemin de from vers to (vide si inaccessible).
+         */
+        public List<Vertex> getPath(Vertex from, Vertex to) {
+            return new ArrayList<>(getCompactPath(from, to).asList());
+        }
+
+        /**
+         * Retourne le plus court chemin de from vers to sous forme compacte.
+         *
+         * @throws IllegalStateException si les successeurs n'ont pas ete conserves
+         */
+        public CompactPath getCompactPath(Vertex from, Vertex to) {
+            if (next == null) {
+                throw new IllegalStateException("Les chemins n'ont pas ete conserves (trackPaths = false)");
+            }
+            int i = distances.indexOf(from);
+            int j = distances.indexOf(to);
+            if (i < 0 || j < 0) {
+                throw new IllegalArgumentException("Le sommet " + (i < 0 ? from : to) + " n'existe pas dans le graphe");
+            }
+            if (distances.get(i, j) == Double.POSITIVE_INFINITY) {
+                return new CompactPath(graph, new int[0]); // Pas de chemin
+            }
+
+            int n = distances.size();
+            IntList path = new IntList();
+            path.add(i);
+            for (int current = i; current != j; ) {
+                current = next[current * n + j];
+                path.add(current);
+            }
+            return new CompactPath(graph, path.toArray());
+        }
+
+        /**
+         * Retourne le graphe complet dont chaque arete porte la distance du plus court chemin.
+         * Les algorithmes du theme 2, qui supposent un graphe complet, s'appliquent alors
+         * a n'importe quel graphe connexe.
+         *
+         * @throws IllegalStateException si le graphe d'origine est oriente
+         */
+        public MetricClosureGraph toCompleteGraph() {
+            if (graph.isDirected()) {
+                throw new IllegalStateException("La fermeture d'un graphe oriente n'est pas symetrique");
+            }
+            return new MetricClosureGraph(distances);
+        }
+    }
+
+    /**
+     * Calcule toutes les distances d'un graphe non oriente (pool commun).
+     *
+     * @param graph Le graphe non oriente
+     * @param trackPaths true pour conserver les successeurs et pouvoir reconstruire les chemins
+     * @return Un objet Result contenant la matrice des distances
+     */
+    public static Result solve(UndirectedGraph graph, boolean trackPaths) {
+        return solve(CompactGraph.of(graph), trackPaths, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcule toutes les distances d'un graphe oriente (pool commun).
+     *
+     * @param graph Le graphe oriente
+     * @param trackPaths true pour conserver les successeurs et pouvoir reconstruire les chemins
+     * @return Un objet Result contenant la matrice des distances
+     */
+    public static Result solve(DirectedGraph graph, boolean trackPaths) {
+        return solve(CompactGraph.of(graph), trackPaths, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcule toutes les distances sur la representation compacte avec un pool donne.
+     */
+    public static Result solve(CompactGraph graph, boolean trackPaths, ForkJoinPool pool) {
+        int n = graph.getVertexCount();
+        if (n > MAX_VERTICES) {
+            throw new IllegalArgumentException("Trop de sommets pour une matrice complete (" + n + " > " + MAX_VERTICES + ")");
+        }
+
+        double[] d = new double[n * n];
+        int[] next = trackPaths ? new int[n * n] : null;
+        initialize(graph, d, next, n);
+
+        int blockCount = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int kb = 0; kb < blockCount; kb++) {
+            final int pivot = kb;
+
+            // Phase 1 : tuile diagonale
+            updateTile(d, next, n, pivot, pivot, pivot);
+
+            // Phase 2 : ligne et colonne du pivot (2 * (blockCount - 1) tuiles independantes)
+            pool.submit(() -> IntStream.range(0, 2 * blockCount).parallel().forEach(t -> {
+                int other = t >> 1;
+                if (other == pivot) {
+                    return;
+                }
+                if ((t & 1) == 0) {
+                    updateTile(d, next, n, pivot, other, pivot);
+                } else {
+                    updateTile(d, next, n, other, pivot, pivot);
+                }
+            })).join();
+
+            // Phase 3 : toutes les autres tuiles
+            pool.submit(() -> IntStream.range(0, blockCount * blockCount).parallel().forEach(t -> {
+                int ib = t / blockCount;
+                int jb = t % blockCount;
+                if (ib != pivot && jb != pivot) {
+                    updateTile(d, next, n, ib, jb, pivot);
+                }
+            })).join();
+        }
+
+        Vertex[] points = new Vertex[n];
+        for (int v = 0; v < n; v++) {
+            points[v] = graph.getVertex(v);
+        }
+        return new Result(graph, new DistanceMatrix(points, d), next);
+    }
+
+    /**
+     * Distances initiales : 0 sur la diagonale, poids de l'arete la plus legere entre
+     * deux sommets voisins, infini sinon.
+     */
+    private static void initialize(CompactGraph graph, double[] d, int[] next, int n) {
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            d[v * n + v] = 0.0;
+            if (next != null) {
+                next[v * n + v] = v;
+            }
+        }
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            int u = graph.getEdgeTail(e);
+            int v = graph.getEdgeHead(e);
+            double w = graph.getWeight(e);
+            relaxEdge(d, next, n, u, v, w);
+            if (!graph.isDirected()) {
+                relaxEdge(d, next, n, v, u, w);
+            }
+        }
+    }
+
+    private static void relaxEdge(double[] d, int[] next, int n, int u, int v, double w) {
+        if (w < d[u * n + v]) {
+            d[u * n + v] = w;
+            if (next != null) {
+                next[u * n + v] = v;
+            }
+        }
+    }
+
+    /**
+     * Met a jour la tuile (ib, jb) en passant par les sommets intermediaires du bloc kb.
+     */
+    private static void updateTile(double[] d, int[] next, int n, int ib, int jb, int kb) {
+        int i0 = ib * BLOCK_SIZE;
+        int i1 = Math.min(i0 + BLOCK_SIZE, n);
+        int j0 = jb * BLOCK_SIZE;
+        int j1 = Math.min(j0 + BLOCK_SIZE, n);
+        int k0 = kb * BLOCK_SIZE;
+        int k1 = Math.min(k0 + BLOCK_SIZE, n);
+
+        for (int k = k0; k < k1; k++) {
+            int rowK = k * n;
+            for (int i = i0; i < i1; i++) {
+                int rowI = i * n;
+                double dik = d[rowI + k];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = j0; j < j1; j++) {
+                    double candidate = dik + d[rowK + j];
+                    if (candidate < d[rowI + j]) {
+                        d[rowI + j] = candidate;
+                        if (next != null) {
+                            next[rowI + j] = next[rowI + k];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
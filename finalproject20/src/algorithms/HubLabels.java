@@ -0,0 +1,475 @@
+package algorithms;
+
+import graph.*;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Oracle de distances par etiquetage de hubs (Pruned Landmark Labeling, Akiba et al.).
+ *
+ * Principe :
+ * - Chaque sommet u recoit une etiquette : une liste de couples (hub h, distance d(u, h)).
+ *   Pour tout couple (s, t), un sommet d'un plus court chemin s -> t figure dans
+ *   l'etiquette de s et dans celle de t
+ * - d(s, t) = min sur les hubs communs h de d(s, h) + d(h, t) : une simple fusion de
+ *   deux tableaux tries, sans aucun parcours du graphe
+ * - Construction : les sommets sont pris par degre decroissant ; depuis chacun on lance
+ *   un Dijkstra elague, qui s'arrete des que les etiquettes deja construites donnent
+ *   une distance aussi bonne (les sommets importants couvrent l'essentiel des chemins)
+ * - Graphe oriente : une etiquette sortante (distances vers les hubs) et une entrante
+ *   (distances depuis les hubs), construites par une recherche directe et une inversee
+ *
+ * Les etiquettes sont stockees dans des tableaux primitifs (format CSR, hubs tries par rang)
+ * et peuvent etre enregistrees puis relues par un fichier projete en memoire. Le fichier
+ * garde le nombre d'aretes et une empreinte des poids du graphe : matches() refuse des
+ * etiquettes relues pour un graphe dont une rue ou un poids a change.
+ */
+public class HubLabels {
+    private static final int MAGIC = 0x48554232; // "HUB2" (HUB1 : sans empreinte du graphe)
+
+    private final String[] vertexIds;
+    private final Map<String, Integer> indices;
+    private final boolean directed;
+    private final int edgeCount;
+    private final long weightChecksum;
+    private final int[] outOffsets;
+    private final int[] outHubs;
+    private final double[] outDistances;
+    private final int[] inOffsets;
+    private final int[] inHubs;
+    private final double[] inDistances;
+
+    private HubLabels(String[] vertexIds, boolean directed, int edgeCount, long weightChecksum,
+                      int[] outOffsets, int[] outHubs, double[] outDistances,
+                      int[] inOffsets, int[] inHubs, double[] inDistances) {
+        this.vertexIds = vertexIds;
+        this.directed = directed;
+        this.edgeCount = edgeCount;
+        this.weightChecksum = weightChecksum;
+        this.outOffsets = outOffsets;
+        this.outHubs = outHubs;
+        this.outDistances = outDistances;
+        this.inOffsets = inOffsets;
+        this.inHubs = inHubs;
+        this.inDistances = inDistances;
+        this.indices = new HashMap<>();
+        for (int i = 0; i < vertexIds.length; i++) {
+            indices.put(vertexIds[i], i);
+        }
+    }
+
+    /**
+     * Construit les etiquettes d'un graphe non oriente.
+     */
+    public static HubLabels build(UndirectedGraph graph) {
+        return build(CompactGraph.of(graph));
+    }
+
+    /**
+     * Construit les etiquettes d'un graphe oriente.
+     */
+    public static HubLabels build(DirectedGraph graph) {
+        return build(CompactGraph.of(graph));
+    }
+
+    /**
+     * Construit les etiquettes a partir de la representation compacte.
+     */
+    public static HubLabels build(CompactGraph graph) {
+        int n = graph.getVertexCount();
+        boolean directed = graph.isDirected();
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+        CompactGraph.Adjacency incoming = graph.getIncoming();
+
+        // Ordre des hubs : degre decroissant
+        Integer[] order = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            order[v] = v;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int degreeA = outgoing.degree(a) + (directed ? incoming.degree(a) : 0);
+            int degreeB = outgoing.degree(b) + (directed ? incoming.degree(b) : 0);
+            return degreeA != degreeB ? Integer.compare(degreeB, degreeA) : Integer.compare(a, b);
+        });
+
+        Label[] outLabels = new Label[n];
+        Label[] inLabels = directed ? new Label[n] : outLabels;
+        for (int v = 0; v < n; v++) {
+            outLabels[v] = new Label();
+            if (directed) {
+                inLabels[v] = new Label();
+            }
+        }
+
+        PrunedSearch search = new PrunedSearch(graph);
+        for (int rank = 0; rank < n; rank++) {
+            int hub = order[rank];
+            // Recherche directe : d(hub, u) va dans l'etiquette entrante de u
+            search.run(hub, rank, outgoing, outLabels[hub], inLabels);
+            if (directed) {
+                // Recherche inversee : d(u, hub) va dans l'etiquette sortante de u
+                search.run(hub, rank, incoming, inLabels[hub], outLabels);
+            }
+        }
+
+        String[] ids = new String[n];
+        for (int v = 0; v < n; v++) {
+            ids[v] = graph.getVertex(v).getId();
+        }
+        int[] outOffsets = offsets(outLabels);
+        int[] outHubs = new int[outOffsets[n]];
+        double[] outDistances = new double[outOffsets[n]];
+        flatten(outLabels, outOffsets, outHubs, outDistances);
+        int m = graph.getEdgeCount();
+        long checksum = weightChecksum(graph);
+        if (!directed) {
+            return new HubLabels(ids, false, m, checksum,
+                                 outOffsets, outHubs, outDistances, outOffsets, outHubs, outDistances);
+        }
+        int[] inOffsets = offsets(inLabels);
+        int[] inHubs = new int[inOffsets[n]];
+        double[] inDistances = new double[inOffsets[n]];
+        flatten(inLabels, inOffsets, inHubs, inDistances);
+        return new HubLabels(ids, true, m, checksum, outOffsets, outHubs, outDistances, inOffsets, inHubs, inDistances);
+    }
+
+    /**
+     * Empreinte des aretes et de leurs poids, independante de la numerotation des sommets
+     * et de l'ordre des aretes : somme d'un melange 64 bits de (extremites, poids) par arete,
+     * extremites d'une arete non orientee prises dans l'ordre de leurs identifiants.
+     */
+    private static long weightChecksum(CompactGraph graph) {
+        long checksum = 0;
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            String tail = graph.getVertex(graph.getEdgeTail(e)).getId();
+            String head = graph.getVertex(graph.getEdgeHead(e)).getId();
+            if (!graph.isDirected() && tail.compareTo(head) > 0) {
+                String swap = tail;
+                tail = head;
+                head = swap;
+            }
+            long h = tail.hashCode() * 0x9E3779B97F4A7C15L + head.hashCode();
+            h = h * 0xC2B2AE3D27D4EB4FL + Double.doubleToLongBits(graph.getWeight(e));
+            // Finaliseur de SplitMix64 : une petite difference donne une empreinte sans rapport
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            checksum += h ^ (h >>> 31);
+        }
+        return checksum;
+    }
+
+    private static int[] offsets(Label[] labels) {
+        int[] offsets = new int[labels.length + 1];
+        for (int v = 0; v < labels.length; v++) {
+            offsets[v + 1] = offsets[v] + labels[v].size;
+        }
+        return offsets;
+    }
+
+    private static void flatten(Label[] labels, int[] offsets, int[] hubs, double[] distances) {
+        for (int v = 0; v < labels.length; v++) {
+            System.arraycopy(labels[v].hubs, 0, hubs, offsets[v], labels[v].size);
+            System.arraycopy(labels[v].distances, 0, distances, offsets[v], labels[v].size);
+        }
+    }
+
+    /**
+     * Distance de from vers to (infini si inaccessible ou si un sommet est inconnu).
+     */
+    public double getDistance(Vertex from, Vertex to) {
+        return getDistance(from.getId(), to.getId());
+    }
+
+    /**
+     * Distance entre deux sommets designes par leur identifiant.
+     */
+    public double getDistance(String fromId, String toId) {
+        Integer from = indices.get(fromId);
+        Integer to = indices.get(toId);
+        if (from == null || to == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return getDistance(from, to);
+    }
+
+    /**
+     * Distance entre deux sommets designes par leur indice : fusion de deux etiquettes triees.
+     */
+    public double getDistance(int from, int to) {
+        int i = outOffsets[from];
+        int iEnd = outOffsets[from + 1];
+        int j = inOffsets[to];
+        int jEnd = inOffsets[to + 1];
+        double best = Double.POSITIVE_INFINITY;
+        while (i < iEnd && j < jEnd) {
+            int hubI = outHubs[i];
+            int hubJ = inHubs[j];
+            if (hubI == hubJ) {
+                best = Math.min(best, outDistances[i] + inDistances[j]);
+                i++;
+                j++;
+            } else if (hubI < hubJ) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Retourne l'indice du sommet d'identifiant donne, ou -1.
+     */
+    public int indexOf(String vertexId) {
+        Integer index = indices.get(vertexId);
+        return index == null ? -1 : index;
+    }
+
+    public int getVertexCount() {
+        return vertexIds.length;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Retourne la taille moyenne d'une etiquette (sortante et entrante cumulees pour un graphe oriente).
+     */
+    public double getAverageLabelSize() {
+        int n = vertexIds.length;
+        if (n == 0) {
+            return 0.0;
+        }
+        long entries = outHubs.length + (directed ? inHubs.length : 0);
+        return (double) entries / n;
+    }
+
+    /**
+     * Verifie que les etiquettes ont ete construites pour ce graphe : meme type, memes
+     * sommets, meme nombre d'aretes et meme empreinte des extremites et des poids.
+     */
+    public boolean matches(Graph graph) {
+        if (directed != (graph instanceof DirectedGraph) || graph.getVertexCount() != vertexIds.length
+                || graph.getEdgeCount() != edgeCount) {
+            return false;
+        }
+        for (String id : vertexIds) {
+            if (graph.getVertex(id) == null) {
+                return false;
+            }
+        }
+        CompactGraph compact;
+        if (graph instanceof DirectedGraph) {
+            compact = CompactGraph.of((DirectedGraph) graph);
+        } else if (graph instanceof UndirectedGraph) {
+            compact = CompactGraph.of((UndirectedGraph) graph);
+        } else {
+            return false;
+        }
+        return weightChecksum(compact) == weightChecksum;
+    }
+
+    /**
+     * Enregistre les etiquettes dans un fichier projete en memoire.
+     *
+     * Format (entiers gros-boutistes) : MAGIC, oriente (0/1), n, nombre d'aretes, empreinte
+     * des poids (long), puis pour chaque sommet
+     * la longueur et les octets UTF-8 de son identifiant, puis une (ou deux) etiquettes
+     * au format CSR : n + 1 decalages, les hubs (int) et les distances (double).
+     */
+    public void save(Path file) throws IOException {
+        int n = vertexIds.length;
+        byte[][] encodedIds = new byte[n][];
+        long size = 4 * Integer.BYTES + Long.BYTES;
+        for (int v = 0; v < n; v++) {
+            encodedIds[v] = vertexIds[v].getBytes(StandardCharsets.UTF_8);
+            size += Integer.BYTES + encodedIds[v].length;
+        }
+        size += labelBytes(outOffsets);
+        if (directed) {
+            size += labelBytes(inOffsets);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putInt(directed ? 1 : 0);
+            buffer.putInt(n);
+            buffer.putInt(edgeCount);
+            buffer.putLong(weightChecksum);
+            for (byte[] id : encodedIds) {
+                buffer.putInt(id.length);
+                buffer.put(id);
+            }
+            writeLabel(buffer, outOffsets, outHubs, outDistances);
+            if (directed) {
+                writeLabel(buffer, inOffsets, inHubs, inDistances);
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Relit des etiquettes enregistrees par save().
+     *
+     * @throws IOException si le fichier est illisible ou n'est pas un fichier d'etiquettes
+     */
+    public static HubLabels load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 4 * Integer.BYTES + Long.BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Fichier d'etiquettes invalide : " + file);
+            }
+            boolean directed = buffer.getInt() == 1;
+            int n = buffer.getInt();
+            int m = buffer.getInt();
+            long checksum = buffer.getLong();
+            String[] ids = new String[n];
+            for (int v = 0; v < n; v++) {
+                byte[] id = new byte[buffer.getInt()];
+                buffer.get(id);
+                ids[v] = new String(id, StandardCharsets.UTF_8);
+            }
+
+            int[] outOffsets = readInts(buffer, n + 1);
+            int[] outHubs = readInts(buffer, outOffsets[n]);
+            double[] outDistances = readDoubles(buffer, outOffsets[n]);
+            if (!directed) {
+                return new HubLabels(ids, false, m, checksum,
+                                     outOffsets, outHubs, outDistances, outOffsets, outHubs, outDistances);
+            }
+            int[] inOffsets = readInts(buffer, n + 1);
+            int[] inHubs = readInts(buffer, inOffsets[n]);
+            double[] inDistances = readDoubles(buffer, inOffsets[n]);
+            return new HubLabels(ids, true, m, checksum, outOffsets, outHubs, outDistances, inOffsets, inHubs, inDistances);
+        } catch (RuntimeException e) {
+            // Fichier tronque ou corrompu (BufferUnderflowException, taille negative...)
+            throw new IOException("Fichier d'etiquettes invalide : " + file, e);
+        }
+    }
+
+    private static long labelBytes(int[] offsets) {
+        int entries = offsets[offsets.length - 1];
+        return (long) offsets.length * Integer.BYTES + (long) entries * (Integer.BYTES + Double.BYTES);
+    }
+
+    private static void writeLabel(MappedByteBuffer buffer, int[] offsets, int[] hubs, double[] distances) {
+        buffer.asIntBuffer().put(offsets);
+        buffer.position(buffer.position() + offsets.length * Integer.BYTES);
+        buffer.asIntBuffer().put(hubs);
+        buffer.position(buffer.position() + hubs.length * Integer.BYTES);
+        buffer.asDoubleBuffer().put(distances);
+        buffer.position(buffer.position() + distances.length * Double.BYTES);
+    }
+
+    private static int[] readInts(MappedByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static double[] readDoubles(MappedByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * Double.BYTES);
+        return values;
+    }
+
+    /**
+     * Etiquette en construction : hubs (rangs croissants) et distances.
+     */
+    private static class Label {
+        int[] hubs = new int[4];
+        double[] distances = new double[4];
+        int size = 0;
+
+        void add(int hub, double distance) {
+            if (size == hubs.length) {
+                hubs = Arrays.copyOf(hubs, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            hubs[size] = hub;
+            distances[size] = distance;
+            size++;
+        }
+    }
+
+    /**
+     * Dijkstra elague depuis un hub, avec tableaux reutilises d'un hub a l'autre.
+     */
+    private static class PrunedSearch {
+        private final CompactGraph graph;
+        private final double[] distances;
+        private final int[] visited;
+        private final double[] hubDistances;
+        private final IndexedMinHeap queue;
+        private int stamp;
+
+        PrunedSearch(CompactGraph graph) {
+            int n = graph.getVertexCount();
+            this.graph = graph;
+            this.distances = new double[n];
+            this.visited = new int[n];
+            this.hubDistances = new double[n];
+            this.queue = new IndexedMinHeap(n);
+            Arrays.fill(hubDistances, Double.POSITIVE_INFINITY);
+            this.stamp = 0;
+        }
+
+        /**
+         * @param hub Le sommet depuis lequel on cherche
+         * @param rank Son rang (identifiant de hub dans les etiquettes)
+         * @param adjacency Sens de parcours
+         * @param hubLabel Etiquette du hub du cote oppose (distances deja connues depuis/vers le hub)
+         * @param targetLabels Etiquettes a completer
+         */
+        void run(int hub, int rank, CompactGraph.Adjacency adjacency, Label hubLabel, Label[] targetLabels) {
+            stamp++;
+            for (int i = 0; i < hubLabel.size; i++) {
+                hubDistances[hubLabel.hubs[i]] = hubLabel.distances[i];
+            }
+
+            visited[hub] = stamp;
+            distances[hub] = 0.0;
+            queue.insertOrDecrease(hub, 0.0);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                double distanceU = distances[u];
+
+                // Elagage : les etiquettes existantes donnent deja une distance aussi bonne
+                Label label = targetLabels[u];
+                boolean covered = false;
+                for (int i = 0; i < label.size && !covered; i++) {
+                    covered = hubDistances[label.hubs[i]] + label.distances[i] <= distanceU;
+                }
+                if (covered) {
+                    continue;
+                }
+                label.add(rank, distanceU);
+
+                for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                    int v = adjacency.target(slot);
+                    double newDistance = distanceU + graph.getWeight(adjacency.edgeId(slot));
+                    if (visited[v] != stamp || newDistance < distances[v]) {
+                        visited[v] = stamp;
+                        distances[v] = newDistance;
+                        queue.insertOrDecrease(v, newDistance);
+                    }
+                }
+            }
+
+            for (int i = 0; i < hubLabel.size; i++) {
+                hubDistances[hubLabel.hubs[i]] = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+}
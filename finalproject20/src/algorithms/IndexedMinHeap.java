@@ -0,0 +1,127 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * File de priorite binaire indexee sur des sommets numerotes de 0 a n-1.
+ *
+ * Contrairement a PriorityQueue, chaque sommet apparait au plus une fois :
+ * une amelioration de distance fait remonter l'element existant (decrease-key)
+ * au lieu d'ajouter un nouvel objet. Aucune allocation pendant la recherche.
+ */
+class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, -1);
+        this.size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int item) {
+        return positions[item] >= 0;
+    }
+
+    /**
+     * Retourne la plus petite cle sans retirer l'element.
+     */
+    double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Insere l'element, ou diminue sa cle s'il est deja present.
+     */
+    void insertOrDecrease(int item, double key) {
+        int pos = positions[item];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = item;
+            positions[item] = pos;
+            keys[item] = key;
+            siftUp(pos);
+        } else if (key < keys[item]) {
+            keys[item] = key;
+            siftUp(pos);
+        }
+    }
+
+    /**
+     * Retire et retourne l'element de cle minimale.
+     */
+    int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Vide la file en ne touchant que les elements encore presents.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int item = heap[pos];
+        double key = keys[item];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parent = heap[parentPos];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[pos] = parent;
+            positions[parent] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = item;
+        positions[item] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int item = heap[pos];
+        double key = keys[item];
+        int half = size >>> 1;
+        while (pos < half) {
+            int childPos = 2 * pos + 1;
+            int child = heap[childPos];
+            int rightPos = childPos + 1;
+            if (rightPos < size && keys[heap[rightPos]] < keys[child]) {
+                childPos = rightPos;
+                child = heap[childPos];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[pos] = child;
+            positions[child] = pos;
+            pos = childPos;
+        }
+        heap[pos] = item;
+        positions[item] = pos;
+    }
+}
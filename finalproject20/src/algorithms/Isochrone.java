@@ -0,0 +1,154 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Requetes de portee (isochrones) : tous les sommets a une distance au plus egale
+ * a un budget donne d'un depot.
+ *
+ * Principe :
+ * - Dijkstra borne : un sommet n'entre dans la file que si sa distance provisoire
+ *   respecte le budget, la recherche s'arrete donc au bord de la zone
+ * - Les tableaux de travail sont alloues une seule fois par instance et reutilises
+ *   d'une requete a l'autre sans remise a zero (tampons)
+ *
+ * Le cout d'une requete est proportionnel a la taille de la zone atteinte, pas a celle
+ * du graphe : pour des requetes interactives, construire une instance une fois et
+ * appeler reachableFrom / reachingTo autant de fois que necessaire.
+ */
+public class Isochrone {
+    private final CompactGraph graph;
+    private final SearchWorkspace workspace;
+
+    /**
+     * Resultat d'une requete : sommets atteints par distance croissante, et leurs distances.
+     */
+    public static class Result {
+        private final CompactGraph graph;
+        private final int[] vertices;
+        private final double[] distances;
+
+        Result(CompactGraph graph, int[] vertices, double[] distances) {
+            this.graph = graph;
+            this.vertices = vertices;
+            this.distances = distances;
+        }
+
+        /**
+         * Retourne le nombre de sommets atteints (depot compris).
+         */
+        public int size() {
+            return vertices.length;
+        }
+
+        public Vertex getVertex(int position) {
+            return graph.getVertex(vertices[position]);
+        }
+
+        public int getVertexIndex(int position) {
+            return vertices[position];
+        }
+
+        public double getDistance(int position) {
+            return distances[position];
+        }
+
+        /**
+         * Retourne les indices des sommets atteints (copie).
+         */
+        public int[] getVertexIndices() {
+            return vertices.clone();
+        }
+
+        /**
+         * Retourne les distances, alignees sur getVertexIndices() (copie).
+         */
+        public double[] getDistances() {
+            return distances.clone();
+        }
+
+        /**
+         * Retourne les sommets atteints, par distance croissante.
+         */
+        public List<Vertex> getVertices() {
+            List<Vertex> result = new ArrayList<>(vertices.length);
+            for (int v : vertices) {
+                result.add(graph.getVertex(v));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Prepare des requetes repetees sur un graphe compact.
+     */
+    public Isochrone(CompactGraph graph) {
+        this.graph = graph;
+        this.workspace = new SearchWorkspace(graph.getVertexCount());
+    }
+
+    /**
+     * Sommets d'un graphe non oriente a distance au plus budget du depot (requete isolee).
+     *
+     * @param graph Le graphe non oriente
+     * @param depot Le depot
+     * @param budget La distance maximale
+     * @return Les sommets atteints et leurs distances
+     */
+    public static Result reachableWithin(UndirectedGraph graph, Vertex depot, double budget) {
+        return new Isochrone(CompactGraph.of(graph)).reachableFrom(depot, budget);
+    }
+
+    /**
+     * Sommets d'un graphe oriente atteignables depuis le depot avec au plus budget (requete isolee).
+     *
+     * @param graph Le graphe oriente
+     * @param depot Le depot
+     * @param budget La distance maximale
+     * @return Les sommets atteints et leurs distances
+     */
+    public static Result reachableWithin(DirectedGraph graph, Vertex depot, double budget) {
+        return new Isochrone(CompactGraph.of(graph)).reachableFrom(depot, budget);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Sommets atteignables depuis depot avec une distance au plus egale a budget.
+     */
+    public synchronized Result reachableFrom(Vertex depot, double budget) {
+        return query(depot, budget, false);
+    }
+
+    /**
+     * Sommets depuis lesquels on atteint depot avec une distance au plus egale a budget
+     * (identique a reachableFrom pour un graphe non oriente).
+     */
+    public synchronized Result reachingTo(Vertex depot, double budget) {
+        return query(depot, budget, true);
+    }
+
+    private Result query(Vertex depot, double budget, boolean reverse) {
+        int root = graph.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt n'existe pas dans le graphe");
+        }
+        if (budget < 0 || Double.isNaN(budget)) {
+            throw new IllegalArgumentException("Le budget doit etre positif ou nul");
+        }
+
+        IntList reached = new IntList();
+        workspace.withinBudget(graph, root, reverse, budget, reached);
+
+        int[] vertices = reached.toArray();
+        double[] distances = new double[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            distances[i] = workspace.distance(vertices[i]);
+        }
+        return new Result(graph, vertices, distances);
+    }
+}
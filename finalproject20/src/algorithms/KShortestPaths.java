@@ -0,0 +1,340 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Les k plus courts chemins sans boucle entre deux sommets (algorithme de Yen).
+ *
+ * Principe de Yen :
+ * 1. Le premier chemin est le plus court chemin
+ * 2. Pour obtenir le chemin suivant, on devie du precedent en chacun de ses sommets
+ *    (sommet de deviation) : on garde le debut du chemin (racine), on interdit les
+ *    arcs deja empruntes par les chemins de meme racine et les sommets de la racine,
+ *    puis on cherche le plus court chemin du sommet de deviation vers la destination
+ * 3. Le meilleur candidat non encore retenu devient le chemin suivant
+ *
+ * Optimisations :
+ * - Les recherches de deviation sont des A* guides par l'arbre inverse enracine en la
+ *   destination (distances exactes vers la destination dans le graphe complet, donc une
+ *   heuristique admissible et coherente meme avec des arcs interdits). Cet arbre est
+ *   calcule une seule fois, ou lu dans un ShortestPathCache
+ * - Les deviations d'un meme chemin sont independantes et calculees en parallele
+ */
+public class KShortestPaths {
+
+    /**
+     * Un chemin et sa longueur.
+     */
+    public static class Path {
+        private final CompactPath path;
+        private final double distance;
+
+        Path(CompactPath path, double distance) {
+            this.path = path;
+            this.distance = distance;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        public CompactPath getCompactPath() {
+            return path;
+        }
+
+        /**
+         * Retourne la suite des sommets du chemin.
+         */
+        public List<Vertex> getVertices() {
+            return path.asList();
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + distance + ")";
+        }
+    }
+
+    /**
+     * Calcule les k plus courts chemins sans boucle de from vers to dans un graphe non oriente.
+     *
+     * @param graph Le graphe non oriente
+     * @param from Le sommet de depart
+     * @param to Le sommet d'arrivee
+     * @param k Le nombre de chemins voulus
+     * @return Au plus k chemins, par longueur croissante (vide si to est inaccessible)
+     */
+    public static List<Path> find(UndirectedGraph graph, Vertex from, Vertex to, int k) {
+        CompactGraph compact = CompactGraph.of(graph);
+        return find(Dijkstra.shortestPathTreeTo(compact, to), from, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcule les k plus courts chemins sans boucle de from vers to dans un graphe oriente.
+     *
+     * @param graph Le graphe oriente
+     * @param from Le sommet de depart
+     * @param to Le sommet d'arrivee
+     * @param k Le nombre de chemins voulus
+     * @return Au plus k chemins, par longueur croissante (vide si to est inaccessible)
+     */
+    public static List<Path> find(DirectedGraph graph, Vertex from, Vertex to, int k) {
+        CompactGraph compact = CompactGraph.of(graph);
+        return find(Dijkstra.shortestPathTreeTo(compact, to), from, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Variante utilisant l'arbre inverse en cache pour la destination.
+     */
+    public static List<Path> find(ShortestPathCache cache, Vertex from, Vertex to, int k) {
+        return find(cache.getReverseTree(to), from, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcule les k plus courts chemins de from vers la racine d'un arbre inverse.
+     *
+     * @param reverseTree Arbre inverse enracine en la destination
+     * @param from Le sommet de depart
+     * @param k Le nombre de chemins voulus
+     * @param pool Le pool utilise pour les recherches de deviation
+     * @return Au plus k chemins, par longueur croissante
+     */
+    public static List<Path> find(ShortestPathTree reverseTree, Vertex from, int k, ForkJoinPool pool) {
+        if (!reverseTree.isReverse()) {
+            throw new IllegalArgumentException("Un arbre inverse (enracine en la destination) est attendu");
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException("k doit etre au moins 1");
+        }
+        CompactGraph graph = reverseTree.getGraph();
+        if (graph.indexOf(from) < 0) {
+            throw new IllegalArgumentException("Le sommet source n'existe pas dans le graphe");
+        }
+
+        List<Path> accepted = new ArrayList<>();
+        CompactPath first = reverseTree.getCompactPath(from);
+        if (first.isEmpty()) {
+            return accepted; // Destination inaccessible
+        }
+        accepted.add(new Path(first, reverseTree.getDistance(from)));
+
+        PriorityQueue<Path> candidates = new PriorityQueue<>(
+            Comparator.comparingDouble(Path::getDistance).thenComparingInt(p -> p.getCompactPath().size()));
+        Set<PathKey> known = new HashSet<>();
+        known.add(new PathKey(first.toIndexArray()));
+        ConcurrentLinkedQueue<SpurSearch> workspaces = new ConcurrentLinkedQueue<>();
+
+        while (accepted.size() < k) {
+            int[] previous = accepted.get(accepted.size() - 1).getCompactPath().toIndexArray();
+            double[] prefixCosts = prefixCosts(graph, previous);
+            int spurCount = previous.length - 1;
+            Path[] spurPaths = new Path[spurCount];
+
+            pool.submit(() -> IntStream.range(0, spurCount).parallel().forEach(i -> {
+                SpurSearch search = workspaces.poll();
+                if (search == null) {
+                    search = new SpurSearch(reverseTree);
+                }
+                spurPaths[i] = search.deviate(previous, i, prefixCosts[i], accepted);
+                workspaces.offer(search);
+            })).join();
+
+            for (Path candidate : spurPaths) {
+                if (candidate != null && known.add(new PathKey(candidate.getCompactPath().toIndexArray()))) {
+                    candidates.add(candidate);
+                }
+            }
+            if (candidates.isEmpty()) {
+                break; // Plus aucun chemin sans boucle
+            }
+            accepted.add(candidates.poll());
+        }
+        return accepted;
+    }
+
+    /**
+     * Longueur de chaque prefixe du chemin (arc le plus leger entre deux sommets consecutifs).
+     */
+    private static double[] prefixCosts(CompactGraph graph, int[] path) {
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+        double[] costs = new double[path.length];
+        for (int i = 1; i < path.length; i++) {
+            double lightest = Double.POSITIVE_INFINITY;
+            for (int slot = outgoing.start(path[i - 1]); slot < outgoing.end(path[i - 1]); slot++) {
+                if (outgoing.target(slot) == path[i]) {
+                    lightest = Math.min(lightest, graph.getWeight(outgoing.edgeId(slot)));
+                }
+            }
+            costs[i] = costs[i - 1] + lightest;
+        }
+        return costs;
+    }
+
+    /**
+     * Tableaux de travail d'une recherche A* de deviation ; une instance par thread a la fois.
+     */
+    private static class SpurSearch {
+        private final CompactGraph graph;
+        private final ShortestPathTree reverseTree;
+        private final int target;
+        private final double[] distances;
+        private final int[] predecessors;
+        private final int[] visited;
+        private final int[] blocked;
+        private final IndexedMinHeap queue;
+        private int stamp;
+
+        SpurSearch(ShortestPathTree reverseTree) {
+            this.graph = reverseTree.getGraph();
+            this.reverseTree = reverseTree;
+            this.target = reverseTree.getSourceIndex();
+            int n = graph.getVertexCount();
+            this.distances = new double[n];
+            this.predecessors = new int[n];
+            this.visited = new int[n];
+            this.blocked = new int[n];
+            this.queue = new IndexedMinHeap(n);
+            this.stamp = 0;
+        }
+
+        /**
+         * Devie du chemin previous en sa position spurIndex.
+         *
+         * @return Le chemin candidat, ou null s'il n'existe pas de deviation
+         */
+        Path deviate(int[] previous, int spurIndex, double rootCost, List<Path> accepted) {
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                Arrays.fill(blocked, 0);
+                stamp = 0;
+            }
+            stamp++;
+            int spur = previous[spurIndex];
+
+            // Sommets de la racine interdits (sauf le sommet de deviation)
+            for (int i = 0; i < spurIndex; i++) {
+                blocked[previous[i]] = stamp;
+            }
+
+            // Arcs interdits : le successeur du sommet de deviation sur chaque chemin de meme racine
+            IntList forbidden = new IntList();
+            for (Path path : accepted) {
+                CompactPath other = path.getCompactPath();
+                if (other.size() > spurIndex + 1 && sameRoot(other, previous, spurIndex)) {
+                    forbidden.add(other.getVertexIndex(spurIndex + 1));
+                }
+            }
+
+            int[] spurPath = search(spur, forbidden);
+            if (spurPath == null) {
+                return null;
+            }
+
+            int[] vertices = new int[spurIndex + spurPath.length];
+            System.arraycopy(previous, 0, vertices, 0, spurIndex);
+            System.arraycopy(spurPath, 0, vertices, spurIndex, spurPath.length);
+            return new Path(new CompactPath(graph, vertices), rootCost + distances[target]);
+        }
+
+        private static boolean sameRoot(CompactPath path, int[] root, int length) {
+            for (int i = 0; i <= length; i++) {
+                if (path.getVertexIndex(i) != root[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * A* du sommet de deviation vers la destination, heuristique = distance exacte vers
+         * la destination dans le graphe sans interdiction.
+         */
+        private int[] search(int spur, IntList forbidden) {
+            if (reverseTree.getDistance(spur) == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+            CompactGraph.Adjacency outgoing = graph.getOutgoing();
+            visited[spur] = stamp;
+            distances[spur] = 0.0;
+            predecessors[spur] = -1;
+            queue.insertOrDecrease(spur, reverseTree.getDistance(spur));
+
+            boolean found = false;
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                if (u == target) {
+                    found = true;
+                    break;
+                }
+                for (int slot = outgoing.start(u); slot < outgoing.end(u); slot++) {
+                    int v = outgoing.target(slot);
+                    if (blocked[v] == stamp || (u == spur && contains(forbidden, v))) {
+                        continue;
+                    }
+                    double estimate = reverseTree.getDistance(v);
+                    if (estimate == Double.POSITIVE_INFINITY) {
+                        continue; // La destination est inaccessible depuis v
+                    }
+                    double newDistance = distances[u] + graph.getWeight(outgoing.edgeId(slot));
+                    if (visited[v] != stamp || newDistance < distances[v]) {
+                        visited[v] = stamp;
+                        distances[v] = newDistance;
+                        predecessors[v] = u;
+                        queue.insertOrDecrease(v, newDistance + estimate);
+                    }
+                }
+            }
+            queue.clear();
+            if (!found) {
+                return null;
+            }
+
+            int length = 0;
+            for (int current = target; current >= 0; current = predecessors[current]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int current = target, position = length - 1; current >= 0; current = predecessors[current]) {
+                path[position--] = current;
+            }
+            return path;
+        }
+
+        private static boolean contains(IntList list, int value) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cle de hachage d'un chemin (suite d'indices), pour ecarter les candidats en double.
+     */
+    private static class PathKey {
+        private final int[] vertices;
+        private final int hash;
+
+        PathKey(int[] vertices) {
+            this.vertices = vertices;
+            this.hash = Arrays.hashCode(vertices);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof PathKey && Arrays.equals(vertices, ((PathKey) obj).vertices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Vue "graphe complet" d'une matrice de distances symetrique (fermeture metrique).
+ *
+ * Deux sommets quelconques sont relies par une arete dont le poids est la distance
+ * du plus court chemin dans le graphe d'origine. Les aretes ne sont creees qu'a la
+ * demande, puis conservees pour que la meme arete soit toujours le meme objet.
+ *
+ * La vue est en lecture seule : addVertex et addEdge levent une exception.
+ */
+public class MetricClosureGraph extends UndirectedGraph {
+    private final DistanceMatrix distances;
+    private final Edge[][] edgeRows;
+    private final int edgeCount;
+
+    MetricClosureGraph(DistanceMatrix distances) {
+        this.distances = distances;
+        int k = distances.size();
+        for (int i = 0; i < k; i++) {
+            super.addVertex(distances.getPoint(i));
+        }
+
+        int count = 0;
+        for (int i = 0; i < k; i++) {
+            for (int j = i + 1; j < k; j++) {
+                if (distances.get(i, j) != Double.POSITIVE_INFINITY) {
+                    count++;
+                }
+            }
+        }
+        this.edgeRows = new Edge[k][];
+        this.edgeCount = count;
+    }
+
+    public DistanceMatrix getDistanceMatrix() {
+        return distances;
+    }
+
+    @Override
+    public void addVertex(Vertex vertex) {
+        throw new UnsupportedOperationException("La fermeture metrique est en lecture seule");
+    }
+
+    @Override
+    public void addEdge(Vertex from, Vertex to, double weight) {
+        throw new UnsupportedOperationException("La fermeture metrique est en lecture seule");
+    }
+
+    @Override
+    public void setWeight(Vertex from, Vertex to, double weight) {
+        throw new UnsupportedOperationException("La fermeture metrique est en lecture seule");
+    }
+
+    @Override
+    public double getWeight(Vertex from, Vertex to) {
+        int i = distances.indexOf(from);
+        int j = distances.indexOf(to);
+        if (i < 0 || j < 0 || i == j) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distances.get(i, j);
+    }
+
+    @Override
+    public List<Vertex> getNeighbors(Vertex vertex) {
+        List<Vertex> neighbors = new ArrayList<>();
+        int i = distances.indexOf(vertex);
+        if (i < 0) {
+            return neighbors;
+        }
+        for (int j = 0; j < distances.size(); j++) {
+            if (j != i && distances.get(i, j) != Double.POSITIVE_INFINITY) {
+                neighbors.add(distances.getPoint(j));
+            }
+        }
+        return neighbors;
+    }
+
+    @Override
+    public List<Edge> getEdges(Vertex vertex) {
+        List<Edge> edges = new ArrayList<>();
+        int i = distances.indexOf(vertex);
+        if (i < 0) {
+            return edges;
+        }
+        for (int j = 0; j < distances.size(); j++) {
+            if (j != i && distances.get(i, j) != Double.POSITIVE_INFINITY) {
+                edges.add(getEdge(i, j));
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public List<Edge> getAllEdges() {
+        List<Edge> edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < distances.size(); i++) {
+            for (int j = i + 1; j < distances.size(); j++) {
+                if (distances.get(i, j) != Double.POSITIVE_INFINITY) {
+                    edges.add(getEdge(i, j));
+                }
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getDegree(Vertex vertex) {
+        return getNeighbors(vertex).size();
+    }
+
+    /**
+     * Retourne l'arete entre les points i et j, creee au premier acces.
+     * Elle est rangee dans la ligne du plus petit indice.
+     */
+    private Edge getEdge(int i, int j) {
+        int low = Math.min(i, j);
+        int high = Math.max(i, j);
+        if (edgeRows[low] == null) {
+            edgeRows[low] = new Edge[distances.size()];
+        }
+        Edge edge = edgeRows[low][high];
+        if (edge == null) {
+            edge = new Edge(distances.getPoint(low), distances.getPoint(high), distances.get(low, high));
+            edgeRows[low][high] = edge;
+        }
+        return edge;
+    }
+}
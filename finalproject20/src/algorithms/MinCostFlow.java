@@ -0,0 +1,376 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Flot de cout minimal par plus courts chemins successifs avec potentiels (primal-dual).
+ *
+ * Principe :
+ * - Les offres (supply > 0) et demandes (supply < 0) des noeuds sont reliees a une source
+ *   et a un puits fictifs
+ * - A chaque phase, un Dijkstra sur les couts reduits (cout + pi[u] - pi[v] >= 0) donne la
+ *   distance de la source a chaque noeud ; les potentiels sont mis a jour avec ces distances
+ * - Le flot est alors augmente par un parcours en profondeur vers TOUS les noeuds en demande
+ *   accessibles par des arcs de cout reduit nul, et non le long d'un seul chemin : le nombre
+ *   de phases reste petit devant le volume du flot
+ *
+ * Les couts sont des entiers long (positifs ou nuls) : les couts reduits sont exacts et le
+ * test "cout reduit nul" ne depend d'aucune tolerance. Un appelant qui a des poids reels les
+ * met a l'echelle (voir scaleCosts).
+ *
+ * Le reseau est construit une fois (addArc), puis solve() calcule le flot ; getFlow(arc)
+ * donne ensuite le flot de chaque arc.
+ */
+public class MinCostFlow {
+    /** Capacite d'un arc sans limite */
+    public static final long UNBOUNDED = Long.MAX_VALUE / 4;
+
+    private final int nodeCount;
+    private final long[] supplies;
+    private int arcCount;
+    private int[] tails;
+    private int[] heads;
+    private long[] capacities;
+    private long[] costs;
+    private long[] flows;
+    private boolean solved;
+
+    /**
+     * Cree un reseau vide de nodeCount noeuds (numerotes de 0 a nodeCount - 1).
+     */
+    public MinCostFlow(int nodeCount) {
+        if (nodeCount < 0) {
+            throw new IllegalArgumentException("Le nombre de noeuds doit etre positif");
+        }
+        this.nodeCount = nodeCount;
+        this.supplies = new long[nodeCount];
+        this.tails = new int[16];
+        this.heads = new int[16];
+        this.capacities = new long[16];
+        this.costs = new long[16];
+        this.arcCount = 0;
+    }
+
+    /**
+     * Ajoute un arc et retourne son identifiant (0, 1, 2... dans l'ordre d'ajout).
+     *
+     * @param capacity Capacite de l'arc (UNBOUNDED si illimitee)
+     * @param cost Cout par unite de flot (positif ou nul)
+     */
+    public int addArc(int from, int to, long capacity, long cost) {
+        if (solved) {
+            throw new IllegalStateException("Le flot a deja ete calcule");
+        }
+        checkNode(from);
+        checkNode(to);
+        if (capacity < 0 || cost < 0) {
+            throw new IllegalArgumentException("La capacite et le cout d'un arc doivent etre positifs");
+        }
+        if (arcCount == tails.length) {
+            int newLength = 2 * arcCount;
+            tails = Arrays.copyOf(tails, newLength);
+            heads = Arrays.copyOf(heads, newLength);
+            capacities = Arrays.copyOf(capacities, newLength);
+            costs = Arrays.copyOf(costs, newLength);
+        }
+        tails[arcCount] = from;
+        heads[arcCount] = to;
+        capacities[arcCount] = Math.min(capacity, UNBOUNDED);
+        costs[arcCount] = cost;
+        return arcCount++;
+    }
+
+    /**
+     * Fixe l'offre d'un noeud : positive s'il doit emettre du flot, negative s'il doit en recevoir.
+     */
+    public void setSupply(int node, long supply) {
+        checkNode(node);
+        supplies[node] = supply;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Calcule un flot de cout minimal satisfaisant toutes les offres et demandes.
+     *
+     * @return Le cout total du flot
+     * @throws IllegalStateException si les offres ne peuvent pas toutes etre acheminees
+     *         (offre et demande totales differentes, ou capacites insuffisantes)
+     */
+    public long solve() {
+        if (solved) {
+            throw new IllegalStateException("Le flot a deja ete calcule");
+        }
+        long totalSupply = 0;
+        long totalDemand = 0;
+        for (long supply : supplies) {
+            if (supply > 0) {
+                totalSupply += supply;
+            } else {
+                totalDemand -= supply;
+            }
+        }
+        if (totalSupply != totalDemand) {
+            throw new IllegalStateException("L'offre totale (" + totalSupply
+                + ") differe de la demande totale (" + totalDemand + ")");
+        }
+
+        Residual residual = new Residual();
+        long routed = residual.run(totalSupply);
+        solved = true;
+        flows = new long[arcCount];
+        long totalCost = 0;
+        for (int arc = 0; arc < arcCount; arc++) {
+            flows[arc] = residual.capacity[2 * arc + 1];
+            totalCost += flows[arc] * costs[arc];
+        }
+        if (routed < totalSupply) {
+            throw new IllegalStateException("Impossible d'acheminer tout le flot (" + routed
+                + " unites sur " + totalSupply + ")");
+        }
+        return totalCost;
+    }
+
+    /**
+     * Retourne le flot de l'arc donne (apres solve()).
+     */
+    public long getFlow(int arc) {
+        if (!solved) {
+            throw new IllegalStateException("Le flot n'a pas encore ete calcule");
+        }
+        return flows[arc];
+    }
+
+    /**
+     * Facteur d'echelle (puissance de 2) pour convertir des couts reels en entiers long :
+     * le plus grand cout devient environ 2^30, ce qui laisse la place de sommer des chemins
+     * de plusieurs millions d'arcs sans depassement.
+     */
+    public static double scaleCosts(double maxCost) {
+        if (maxCost <= 0 || Double.isInfinite(maxCost) || Double.isNaN(maxCost)) {
+            return 1.0;
+        }
+        return Math.scalb(1.0, 30 - Math.getExponent(maxCost));
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IllegalArgumentException("Noeud inexistant : " + node);
+        }
+    }
+
+    /**
+     * Graphe residuel : chaque arc a donne l'arc 2a (sens direct) et 2a + 1 (sens inverse,
+     * de capacite egale au flot). Les arcs de la source et du puits fictifs suivent.
+     */
+    private class Residual {
+        static final byte ON_PATH = 1;
+        static final byte DEAD = 2;
+        final int source = nodeCount;
+        final int sink = nodeCount + 1;
+        final int size = nodeCount + 2;
+        final int[] target;
+        final long[] capacity;
+        final long[] cost;
+        final int[] offsets;   // Arcs residuels de chaque noeud (CSR)
+        final int[] slots;
+        final long[] potential = new long[size];
+        final long[] distance = new long[size];
+        final int[] settled = new int[size];
+        final byte[] mark = new byte[size];
+        final int[] cursor = new int[size];
+        final int[] pathSlots = new int[size];
+        final IndexedMinHeap queue = new IndexedMinHeap(size);
+        int phase;
+
+        Residual() {
+            int terminalArcs = 0;
+            for (long supply : supplies) {
+                if (supply != 0) {
+                    terminalArcs++;
+                }
+            }
+            int total = 2 * (arcCount + terminalArcs);
+            target = new int[total];
+            capacity = new long[total];
+            cost = new long[total];
+            int[] from = new int[total];
+            for (int arc = 0; arc < arcCount; arc++) {
+                link(from, 2 * arc, tails[arc], heads[arc], capacities[arc], costs[arc]);
+            }
+            int r = 2 * arcCount;
+            for (int node = 0; node < nodeCount; node++) {
+                if (supplies[node] > 0) {
+                    link(from, r, source, node, supplies[node], 0);
+                    r += 2;
+                } else if (supplies[node] < 0) {
+                    link(from, r, node, sink, -supplies[node], 0);
+                    r += 2;
+                }
+            }
+
+            offsets = new int[size + 1];
+            for (int slot = 0; slot < total; slot++) {
+                offsets[from[slot] + 1]++;
+            }
+            for (int v = 0; v < size; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] fill = Arrays.copyOf(offsets, size);
+            slots = new int[total];
+            for (int slot = 0; slot < total; slot++) {
+                slots[fill[from[slot]]++] = slot;
+            }
+        }
+
+        private void link(int[] from, int slot, int u, int v, long cap, long c) {
+            from[slot] = u;
+            target[slot] = v;
+            capacity[slot] = cap;
+            cost[slot] = c;
+            from[slot + 1] = v;
+            target[slot + 1] = u;
+            capacity[slot + 1] = 0;
+            cost[slot + 1] = -c;
+        }
+
+        private long reducedCost(int u, int slot) {
+            return cost[slot] + potential[u] - potential[target[slot]];
+        }
+
+        /**
+         * Arc utilisable pour augmenter le flot : cout reduit nul, ou arc vers le puits (un noeud
+         * en demande peut etre servi quelle que soit sa distance, voir run()).
+         */
+        private boolean isAdmissible(int u, int slot) {
+            return target[slot] == sink || reducedCost(u, slot) == 0;
+        }
+
+        /**
+         * Enchaine les phases jusqu'a epuisement de l'offre ou blocage ; retourne le flot achemine.
+         *
+         * Chaque phase sert tous les noeuds en demande accessibles par des arcs de cout reduit
+         * nul, et pas seulement les plus proches : le flot reste optimal car aucun arc residuel
+         * entre noeuds reels n'a de cout reduit negatif (pas de cycle negatif).
+         */
+        long run(long totalSupply) {
+            long routed = 0;
+            while (routed < totalSupply && shortestPaths()) {
+                routed += augment();
+            }
+            return routed;
+        }
+
+        /**
+         * Dijkstra complet sur les couts reduits depuis la source, puis mise a jour des
+         * potentiels : les arcs des arbres de plus courts chemins deviennent de cout reduit nul,
+         * et tous les arcs residuels gardent un cout reduit positif ou nul.
+         * Les distances (entieres, inferieures a 2^53) sont exactes comme cles double du tas.
+         *
+         * @return false si aucun noeud ayant encore une demande n'est accessible
+         */
+        private boolean shortestPaths() {
+            phase++;
+            distance[source] = 0;
+            settled[source] = -phase;
+            queue.insertOrDecrease(source, 0.0);
+            long maxDistance = 0;
+            boolean reached = false;
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                settled[u] = phase;
+                maxDistance = distance[u];
+                for (int p = offsets[u]; p < offsets[u + 1]; p++) {
+                    int slot = slots[p];
+                    if (capacity[slot] == 0) {
+                        continue;
+                    }
+                    int v = target[slot];
+                    if (v == sink) {
+                        reached = true;   // u a encore une demande a satisfaire
+                        continue;
+                    }
+                    if (settled[v] == phase) {
+                        continue;
+                    }
+                    long newDistance = distance[u] + reducedCost(u, slot);
+                    if (settled[v] != -phase || newDistance < distance[v]) {
+                        settled[v] = -phase;
+                        distance[v] = newDistance;
+                        queue.insertOrDecrease(v, (double) newDistance);
+                    }
+                }
+            }
+            // Les noeuds inaccessibles sont decales de la plus grande distance : les arcs qui
+            // en partent vers la zone atteinte restent de cout reduit positif
+            for (int v = 0; v < size; v++) {
+                potential[v] += settled[v] == phase ? distance[v] : maxDistance;
+            }
+            return reached;
+        }
+
+        /**
+         * Augmente le flot sur le reseau admissible (arcs residuels de cout reduit nul) par
+         * parcours en profondeur avec arc courant : chaque arc n'est examine qu'une fois par phase
+         * et un noeud sans issue est abandonne pour la phase. La pile est explicite car les
+         * chemins peuvent etre tres longs sur un grand reseau routier.
+         * Un noeud deja sur le chemin n'est pas revisite (le reseau admissible peut contenir des
+         * cycles de cout nul) ; un chemin manque ainsi est retrouve a la phase suivante.
+         */
+        private long augment() {
+            for (int v = 0; v < size; v++) {
+                cursor[v] = offsets[v];
+                mark[v] = 0;
+            }
+            long pushed = 0;
+            int depth = 0;
+            int u = source;
+            mark[source] = ON_PATH;
+            while (true) {
+                if (u == sink) {
+                    long amount = UNBOUNDED;
+                    for (int i = 0; i < depth; i++) {
+                        amount = Math.min(amount, capacity[pathSlots[i]]);
+                    }
+                    for (int i = 0; i < depth; i++) {
+                        capacity[pathSlots[i]] -= amount;
+                        capacity[pathSlots[i] ^ 1] += amount;
+                        mark[target[pathSlots[i]]] = 0;
+                    }
+                    pushed += amount;
+                    depth = 0;
+                    u = source;
+                    continue;
+                }
+                boolean advanced = false;
+                for (; cursor[u] < offsets[u + 1]; cursor[u]++) {
+                    int slot = slots[cursor[u]];
+                    int v = target[slot];
+                    if (capacity[slot] > 0 && mark[v] == 0 && isAdmissible(u, slot)) {
+                        pathSlots[depth++] = slot;
+                        mark[v] = ON_PATH;
+                        u = v;
+                        advanced = true;
+                        break;
+                    }
+                }
+                if (advanced) {
+                    continue;
+                }
+                // Impasse : u est abandonne pour cette phase, retour au noeud precedent
+                mark[u] = DEAD;
+                if (depth == 0) {
+                    return pushed;
+                }
+                u = target[pathSlots[--depth] ^ 1];
+                cursor[u]++;
+            }
+        }
+    }
+}
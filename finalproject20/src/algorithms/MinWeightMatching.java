@@ -0,0 +1,768 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Couplage parfait de poids minimal dans un graphe quelconque (algorithme d'Edmonds avec
+ * fleurs et variables duales, dans la version de Galil ; portage de mwmatching.py de
+ * J. van Rantwijk).
+ *
+ * Principe :
+ * - On cherche un couplage de cardinalite maximale et de poids maximal pour les poids
+ *   W - w (W = plus grand poids) : parmi les couplages parfaits, c'est celui de poids w minimal
+ * - Chaque etape cherche un chemin augmentant dans le sous-graphe des aretes "serrees"
+ *   (ecart dual nul) ; les cycles impairs sont contractes en fleurs. S'il n'y en a pas,
+ *   les variables duales sont ajustees (delta) pour rendre de nouvelles aretes serrees
+ * - Pour chaque sommet et chaque fleur, la meilleure arete vers l'arbre courant est conservee
+ *   (bestEdge) : le calcul de delta ne reparcourt pas toutes les aretes
+ *
+ * Les poids sont convertis en entiers long (precision relative 2^-40) : les variables duales
+ * restent entieres et les tests d'ecart nul sont exacts, sans tolerance flottante.
+ * Le graphe est donne par ses aretes : sur un graphe creux (k plus proches candidats),
+ * le cout est bien inferieur au pire cas O(n^3).
+ */
+class MinWeightMatching {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int[] endpoint;          // endpoint[p] : sommet de l'extremite p (arete p / 2)
+    private final long[] weights;
+    private final int[][] neighbourEnds;   // Extremites distantes des aretes de chaque sommet
+    private final int[] mate;              // Extremite distante de l'arete couplee (-1 si libre)
+    private final int[] label;             // 0 libre, 1 S, 2 T (5 : marque temporaire de scanBlossom)
+    private final int[] labelEnd;
+    private final int[] inBlossom;
+    private final int[] blossomParent;
+    private final int[][] blossomChilds;
+    private final int[] blossomBase;
+    private final int[][] blossomEndps;
+    private final int[] bestEdge;
+    private final int[][] blossomBestEdges;
+    private final int[] unusedBlossoms;
+    private int unusedCount;
+    private final long[] dualVar;
+    private final boolean[] allowEdge;
+    private final IntList queue;
+    // Sommets des arbres et sommets libres voisins de l'etape en cours (tampons, comme SearchWorkspace)
+    private final IntList treeVertices;
+    private final IntList fringeVertices;
+    private final int[] treeStamp;
+    private final int[] fringeStamp;
+    private final int[] blossomStamp;
+    private int stageStamp;
+    private int deltaStamp;
+
+    private MinWeightMatching(int n, int[] from, int[] to, long[] weights) {
+        this.vertexCount = n;
+        this.edgeCount = from.length;
+        this.weights = weights;
+        this.endpoint = new int[2 * edgeCount];
+        int[] degrees = new int[n];
+        for (int k = 0; k < edgeCount; k++) {
+            if (from[k] == to[k]) {
+                throw new IllegalArgumentException("Une boucle ne peut pas faire partie d'un couplage");
+            }
+            endpoint[2 * k] = from[k];
+            endpoint[2 * k + 1] = to[k];
+            degrees[from[k]]++;
+            degrees[to[k]]++;
+        }
+        this.neighbourEnds = new int[n][];
+        for (int v = 0; v < n; v++) {
+            neighbourEnds[v] = new int[degrees[v]];
+        }
+        int[] fill = new int[n];
+        for (int k = 0; k < edgeCount; k++) {
+            neighbourEnds[from[k]][fill[from[k]]++] = 2 * k + 1;
+            neighbourEnds[to[k]][fill[to[k]]++] = 2 * k;
+        }
+
+        this.mate = new int[n];
+        Arrays.fill(mate, -1);
+        this.label = new int[2 * n];
+        this.labelEnd = new int[2 * n];
+        Arrays.fill(labelEnd, -1);
+        this.inBlossom = new int[n];
+        for (int v = 0; v < n; v++) {
+            inBlossom[v] = v;
+        }
+        this.blossomParent = new int[2 * n];
+        Arrays.fill(blossomParent, -1);
+        this.blossomChilds = new int[2 * n][];
+        this.blossomBase = new int[2 * n];
+        for (int v = 0; v < 2 * n; v++) {
+            blossomBase[v] = v < n ? v : -1;
+        }
+        this.blossomEndps = new int[2 * n][];
+        this.bestEdge = new int[2 * n];
+        Arrays.fill(bestEdge, -1);
+        this.blossomBestEdges = new int[2 * n][];
+        this.unusedBlossoms = new int[n];
+        for (int i = 0; i < n; i++) {
+            unusedBlossoms[i] = 2 * n - 1 - i;
+        }
+        this.unusedCount = n;
+        this.dualVar = new long[2 * n];
+        this.allowEdge = new boolean[edgeCount];
+        this.queue = new IntList();
+        this.treeVertices = new IntList();
+        this.fringeVertices = new IntList();
+        this.treeStamp = new int[n];
+        this.fringeStamp = new int[n];
+        this.blossomStamp = new int[2 * n];
+    }
+
+    /**
+     * Calcule un couplage de cardinalite maximale et, parmi ceux-ci, de poids total minimal.
+     *
+     * @param vertexCount Nombre de sommets (numerotes de 0 a vertexCount - 1)
+     * @param from Premiere extremite de chaque arete
+     * @param to Seconde extremite de chaque arete
+     * @param weights Poids de chaque arete (finis)
+     * @return mate[v] = sommet couple a v, ou -1 si v reste libre
+     */
+    static int[] solve(int vertexCount, int[] from, int[] to, double[] weights) {
+        // Conversion en entiers : W - w, mis a l'echelle pour garder 40 bits de precision
+        double max = 0.0;
+        double min = 0.0;
+        for (double w : weights) {
+            if (Double.isNaN(w) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Les poids du couplage doivent etre finis");
+            }
+            max = Math.max(max, w);
+            min = Math.min(min, w);
+        }
+        double range = max - min;
+        double scale = range > 0 ? Math.scalb(1.0, 40 - Math.getExponent(range) - 1) : 1.0;
+        long[] converted = new long[weights.length];
+        for (int k = 0; k < weights.length; k++) {
+            converted[k] = 2 * Math.round((max - weights[k]) * scale);
+        }
+
+        MinWeightMatching matching = new MinWeightMatching(vertexCount, from, to, converted);
+        matching.initialMatching();
+        matching.run();
+        if (!matching.isPerfect()) {
+            // Sans couplage parfait, l'optimalite suppose des variables duales de depart egales
+            matching = new MinWeightMatching(vertexCount, from, to, converted);
+            long maxWeight = 0;
+            for (long w : converted) {
+                maxWeight = Math.max(maxWeight, w);
+            }
+            Arrays.fill(matching.dualVar, 0, vertexCount, maxWeight);
+            matching.run();
+        }
+        int[] result = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            result[v] = matching.mate[v] >= 0 ? matching.endpoint[matching.mate[v]] : -1;
+        }
+        return result;
+    }
+
+    private long slack(int k) {
+        return dualVar[endpoint[2 * k]] + dualVar[endpoint[2 * k + 1]] - 2 * weights[k];
+    }
+
+    /**
+     * Ajoute a out les sommets (feuilles) contenus dans la fleur b.
+     */
+    private void blossomLeaves(int b, IntList out) {
+        if (b < vertexCount) {
+            out.add(b);
+            return;
+        }
+        IntList pending = new IntList();
+        pending.add(b);
+        while (!pending.isEmpty()) {
+            int t = pending.removeLast();
+            if (t < vertexCount) {
+                out.add(t);
+            } else {
+                int[] childs = blossomChilds[t];
+                for (int i = childs.length - 1; i >= 0; i--) {
+                    pending.add(childs[i]);
+                }
+            }
+        }
+    }
+
+    private IntList leavesOf(int b) {
+        IntList leaves = new IntList();
+        blossomLeaves(b, leaves);
+        return leaves;
+    }
+
+    /**
+     * Etiquette le sommet w (et sa fleur) avec t, atteint par l'extremite p.
+     */
+    private void assignLabel(int w, int t, int p) {
+        while (true) {
+            int b = inBlossom[w];
+            label[w] = label[b] = t;
+            labelEnd[w] = labelEnd[b] = p;
+            bestEdge[w] = bestEdge[b] = -1;
+            addToTree(b);
+            if (t == 1) {
+                blossomLeaves(b, queue);
+                return;
+            }
+            // t == 2 : le sommet couple a la base de la fleur devient S
+            int base = blossomBase[b];
+            w = endpoint[mate[base]];
+            t = 1;
+            p = mate[base] ^ 1;
+        }
+    }
+
+    /**
+     * Note les sommets de la fleur b comme appartenant a un arbre de l'etape en cours.
+     */
+    private void addToTree(int b) {
+        if (b < vertexCount) {
+            if (treeStamp[b] != stageStamp) {
+                treeStamp[b] = stageStamp;
+                treeVertices.add(b);
+            }
+            return;
+        }
+        IntList leaves = leavesOf(b);
+        for (int i = 0; i < leaves.size(); i++) {
+            addToTree(leaves.get(i));
+        }
+    }
+
+    /**
+     * Remonte les arbres depuis v et w : retourne la base d'une nouvelle fleur, ou -1 si les
+     * racines sont differentes (chemin augmentant).
+     */
+    private int scanBlossom(int v, int w) {
+        IntList path = new IntList();
+        int base = -1;
+        while (v != -1 || w != -1) {
+            int b = inBlossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossomBase[b];
+                break;
+            }
+            path.add(b);
+            label[b] = 5;
+            if (labelEnd[b] == -1) {
+                v = -1;
+            } else {
+                v = endpoint[labelEnd[b]];
+                b = inBlossom[v];
+                v = endpoint[labelEnd[b]];
+            }
+            if (w != -1) {
+                int swap = v;
+                v = w;
+                w = swap;
+            }
+        }
+        for (int i = 0; i < path.size(); i++) {
+            label[path.get(i)] = 1;
+        }
+        return base;
+    }
+
+    /**
+     * Contracte le cycle ferme par l'arete k en une nouvelle fleur de base donnee.
+     */
+    private void addBlossom(int base, int k) {
+        int v = endpoint[2 * k];
+        int w = endpoint[2 * k + 1];
+        int bb = inBlossom[base];
+        int bv = inBlossom[v];
+        int bw = inBlossom[w];
+        int b = unusedBlossoms[--unusedCount];
+        blossomBase[b] = base;
+        blossomParent[b] = -1;
+        blossomParent[bb] = b;
+
+        IntList path = new IntList();
+        IntList endps = new IntList();
+        while (bv != bb) {
+            blossomParent[bv] = b;
+            path.add(bv);
+            endps.add(labelEnd[bv]);
+            v = endpoint[labelEnd[bv]];
+            bv = inBlossom[v];
+        }
+        path.add(bb);
+        reverse(path);
+        reverse(endps);
+        endps.add(2 * k);
+        while (bw != bb) {
+            blossomParent[bw] = b;
+            path.add(bw);
+            endps.add(labelEnd[bw] ^ 1);
+            w = endpoint[labelEnd[bw]];
+            bw = inBlossom[w];
+        }
+        blossomChilds[b] = path.toArray();
+        blossomEndps[b] = endps.toArray();
+
+        label[b] = 1;
+        labelEnd[b] = labelEnd[bb];
+        dualVar[b] = 0;
+        IntList leaves = leavesOf(b);
+        for (int i = 0; i < leaves.size(); i++) {
+            int leaf = leaves.get(i);
+            if (label[inBlossom[leaf]] == 2) {
+                // Les sommets T deviennent S dans la fleur
+                queue.add(leaf);
+            }
+            inBlossom[leaf] = b;
+        }
+
+        // Meilleures aretes de la nouvelle fleur vers chaque fleur S voisine
+        int[] bestEdgeTo = new int[2 * vertexCount];
+        Arrays.fill(bestEdgeTo, -1);
+        for (int child : blossomChilds[b]) {
+            if (blossomBestEdges[child] == null) {
+                IntList childLeaves = leavesOf(child);
+                for (int i = 0; i < childLeaves.size(); i++) {
+                    for (int p : neighbourEnds[childLeaves.get(i)]) {
+                        considerBestEdge(b, p >> 1, bestEdgeTo);
+                    }
+                }
+            } else {
+                for (int edge : blossomBestEdges[child]) {
+                    considerBestEdge(b, edge, bestEdgeTo);
+                }
+            }
+            blossomBestEdges[child] = null;
+            bestEdge[child] = -1;
+        }
+        IntList best = new IntList();
+        for (int edge : bestEdgeTo) {
+            if (edge != -1) {
+                best.add(edge);
+            }
+        }
+        blossomBestEdges[b] = best.toArray();
+        bestEdge[b] = -1;
+        for (int edge : blossomBestEdges[b]) {
+            if (bestEdge[b] == -1 || slack(edge) < slack(bestEdge[b])) {
+                bestEdge[b] = edge;
+            }
+        }
+    }
+
+    private void considerBestEdge(int b, int k, int[] bestEdgeTo) {
+        int i = endpoint[2 * k];
+        int j = endpoint[2 * k + 1];
+        if (inBlossom[j] == b) {
+            j = i;
+        }
+        int bj = inBlossom[j];
+        if (bj != b && label[bj] == 1 && (bestEdgeTo[bj] == -1 || slack(k) < slack(bestEdgeTo[bj]))) {
+            bestEdgeTo[bj] = k;
+        }
+    }
+
+    /**
+     * Defait la fleur b (en fin d'etape, ou lorsque sa variable duale atteint zero).
+     */
+    private void expandBlossom(int b, boolean endStage) {
+        for (int s : blossomChilds[b]) {
+            blossomParent[s] = -1;
+            if (s < vertexCount) {
+                inBlossom[s] = s;
+            } else if (endStage && dualVar[s] == 0) {
+                expandBlossom(s, endStage);
+            } else {
+                IntList leaves = leavesOf(s);
+                for (int i = 0; i < leaves.size(); i++) {
+                    inBlossom[leaves.get(i)] = s;
+                }
+            }
+        }
+
+        if (!endStage && label[b] == 2) {
+            // Re-etiqueter les sous-fleurs sur le chemin pair entre l'entree et la base
+            int[] childs = blossomChilds[b];
+            int[] endps = blossomEndps[b];
+            int entryChild = inBlossom[endpoint[labelEnd[b] ^ 1]];
+            int j = indexOf(childs, entryChild);
+            int jStep;
+            int endpTrick;
+            if ((j & 1) != 0) {
+                j -= childs.length;
+                jStep = 1;
+                endpTrick = 0;
+            } else {
+                jStep = -1;
+                endpTrick = 1;
+            }
+            int p = labelEnd[b];
+            while (j != 0) {
+                label[endpoint[p ^ 1]] = 0;
+                label[endpoint[at(endps, j - endpTrick) ^ endpTrick ^ 1]] = 0;
+                assignLabel(endpoint[p ^ 1], 2, p);
+                allowEdge[at(endps, j - endpTrick) >> 1] = true;
+                j += jStep;
+                p = at(endps, j - endpTrick) ^ endpTrick;
+                allowEdge[p >> 1] = true;
+                j += jStep;
+            }
+            int bv = at(childs, j);
+            label[endpoint[p ^ 1]] = label[bv] = 2;
+            labelEnd[endpoint[p ^ 1]] = labelEnd[bv] = p;
+            bestEdge[bv] = -1;
+            j += jStep;
+            while (at(childs, j) != entryChild) {
+                bv = at(childs, j);
+                if (label[bv] == 1) {
+                    j += jStep;
+                    continue;
+                }
+                IntList leaves = leavesOf(bv);
+                int v = -1;
+                for (int i = 0; i < leaves.size(); i++) {
+                    v = leaves.get(i);
+                    if (label[v] != 0) {
+                        break;
+                    }
+                }
+                if (v >= 0 && label[v] != 0) {
+                    label[v] = 0;
+                    label[endpoint[mate[blossomBase[bv]]]] = 0;
+                    assignLabel(v, 2, labelEnd[v]);
+                }
+                j += jStep;
+            }
+        }
+
+        label[b] = -1;
+        labelEnd[b] = -1;
+        blossomChilds[b] = null;
+        blossomEndps[b] = null;
+        blossomBase[b] = -1;
+        blossomBestEdges[b] = null;
+        bestEdge[b] = -1;
+        unusedBlossoms[unusedCount++] = b;
+    }
+
+    /**
+     * Inverse le couplage le long du chemin pair de la fleur b menant de sa base a v,
+     * puis fait de v la nouvelle base.
+     */
+    private void augmentBlossom(int b, int v) {
+        int t = v;
+        while (blossomParent[t] != b) {
+            t = blossomParent[t];
+        }
+        if (t >= vertexCount) {
+            augmentBlossom(t, v);
+        }
+        int[] childs = blossomChilds[b];
+        int[] endps = blossomEndps[b];
+        int i = indexOf(childs, t);
+        int j = i;
+        int jStep;
+        int endpTrick;
+        if ((i & 1) != 0) {
+            j -= childs.length;
+            jStep = 1;
+            endpTrick = 0;
+        } else {
+            jStep = -1;
+            endpTrick = 1;
+        }
+        while (j != 0) {
+            j += jStep;
+            t = at(childs, j);
+            int p = at(endps, j - endpTrick) ^ endpTrick;
+            if (t >= vertexCount) {
+                augmentBlossom(t, endpoint[p]);
+            }
+            j += jStep;
+            t = at(childs, j);
+            if (t >= vertexCount) {
+                augmentBlossom(t, endpoint[p ^ 1]);
+            }
+            mate[endpoint[p]] = p ^ 1;
+            mate[endpoint[p ^ 1]] = p;
+        }
+        blossomChilds[b] = rotate(childs, i);
+        blossomEndps[b] = rotate(endps, i);
+        blossomBase[b] = blossomBase[blossomChilds[b][0]];
+    }
+
+    /**
+     * Inverse le couplage le long du chemin augmentant qui passe par l'arete k.
+     */
+    private void augmentMatching(int k) {
+        for (int side = 0; side < 2; side++) {
+            int s = endpoint[2 * k + side];
+            int p = 2 * k + 1 - side;
+            while (true) {
+                int bs = inBlossom[s];
+                if (bs >= vertexCount) {
+                    augmentBlossom(bs, s);
+                }
+                mate[s] = p;
+                if (labelEnd[bs] == -1) {
+                    break; // Racine de l'arbre atteinte
+                }
+                int t = endpoint[labelEnd[bs]];
+                int bt = inBlossom[t];
+                s = endpoint[labelEnd[bt]];
+                int j = endpoint[labelEnd[bt] ^ 1];
+                if (bt >= vertexCount) {
+                    augmentBlossom(bt, j);
+                }
+                mate[j] = labelEnd[bt];
+                p = labelEnd[bt] ^ 1;
+            }
+        }
+    }
+
+    /**
+     * Demarrage a chaud : variables duales realisables serrees sur au moins une arete par
+     * sommet, puis couplage glouton sur les aretes serrees. Il ne reste ensuite qu'une
+     * fraction des etapes a faire (une par paire de sommets encore libres).
+     *
+     * Les poids sont pairs et les variables duales le restent : tous les sommets libres ont
+     * donc la meme parite, ce qui garantit que l'ecart d'une arete entre deux sommets S est
+     * pair (delta de type 3 entier). Un couplage parfait obtenu a partir de ces variables
+     * duales est de poids optimal ; sinon le calcul est refait avec des variables duales egales.
+     */
+    private void initialMatching() {
+        for (int v = 0; v < vertexCount; v++) {
+            long best = 0;
+            for (int p : neighbourEnds[v]) {
+                best = Math.max(best, weights[p >> 1]);
+            }
+            dualVar[v] = best;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            if (neighbourEnds[v].length == 0) {
+                continue;
+            }
+            long minSlack = Long.MAX_VALUE;
+            for (int p : neighbourEnds[v]) {
+                minSlack = Math.min(minSlack, slack(p >> 1));
+            }
+            dualVar[v] -= minSlack;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            if (mate[v] != -1) {
+                continue;
+            }
+            for (int p : neighbourEnds[v]) {
+                int w = endpoint[p];
+                if (mate[w] == -1 && slack(p >> 1) == 0) {
+                    mate[v] = p;
+                    mate[w] = p ^ 1;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Examine les aretes du sommet S v : etend l'arbre, forme une fleur ou augmente le couplage
+     * par les aretes serrees, et note les meilleures aretes pour le calcul de delta.
+     *
+     * @return true si le couplage a ete augmente
+     */
+    private boolean scanVertex(int v) {
+        for (int p : neighbourEnds[v]) {
+            int k = p >> 1;
+            int w = endpoint[p];
+            if (inBlossom[v] == inBlossom[w]) {
+                continue;
+            }
+            long kSlack = 0;
+            if (!allowEdge[k]) {
+                kSlack = slack(k);
+                if (kSlack <= 0) {
+                    allowEdge[k] = true;
+                }
+            }
+            if (allowEdge[k]) {
+                if (label[inBlossom[w]] == 0) {
+                    assignLabel(w, 2, p ^ 1);
+                } else if (label[inBlossom[w]] == 1) {
+                    int base = scanBlossom(v, w);
+                    if (base >= 0) {
+                        addBlossom(base, k);
+                    } else {
+                        augmentMatching(k);
+                        return true;
+                    }
+                } else if (label[w] == 0) {
+                    label[w] = 2;
+                    labelEnd[w] = p ^ 1;
+                }
+            } else if (label[inBlossom[w]] == 1) {
+                int b = inBlossom[v];
+                if (bestEdge[b] == -1 || kSlack < slack(bestEdge[b])) {
+                    bestEdge[b] = k;
+                }
+            } else if (label[w] == 0) {
+                if (bestEdge[w] == -1 || kSlack < slack(bestEdge[w])) {
+                    bestEdge[w] = k;
+                }
+                if (fringeStamp[w] != stageStamp) {
+                    fringeStamp[w] = stageStamp;
+                    fringeVertices.add(w);
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isPerfect() {
+        for (int v = 0; v < vertexCount; v++) {
+            if (mate[v] == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void run() {
+        int n = vertexCount;
+        for (int stage = 0; stage < n; stage++) {
+            stageStamp++;
+            treeVertices.clear();
+            fringeVertices.clear();
+            Arrays.fill(label, 0);
+            Arrays.fill(bestEdge, -1);
+            Arrays.fill(blossomBestEdges, n, 2 * n, null);
+            Arrays.fill(allowEdge, false);
+            queue.clear();
+            for (int v = 0; v < n; v++) {
+                if (mate[v] == -1 && label[inBlossom[v]] == 0) {
+                    assignLabel(v, 1, -1);
+                }
+            }
+
+            boolean augmented = false;
+            while (true) {
+                // Etendre les arbres par les aretes serrees
+                while (!queue.isEmpty() && !augmented) {
+                    augmented = scanVertex(queue.removeLast());
+                }
+                if (augmented) {
+                    break;
+                }
+
+                // Aucun chemin augmentant serre : calculer l'ajustement dual delta.
+                // Seuls les sommets des arbres et leurs voisins libres sont concernes.
+                int deltaType = -1;
+                long delta = 0;
+                int deltaEdge = -1;
+                int deltaBlossom = -1;
+                for (int i = 0; i < fringeVertices.size(); i++) {
+                    int v = fringeVertices.get(i);
+                    if (label[inBlossom[v]] == 0 && bestEdge[v] != -1) {
+                        long d = slack(bestEdge[v]);
+                        if (deltaType == -1 || d < delta) {
+                            delta = d;
+                            deltaType = 2;
+                            deltaEdge = bestEdge[v];
+                        }
+                    }
+                }
+                for (int i = 0; i < treeVertices.size(); i++) {
+                    int b = inBlossom[treeVertices.get(i)];
+                    if (label[b] == 1 && bestEdge[b] != -1) {
+                        long d = slack(bestEdge[b]) / 2;
+                        if (deltaType == -1 || d < delta) {
+                            delta = d;
+                            deltaType = 3;
+                            deltaEdge = bestEdge[b];
+                        }
+                    } else if (b >= n && label[b] == 2 && (deltaType == -1 || dualVar[b] < delta)) {
+                        delta = dualVar[b];
+                        deltaType = 4;
+                        deltaBlossom = b;
+                    }
+                }
+                if (deltaType == -1) {
+                    // Plus aucun chemin augmentant : le couplage est de cardinalite maximale
+                    break;
+                }
+
+                deltaStamp++;
+                for (int i = 0; i < treeVertices.size(); i++) {
+                    int v = treeVertices.get(i);
+                    int b = inBlossom[v];
+                    if (label[b] == 1) {
+                        dualVar[v] -= delta;
+                    } else if (label[b] == 2) {
+                        dualVar[v] += delta;
+                    }
+                    if (b >= n && blossomStamp[b] != deltaStamp) {
+                        blossomStamp[b] = deltaStamp;
+                        if (label[b] == 1) {
+                            dualVar[b] += delta;
+                        } else if (label[b] == 2) {
+                            dualVar[b] -= delta;
+                        }
+                    }
+                }
+
+                if (deltaType == 2) {
+                    allowEdge[deltaEdge] = true;
+                    int i = endpoint[2 * deltaEdge];
+                    if (label[inBlossom[i]] == 0) {
+                        i = endpoint[2 * deltaEdge + 1];
+                    }
+                    queue.add(i);
+                } else if (deltaType == 3) {
+                    allowEdge[deltaEdge] = true;
+                    queue.add(endpoint[2 * deltaEdge]);
+                } else {
+                    expandBlossom(deltaBlossom, false);
+                }
+            }
+
+            if (!augmented) {
+                break;
+            }
+
+            // Fin d'etape : defaire les fleurs S dont la variable duale est nulle
+            for (int b = n; b < 2 * n; b++) {
+                if (blossomParent[b] == -1 && blossomBase[b] >= 0 && label[b] == 1 && dualVar[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+    }
+
+    private static void reverse(IntList list) {
+        for (int i = 0, j = list.size() - 1; i < j; i++, j--) {
+            int swap = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, swap);
+        }
+    }
+
+    private static int indexOf(int[] array, int value) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Acces avec indice negatif compte depuis la fin (comme en Python).
+     */
+    private static int at(int[] array, int index) {
+        return array[index < 0 ? index + array.length : index];
+    }
+
+    private static int[] rotate(int[] array, int start) {
+        int[] rotated = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            rotated[i] = array[(start + i) % array.length];
+        }
+        return rotated;
+    }
+}
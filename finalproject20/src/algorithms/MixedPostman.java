@@ -0,0 +1,258 @@
+package algorithms;
+
+import graph.*;
+
+/**
+ * Postier chinois mixte : tournee depuis le depot sur un reseau de rues a sens unique (arcs)
+ * et a double sens (aretes), chaque rue etant parcourue au moins une fois (dans son sens
+ * pour un arc, dans l'un ou l'autre pour une arete).
+ *
+ * Le probleme est NP-difficile ; heuristique "orienter puis equilibrer" :
+ * 1. Tous les arcs, toutes les aretes et le depot doivent etre dans une meme composante
+ *    fortement connexe (une arete compte dans les deux sens)
+ * 2. Un flot de cout minimal choisit le nombre de passages de chaque rue dans chaque sens :
+ *    un arc ajoute des passages au cout de son poids ; une arete offre un passage gratuit
+ *    dans chaque sens (son passage obligatoire, paye d'avance) puis des passages au cout de
+ *    son poids. Tous les sommets sont alors equilibres (autant d'entrees que de sorties)
+ * 3. Une arete dont le flot est nul dans les deux sens (ou egal) n'est pas encore orientee :
+ *    elle doit etre parcourue sans desequilibrer ses extremites. Parmi ces aretes, celles
+ *    d'un sous-graphe pair sont orientees le long de cycles (un seul passage) ; les autres
+ *    (une T-jointure dans une foret couvrante minimale, T = sommets de degre impair) sont
+ *    parcourues une fois dans chaque sens
+ * 4. Circuit eulerien par Hierholzer sur les nombres de passages
+ *
+ * Le reseau est traite tel quel (voir CompactGraph.of(MixedGraph)) : aucune conversion en
+ * DirectedGraph, et le flot se resout comme pour le Postier chinois oriente (MinCostFlow).
+ */
+public class MixedPostman {
+
+    /**
+     * Resout le probleme du Postier chinois mixte.
+     *
+     * @param graph Le graphe mixte
+     * @param depot Le sommet de depart (depot)
+     * @return La tournee et sa distance totale ; les passages en plus de celui qui dessert
+     *         chaque rue sont dans getDuplicatedEdges()
+     * @throws IllegalArgumentException si une rue n'est pas accessible depuis le depot
+     *         (ou le depot depuis une rue) : aucune tournee n'existe alors
+     */
+    public static ChinesePostman.Result solve(MixedGraph graph, Vertex depot) {
+        if (graph.isEmpty()) {
+            throw new IllegalArgumentException("Le graphe est vide");
+        }
+        CompactGraph compact = CompactGraph.of(graph);
+        int root = compact.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt " + depot + " n'existe pas dans le graphe");
+        }
+
+        // Etape 1 : connexite forte (les deux arcs d'une arete sont dans la meme composante)
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(compact);
+        int n = compact.getVertexCount();
+        int m = compact.getEdgeCount();
+        int oneWay = compact.getOneWayCount();
+        int streets = (m - oneWay) / 2;
+        double maxWeight = 0.0;
+        for (int e = 0; e < m; e++) {
+            int tail = compact.getEdgeTail(e);
+            int head = compact.getEdgeHead(e);
+            if (components.getComponent(tail) != components.getComponent(root)
+                    || components.getComponent(head) != components.getComponent(root)) {
+                throw new IllegalArgumentException("La rue " + compact.getVertex(tail) + " → "
+                    + compact.getVertex(head) + " n'est pas dans la composante fortement connexe du dépôt");
+            }
+            maxWeight = Math.max(maxWeight, compact.getWeight(e));
+        }
+
+        // Etape 2 : flot de cout minimal. Arc e : identifiant e dans le flot ; arete k
+        // (hors boucle) : passages gratuits puis payants, dans chaque sens, a partir de firstFlowArc[k]
+        double scale = MinCostFlow.scaleCosts(maxWeight);
+        MinCostFlow flow = new MinCostFlow(n);
+        long[] balance = new long[n];
+        for (int e = 0; e < oneWay; e++) {
+            flow.addArc(compact.getEdgeTail(e), compact.getEdgeHead(e), MinCostFlow.UNBOUNDED,
+                        Math.round(compact.getWeight(e) * scale));
+            balance[compact.getEdgeHead(e)]++;
+            balance[compact.getEdgeTail(e)]--;
+        }
+        int[] firstFlowArc = new int[streets];
+        for (int k = 0; k < streets; k++) {
+            int forward = oneWay + 2 * k;
+            int from = compact.getEdgeTail(forward);
+            int to = compact.getEdgeHead(forward);
+            if (from == to) {
+                firstFlowArc[k] = -1;
+                continue;
+            }
+            long cost = Math.round(compact.getWeight(forward) * scale);
+            firstFlowArc[k] = flow.addArc(from, to, 1, 0);
+            flow.addArc(to, from, 1, 0);
+            flow.addArc(from, to, MinCostFlow.UNBOUNDED, cost);
+            flow.addArc(to, from, MinCostFlow.UNBOUNDED, cost);
+        }
+        for (int v = 0; v < n; v++) {
+            flow.setSupply(v, balance[v]);
+        }
+        flow.solve();
+
+        int[] multiplicities = new int[m];
+        for (int e = 0; e < oneWay; e++) {
+            multiplicities[e] = 1 + (int) flow.getFlow(e);
+        }
+        boolean[] unoriented = new boolean[streets];
+        for (int k = 0; k < streets; k++) {
+            int forward = oneWay + 2 * k;
+            if (firstFlowArc[k] < 0) {
+                multiplicities[forward] = 1; // Boucle : un passage, sans effet sur l'equilibre
+                continue;
+            }
+            int f = firstFlowArc[k];
+            long net = flow.getFlow(f) + flow.getFlow(f + 2) - flow.getFlow(f + 1) - flow.getFlow(f + 3);
+            if (net > 0) {
+                multiplicities[forward] = (int) net;
+            } else if (net < 0) {
+                multiplicities[forward + 1] = (int) -net;
+            } else {
+                unoriented[k] = true;
+            }
+        }
+
+        // Etape 3 : aretes non orientees
+        boolean[] doubled = tJoin(compact, unoriented);
+        for (int k = 0; k < streets; k++) {
+            if (doubled[k]) {
+                unoriented[k] = false;
+                multiplicities[oneWay + 2 * k] = 1;
+                multiplicities[oneWay + 2 * k + 1] = 1;
+            }
+        }
+        orientAlongCycles(compact, unoriented, multiplicities);
+
+        // Etape 4 : circuit eulerien ; chaque rue est desservie par son premier sens parcouru
+        int[] service = new int[m];
+        for (int e = 0; e < oneWay; e++) {
+            service[e] = 1;
+        }
+        for (int k = 0; k < streets; k++) {
+            int forward = oneWay + 2 * k;
+            service[multiplicities[forward] > 0 ? forward : forward + 1] = 1;
+        }
+        return ChinesePostman.tourResult(compact, multiplicities, service, depot);
+    }
+
+    /**
+     * Aretes (parmi les candidates) a parcourir dans les deux sens pour que les autres forment
+     * un sous-graphe pair : T-jointure des sommets de degre impair dans une foret couvrante
+     * minimale des candidates (Kruskal), calculee en effeuillant la foret.
+     */
+    private static boolean[] tJoin(CompactGraph compact, boolean[] candidates) {
+        int n = compact.getVertexCount();
+        int oneWay = compact.getOneWayCount();
+        boolean[] odd = new boolean[n];
+        IndexedMinHeap byWeight = new IndexedMinHeap(candidates.length);
+        for (int k = 0; k < candidates.length; k++) {
+            if (candidates[k]) {
+                odd[compact.getEdgeTail(oneWay + 2 * k)] ^= true;
+                odd[compact.getEdgeHead(oneWay + 2 * k)] ^= true;
+                byWeight.insertOrDecrease(k, compact.getWeight(oneWay + 2 * k));
+            }
+        }
+
+        // Foret couvrante minimale et degre de chaque sommet dans la foret
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+        }
+        boolean[] inForest = new boolean[candidates.length];
+        int[] forestDegree = new int[n];
+        while (!byWeight.isEmpty()) {
+            int k = byWeight.poll();
+            int a = find(parent, compact.getEdgeTail(oneWay + 2 * k));
+            int b = find(parent, compact.getEdgeHead(oneWay + 2 * k));
+            if (a != b) {
+                parent[a] = b;
+                inForest[k] = true;
+                forestDegree[compact.getEdgeTail(oneWay + 2 * k)]++;
+                forestDegree[compact.getEdgeHead(oneWay + 2 * k)]++;
+            }
+        }
+
+        // Effeuillage : une feuille impaire garde l'arete vers son voisin, qui change de parite
+        boolean[] join = new boolean[candidates.length];
+        IntList leaves = new IntList();
+        for (int v = 0; v < n; v++) {
+            if (forestDegree[v] == 1) {
+                leaves.add(v);
+            }
+        }
+        CompactGraph.Adjacency outgoing = compact.getOutgoing();
+        while (!leaves.isEmpty()) {
+            int v = leaves.removeLast();
+            if (forestDegree[v] != 1) {
+                continue; // Derniere arete deja retiree par son autre extremite
+            }
+            for (int slot = outgoing.start(v); slot < outgoing.end(v); slot++) {
+                int e = outgoing.edgeId(slot);
+                int k = (e - oneWay) >> 1;
+                if (e >= oneWay && inForest[k]) {
+                    int w = outgoing.target(slot);
+                    inForest[k] = false;
+                    forestDegree[v]--;
+                    if (odd[v]) {
+                        join[k] = true;
+                        odd[v] = false;
+                        odd[w] ^= true;
+                    }
+                    if (--forestDegree[w] == 1) {
+                        leaves.add(w);
+                    }
+                    break;
+                }
+            }
+        }
+        return join;
+    }
+
+    /**
+     * Oriente les aretes marquees (sous-graphe pair) le long de cycles : depuis chaque sommet,
+     * on suit des aretes marquees non encore orientees jusqu'a revenir au point de depart.
+     * Chaque arete recoit un passage dans le sens ou elle est suivie.
+     */
+    private static void orientAlongCycles(CompactGraph compact, boolean[] pending, int[] multiplicities) {
+        int n = compact.getVertexCount();
+        int oneWay = compact.getOneWayCount();
+        CompactGraph.Adjacency outgoing = compact.getOutgoing();
+        int[] cursor = new int[n];
+        for (int v = 0; v < n; v++) {
+            cursor[v] = outgoing.start(v);
+        }
+        for (int start = 0; start < n; start++) {
+            int current = start;
+            while (true) {
+                // Prochaine arete marquee au depart du sommet courant (chaque emplacement n'est vu qu'une fois)
+                int slot = cursor[current];
+                int end = outgoing.end(current);
+                while (slot < end && (outgoing.edgeId(slot) < oneWay
+                                      || !pending[(outgoing.edgeId(slot) - oneWay) >> 1])) {
+                    slot++;
+                }
+                cursor[current] = slot;
+                if (slot == end) {
+                    break; // Sous-graphe pair : on est revenu a start
+                }
+                int e = outgoing.edgeId(slot);
+                pending[(e - oneWay) >> 1] = false;
+                multiplicities[e] = 1;
+                current = outgoing.target(slot);
+            }
+        }
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,772 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Postier chinois a k camions : les rues sont reparties entre k camions partant tous du
+ * meme depot, et la tournee de chaque camion est calculee en parallele.
+ *
+ * Principe :
+ * 1. Germes : k aretes eloignees les unes des autres et du depot (choix du point le plus
+ *    eloigne, a partir des distances au depot puis aux germes deja choisis)
+ * 2. Croissance equilibree : le secteur le moins charge prend l'arete libre la plus proche
+ *    de sa frontiere, jusqu'a ce que toutes les aretes soient prises. Chaque secteur est
+ *    donc connexe ; mais un secteur encercle par ses voisins cesse de grandir, et la charge
+ *    suivie (longueur des rues + aller-retour au germe) ne compte ni l'appariement ni le
+ *    vrai chemin d'acces : les tournees obtenues peuvent differer de plus de 20 %
+ * 3. Chaque secteur est relie au depot par le plus court chemin vers son sommet le plus
+ *    proche (trajet a vide, eventuellement dans le secteur d'un autre camion)
+ * 4. Les tournees du Postier chinois des secteurs sont calculees en parallele
+ * 5. Reequilibrage (voir rebalance) : la charge estimee de chaque secteur est corrigee par
+ *    le rapport entre le cout reel de sa tournee et cette estimation, puis des aretes
+ *    frontiere passent des secteurs charges a leurs voisins plus legers ; les etapes 3 a 5
+ *    sont repetees tant que les tournees s'ecartent de plus de BALANCE_TOLERANCE (au plus
+ *    BALANCE_ROUNDS fois), et la repartition de plus petit makespan est conservee
+ *
+ * La duree de la collecte est celle de la plus longue tournee (makespan). L'equilibre reste
+ * heuristique : l'ecart final n'est pas garanti.
+ */
+public class MultiVehiclePostman {
+
+    /**
+     * Nombre maximal de repartitions essayees (la premiere, puis les corrections de charge).
+     */
+    private static final int BALANCE_ROUNDS = 4;
+
+    /**
+     * Ecart relatif entre la plus courte et la plus longue tournee en dessous duquel on
+     * arrete les corrections.
+     */
+    private static final double BALANCE_TOLERANCE = 0.02;
+
+    /**
+     * Nombre maximal de sommets visites pour verifier qu'un secteur reste connexe.
+     */
+    private static final int CONNECTIVITY_LIMIT = 64;
+
+    /**
+     * Tournees des camions.
+     */
+    public static class Result {
+        private final List<ChinesePostman.Result> tours;
+        private final List<List<Edge>> sectors;
+
+        public Result(List<ChinesePostman.Result> tours, List<List<Edge>> sectors) {
+            this.tours = tours;
+            this.sectors = sectors;
+        }
+
+        public int getVehicleCount() {
+            return tours.size();
+        }
+
+        /**
+         * Retourne la tournee du camion donne (de 0 a getVehicleCount() - 1).
+         */
+        public ChinesePostman.Result getTour(int vehicle) {
+            return tours.get(vehicle);
+        }
+
+        public List<ChinesePostman.Result> getTours() {
+            return tours;
+        }
+
+        /**
+         * Retourne les rues a collecter par le camion donne (sans le trajet d'acces).
+         */
+        public List<Edge> getSector(int vehicle) {
+            return sectors.get(vehicle);
+        }
+
+        /**
+         * Retourne la distance de la plus longue tournee.
+         */
+        public double getMakespan() {
+            double makespan = 0.0;
+            for (ChinesePostman.Result tour : tours) {
+                makespan = Math.max(makespan, tour.getTotalDistance());
+            }
+            return makespan;
+        }
+
+        /**
+         * Retourne la somme des distances de toutes les tournees.
+         */
+        public double getTotalDistance() {
+            double total = 0.0;
+            for (ChinesePostman.Result tour : tours) {
+                total += tour.getTotalDistance();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Repartit les rues entre vehicles camions et calcule leurs tournees (appariement exact).
+     *
+     * @param graph Le graphe non oriente (connexe)
+     * @param depot Le depot commun
+     * @param vehicles Nombre de camions
+     * @return Les tournees
+     */
+    public static Result solve(UndirectedGraph graph, Vertex depot, int vehicles) {
+        return solve(graph, depot, vehicles, ChinesePostman.MatchingMode.EXACT, ChinesePostman.ALL_PAIRS);
+    }
+
+    /**
+     * Repartit les rues entre vehicles camions et calcule leurs tournees en parallele.
+     * S'il y a plus de camions que de rues, les camions en trop restent au depot.
+     *
+     * @param graph Le graphe non oriente (connexe)
+     * @param depot Le depot commun
+     * @param vehicles Nombre de camions
+     * @param mode Methode d'appariement des sommets impairs (voir ChinesePostman)
+     * @param candidatesPerVertex Nombre de voisins impairs candidats, ou ChinesePostman.ALL_PAIRS
+     * @return Les tournees, une par camion
+     * @throws IllegalArgumentException si une rue n'est pas accessible depuis le depot
+     */
+    public static Result solve(UndirectedGraph graph, Vertex depot, int vehicles,
+                               ChinesePostman.MatchingMode mode, int candidatesPerVertex) {
+        if (graph.isEmpty()) {
+            throw new IllegalArgumentException("Le graphe est vide");
+        }
+        if (vehicles < 1) {
+            throw new IllegalArgumentException("Au moins un camion est necessaire");
+        }
+        CompactGraph compact = CompactGraph.of(graph);
+        int root = compact.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt " + depot + " n'existe pas dans le graphe");
+        }
+        ShortestPathTree fromDepot = Dijkstra.shortestPathTree(compact, root);
+        for (int e = 0; e < compact.getEdgeCount(); e++) {
+            if (fromDepot.getDistance(compact.getEdgeTail(e)) == Double.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("La rue " + compact.getVertex(compact.getEdgeTail(e)).getId()
+                    + " - " + compact.getVertex(compact.getEdgeHead(e)).getId() + " n'est pas accessible depuis le dépôt");
+            }
+        }
+
+        // Etape 1 : germes
+        int[] seeds = chooseSeeds(compact, fromDepot, vehicles);
+
+        // Etape 2 : secteurs (proprietaire de chaque arete)
+        double[] ratio = new double[seeds.length];
+        Arrays.fill(ratio, 1.0);
+        double[] halfShortest = halfShortestEdges(compact);
+        int[] owners = growSectors(compact, fromDepot, seeds);
+
+        // Etapes 3 a 5, repetees : une fois les tournees connues, la charge estimee de chaque
+        // secteur est corrigee par le rapport cout reel / charge estimee, et les secteurs sont
+        // reequilibres. La meilleure repartition (plus petit makespan) est conservee.
+        ChinesePostman.Result[] best = null;
+        int[] bestOwners = null;
+        double bestMakespan = Double.POSITIVE_INFINITY;
+        for (int round = 0; round < BALANCE_ROUNDS; round++) {
+            checkConnected(compact, owners, vehicles);
+            ChinesePostman.Result[] tours = sectorTours(compact, fromDepot, owners, vehicles, depot,
+                                                        mode, candidatesPerVertex);
+            double shortest = Double.POSITIVE_INFINITY;
+            double longest = 0.0;
+            for (int c = 0; c < seeds.length; c++) {
+                shortest = Math.min(shortest, tours[c].getTotalDistance());
+                longest = Math.max(longest, tours[c].getTotalDistance());
+            }
+            if (longest < bestMakespan) {
+                best = tours;
+                bestOwners = owners.clone();
+                bestMakespan = longest;
+            }
+            if (longest - shortest <= BALANCE_TOLERANCE * longest || round == BALANCE_ROUNDS - 1) {
+                break;
+            }
+            double[] estimated = estimatedLoads(compact, fromDepot, seeds, owners, halfShortest);
+            for (int c = 0; c < seeds.length; c++) {
+                ratio[c] = estimated[c] > 0.0 ? tours[c].getTotalDistance() / estimated[c] : 1.0;
+            }
+            if (!rebalance(compact, fromDepot, seeds, owners, ratio, halfShortest)) {
+                break;
+            }
+        }
+
+        List<List<Edge>> sectors = new ArrayList<>();
+        for (int c = 0; c < vehicles; c++) {
+            sectors.add(new ArrayList<>());
+        }
+        for (int e = 0; e < bestOwners.length; e++) {
+            sectors.get(bestOwners[e]).add(new Edge(compact.getVertex(compact.getEdgeTail(e)),
+                                                    compact.getVertex(compact.getEdgeHead(e)), compact.getWeight(e)));
+        }
+        return new Result(Arrays.asList(best), sectors);
+    }
+
+    /**
+     * Tournees des secteurs (etapes 3 et 4), calculees en parallele.
+     */
+    private static ChinesePostman.Result[] sectorTours(CompactGraph compact, ShortestPathTree fromDepot, int[] owners,
+                                                       int vehicles, Vertex depot,
+                                                       ChinesePostman.MatchingMode mode, int candidatesPerVertex) {
+        int[] sizes = new int[vehicles];
+        for (int owner : owners) {
+            sizes[owner]++;
+        }
+        int root = compact.indexOf(depot);
+        ChinesePostman.Result[] tours = new ChinesePostman.Result[vehicles];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.submit(() -> IntStream.range(0, vehicles).parallel().forEach(c -> {
+            if (sizes[c] == 0) {
+                // Camion sans rue : il reste au depot
+                tours[c] = new ChinesePostman.Result(compact, new CompactPath(compact, new int[] { root }), 0.0,
+                                                     new int[compact.getEdgeCount()]);
+            } else {
+                UndirectedGraph sector = sectorGraph(compact, fromDepot, owners, c, depot);
+                tours[c] = ChinesePostman.solve(sector, depot, mode, candidatesPerVertex);
+            }
+        })).join();
+        return tours;
+    }
+
+    /**
+     * Charge estimee de chaque secteur, sans correction : aller-retour depot - germe, longueur
+     * des rues, et pour chaque sommet de degre impair dans le secteur la moitie de sa plus
+     * courte rue (l'appariement relie le plus souvent des sommets impairs voisins).
+     */
+    private static double[] estimatedLoads(CompactGraph graph, ShortestPathTree fromDepot, int[] seeds, int[] owners,
+                                           double[] halfShortest) {
+        double[] estimated = new double[seeds.length];
+        for (int c = 0; c < seeds.length; c++) {
+            estimated[c] = 2 * Math.min(fromDepot.getDistance(graph.getEdgeTail(seeds[c])),
+                                        fromDepot.getDistance(graph.getEdgeHead(seeds[c])));
+        }
+        for (int e = 0; e < owners.length; e++) {
+            estimated[owners[e]] += graph.getWeight(e);
+        }
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        boolean[] odd = new boolean[seeds.length];
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+                odd[owners[adjacency.edgeId(slot)]] ^= true;
+            }
+            for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+                int owner = owners[adjacency.edgeId(slot)];
+                if (odd[owner]) {
+                    odd[owner] = false;
+                    estimated[owner] += halfShortest[v];
+                }
+            }
+        }
+        return estimated;
+    }
+
+    /**
+     * Moitie de la plus courte rue de chaque sommet.
+     */
+    private static double[] halfShortestEdges(CompactGraph graph) {
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        double[] half = new double[graph.getVertexCount()];
+        for (int v = 0; v < half.length; v++) {
+            double shortest = Double.POSITIVE_INFINITY;
+            for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+                shortest = Math.min(shortest, graph.getWeight(adjacency.edgeId(slot)));
+            }
+            half[v] = shortest == Double.POSITIVE_INFINITY ? 0.0 : shortest / 2;
+        }
+        return half;
+    }
+
+    /**
+     * Reequilibrage : une arete passe de son secteur a un secteur voisin (qui touche l'une de
+     * ses extremites) si celui-ci est moins charge d'au moins BALANCE_TOLERANCE / 4 de la
+     * charge moyenne, et si les charges des deux secteurs apres l'echange sont inferieures a
+     * celle du donneur avant. Un secteur intermediaire peut ainsi transmettre des aretes d'un
+     * secteur charge a un secteur leger qui ne le touche pas. Chaque passe recense les
+     * echanges possibles aux sommets frontiere (ou se touchent deux secteurs) et les applique
+     * par cout ajoute croissant (longueur et appariement estimes), en revalidant chacun : un
+     * echange precedent a pu retirer au receveur l'arete qui le reliait a e. Les charges sont
+     * les charges estimees (estimatedLoads) multipliees par ratio. Les germes ne changent pas de secteur, et une arete ne quitte son secteur que
+     * s'il reste connexe (voir staysConnected).
+     *
+     * @return true si au moins une arete a change de secteur
+     */
+    private static boolean rebalance(CompactGraph graph, ShortestPathTree fromDepot, int[] seeds, int[] owners,
+                                     double[] ratio, double[] halfShortest) {
+        int sectorCount = seeds.length;
+        double[] load = estimatedLoads(graph, fromDepot, seeds, owners, halfShortest);
+        for (int c = 0; c < sectorCount; c++) {
+            load[c] *= ratio[c];
+        }
+        boolean[] seed = new boolean[owners.length];
+        for (int s : seeds) {
+            seed[s] = true;
+        }
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        int n = graph.getVertexCount();
+        boolean[] isBoundary = new boolean[n];
+        IntList boundary = new IntList();
+        for (int v = 0; v < n; v++) {
+            for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+                if (owners[adjacency.edgeId(slot)] != owners[adjacency.edgeId(adjacency.start(v))]) {
+                    isBoundary[v] = true;
+                    boundary.add(v);
+                    break;
+                }
+            }
+        }
+        int[] visited = new int[n];
+        int mark = 0;
+        IntList candidateEdges = new IntList();
+        IntList candidateTargets = new IntList();
+        boolean moved = false;
+        int moves = 0;
+        boolean progress = true;
+        while (progress && moves < owners.length) {
+            progress = false;
+            double mean = 0.0;
+            double lightest = Double.POSITIVE_INFINITY;
+            double heaviest = 0.0;
+            for (int c = 0; c < sectorCount; c++) {
+                mean += load[c] / sectorCount;
+                lightest = Math.min(lightest, load[c]);
+                heaviest = Math.max(heaviest, load[c]);
+            }
+            if (lightest >= (1 - BALANCE_TOLERANCE / 2) * heaviest) {
+                break; // Charges estimees deja assez proches
+            }
+            double gap = BALANCE_TOLERANCE / 4 * mean;
+
+            // Echanges possibles, par cout ajoute croissant
+            candidateEdges.clear();
+            candidateTargets.clear();
+            for (int i = 0; i < boundary.size(); i++) {
+                int u = boundary.get(i);
+                for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                    int e = adjacency.edgeId(slot);
+                    if (seed[e]) {
+                        continue;
+                    }
+                    for (int other = adjacency.start(u); other < adjacency.end(u); other++) {
+                        int target = owners[adjacency.edgeId(other)];
+                        if (load[owners[e]] - load[target] > gap) {
+                            candidateEdges.add(e);
+                            candidateTargets.add(target);
+                        }
+                    }
+                }
+            }
+            IndexedMinHeap candidates = new IndexedMinHeap(candidateEdges.size());
+            for (int i = 0; i < candidateEdges.size(); i++) {
+                candidates.insertOrDecrease(i, transferCost(graph, adjacency, owners, candidateEdges.get(i),
+                                                            candidateTargets.get(i), ratio, halfShortest));
+            }
+
+            while (!candidates.isEmpty()) {
+                double expected = candidates.peekKey();
+                int i = candidates.poll();
+                int e = candidateEdges.get(i);
+                int donor = owners[e];
+                int target = candidateTargets.get(i);
+                if (load[donor] - load[target] <= gap || !touchesSector(graph, adjacency, owners, e, target)
+                        || transferCost(graph, adjacency, owners, e, target, ratio, halfShortest) > expected) {
+                    continue; // Echange perime par les precedents
+                }
+                double weight = graph.getWeight(e);
+                double donorLoad = load[donor]
+                    + ratio[donor] * (parityChange(graph, adjacency, owners, e, donor, halfShortest) - weight);
+                double targetLoad = load[target]
+                    + ratio[target] * (weight + parityChange(graph, adjacency, owners, e, target, halfShortest));
+                if (donorLoad >= load[donor] || targetLoad >= load[donor]
+                        || !staysConnected(graph, adjacency, owners, e, visited, ++mark)) {
+                    continue;
+                }
+                owners[e] = target;
+                load[donor] = donorLoad;
+                load[target] = targetLoad;
+                for (int end = 0; end < 2; end++) {
+                    int v = end == 0 ? graph.getEdgeTail(e) : graph.getEdgeHead(e);
+                    if (!isBoundary[v]) {
+                        isBoundary[v] = true;
+                        boundary.add(v);
+                    }
+                }
+                moved = true;
+                progress = true;
+                moves++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Cout ajoute (charge du donneur plus charge du receveur) par le passage de edge de son
+     * secteur au secteur target.
+     */
+    private static double transferCost(CompactGraph graph, CompactGraph.Adjacency adjacency, int[] owners, int edge,
+                                       int target, double[] ratio, double[] halfShortest) {
+        int donor = owners[edge];
+        double weight = graph.getWeight(edge);
+        return ratio[donor] * (parityChange(graph, adjacency, owners, edge, donor, halfShortest) - weight)
+            + ratio[target] * (weight + parityChange(graph, adjacency, owners, edge, target, halfShortest));
+    }
+
+    /**
+     * Variation de la part d'appariement estimee du secteur quand edge y entre ou en sort :
+     * chacune de ses extremites change de parite dans le secteur.
+     */
+    private static double parityChange(CompactGraph graph, CompactGraph.Adjacency adjacency, int[] owners, int edge,
+                                       int sector, double[] halfShortest) {
+        int tail = graph.getEdgeTail(edge);
+        int head = graph.getEdgeHead(edge);
+        if (tail == head) {
+            return 0.0;
+        }
+        double change = 0.0;
+        for (int end = 0; end < 2; end++) {
+            int u = end == 0 ? tail : head;
+            int degree = 0;
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                if (owners[adjacency.edgeId(slot)] == sector) {
+                    degree++;
+                }
+            }
+            change += degree % 2 != 0 ? -halfShortest[u] : halfShortest[u];
+        }
+        return change;
+    }
+
+    /**
+     * Indique si le secteur de edge reste connexe sans elle : vrai si l'une de ses extremites
+     * n'a pas d'autre arete du secteur, ou si un parcours en largeur dans le secteur relie ses
+     * extremites en visitant au plus CONNECTIVITY_LIMIT sommets (sinon, on repond faux par
+     * prudence). Les sommets visites sont marques de mark dans visited.
+     */
+    private static boolean staysConnected(CompactGraph graph, CompactGraph.Adjacency adjacency, int[] owners,
+                                          int edge, int[] visited, int mark) {
+        int sector = owners[edge];
+        int from = graph.getEdgeTail(edge);
+        int to = graph.getEdgeHead(edge);
+        if (from == to || !hasOtherEdge(adjacency, owners, from, edge) || !hasOtherEdge(adjacency, owners, to, edge)) {
+            return true;
+        }
+        IntList queue = new IntList();
+        queue.add(from);
+        visited[from] = mark;
+        for (int i = 0; i < queue.size() && queue.size() <= CONNECTIVITY_LIMIT; i++) {
+            int u = queue.get(i);
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int e = adjacency.edgeId(slot);
+                int v = adjacency.target(slot);
+                if (e == edge || owners[e] != sector || visited[v] == mark) {
+                    continue;
+                }
+                if (v == to) {
+                    return true;
+                }
+                visited[v] = mark;
+                queue.add(v);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si une extremite de edge porte une autre arete du secteur sector.
+     */
+    private static boolean touchesSector(CompactGraph graph, CompactGraph.Adjacency adjacency, int[] owners,
+                                         int edge, int sector) {
+        for (int end = 0; end < 2; end++) {
+            int u = end == 0 ? graph.getEdgeTail(edge) : graph.getEdgeHead(edge);
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int e = adjacency.edgeId(slot);
+                if (e != edge && owners[e] == sector) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifie que les aretes de chaque secteur sont connexes (le chemin d'acces de sectorGraph
+     * rejoint alors tout le secteur) : parcours en largeur dans chaque secteur depuis l'une de
+     * ses aretes.
+     *
+     * @throws IllegalStateException si un secteur est en plusieurs morceaux
+     */
+    private static void checkConnected(CompactGraph graph, int[] owners, int sectorCount) {
+        int[] sizes = new int[sectorCount];
+        int[] firstEdges = new int[sectorCount];
+        for (int e = owners.length - 1; e >= 0; e--) {
+            sizes[owners[e]]++;
+            firstEdges[owners[e]] = e;
+        }
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        int[] visited = new int[graph.getVertexCount()];
+        Arrays.fill(visited, -1);
+        boolean[] reached = new boolean[owners.length];
+        IntList queue = new IntList();
+        for (int c = 0; c < sectorCount; c++) {
+            if (sizes[c] == 0) {
+                continue;
+            }
+            int count = 0;
+            queue.clear();
+            queue.add(graph.getEdgeTail(firstEdges[c]));
+            visited[graph.getEdgeTail(firstEdges[c])] = c;
+            for (int i = 0; i < queue.size(); i++) {
+                int u = queue.get(i);
+                for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                    int e = adjacency.edgeId(slot);
+                    if (owners[e] != c) {
+                        continue;
+                    }
+                    if (!reached[e]) {
+                        reached[e] = true;
+                        count++;
+                    }
+                    int v = adjacency.target(slot);
+                    if (visited[v] != c) {
+                        visited[v] = c;
+                        queue.add(v);
+                    }
+                }
+            }
+            if (count != sizes[c]) {
+                throw new IllegalStateException("Le secteur du camion " + (c + 1) + " n'est pas connexe");
+            }
+        }
+    }
+
+    private static boolean hasOtherEdge(CompactGraph.Adjacency adjacency, int[] owners, int u, int edge) {
+        for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+            int e = adjacency.edgeId(slot);
+            if (e != edge && owners[e] == owners[edge]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Choisit au plus count aretes germes : a chaque etape, l'arete la plus eloignee du depot
+     * et des germes deja choisis. Les distances aux germes sont mises a jour par un Dijkstra
+     * elague (arrete la ou elles ne diminuent plus).
+     */
+    private static int[] chooseSeeds(CompactGraph graph, ShortestPathTree fromDepot, int count) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        double[] distance = new double[n];
+        for (int v = 0; v < n; v++) {
+            distance[v] = fromDepot.getDistance(v);
+        }
+        boolean[] chosen = new boolean[m];
+        IntList seeds = new IntList(count);
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        while (seeds.size() < count && seeds.size() < m) {
+            int farthest = -1;
+            double farthestDistance = -1.0;
+            for (int e = 0; e < m; e++) {
+                double d = Math.min(distance[graph.getEdgeTail(e)], distance[graph.getEdgeHead(e)]);
+                if (!chosen[e] && d > farthestDistance) {
+                    farthest = e;
+                    farthestDistance = d;
+                }
+            }
+            chosen[farthest] = true;
+            seeds.add(farthest);
+
+            distance[graph.getEdgeTail(farthest)] = 0.0;
+            distance[graph.getEdgeHead(farthest)] = 0.0;
+            queue.insertOrDecrease(graph.getEdgeTail(farthest), 0.0);
+            queue.insertOrDecrease(graph.getEdgeHead(farthest), 0.0);
+            while (!queue.isEmpty()) {
+                int u = queue.poll();
+                for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                    int v = adjacency.target(slot);
+                    double candidate = distance[u] + graph.getWeight(adjacency.edgeId(slot));
+                    if (candidate < distance[v]) {
+                        distance[v] = candidate;
+                        queue.insertOrDecrease(v, candidate);
+                    }
+                }
+            }
+        }
+        return seeds.toArray();
+    }
+
+    /**
+     * Croissance equilibree des secteurs depuis leurs germes : le secteur de plus petite charge
+     * prend l'arete libre la plus proche (au sens de la distance a son germe) parmi celles qui
+     * touchent ses aretes. La charge initiale d'un secteur est l'aller-retour depot - germe.
+     *
+     * @return Le secteur (indice du germe) de chaque arete
+     */
+    private static int[] growSectors(CompactGraph graph, ShortestPathTree fromDepot, int[] seeds) {
+        int m = graph.getEdgeCount();
+        int[] owners = new int[m];
+        Arrays.fill(owners, -1);
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        EdgeQueue[] frontiers = new EdgeQueue[seeds.length];
+        IndexedMinHeap loads = new IndexedMinHeap(seeds.length);
+        double[] load = new double[seeds.length];
+        for (int c = 0; c < seeds.length; c++) {
+            int seed = seeds[c];
+            owners[seed] = c;
+            frontiers[c] = new EdgeQueue();
+            double access = Math.min(fromDepot.getDistance(graph.getEdgeTail(seed)),
+                                     fromDepot.getDistance(graph.getEdgeHead(seed)));
+            load[c] = 2 * access + graph.getWeight(seed);
+            loads.insertOrDecrease(c, load[c]);
+        }
+        for (int c = 0; c < seeds.length; c++) {
+            pushIncident(graph, adjacency, owners, frontiers[c], seeds[c], 0.0);
+        }
+
+        while (!loads.isEmpty()) {
+            int c = loads.poll();
+            EdgeQueue frontier = frontiers[c];
+            // Les aretes prises entre-temps par un autre secteur sont ignorees
+            while (!frontier.isEmpty() && owners[frontier.peekEdge()] >= 0) {
+                frontier.poll();
+            }
+            if (frontier.isEmpty()) {
+                continue; // Secteur bloque par ses voisins : il ne grandit plus
+            }
+            double key = frontier.peekKey();
+            int edge = frontier.poll();
+            owners[edge] = c;
+            load[c] += graph.getWeight(edge);
+            pushIncident(graph, adjacency, owners, frontier, edge, key);
+            loads.insertOrDecrease(c, load[c]);
+        }
+        return owners;
+    }
+
+    /**
+     * Ajoute a la frontiere les aretes libres qui touchent edge, a la distance key + poids.
+     */
+    private static void pushIncident(CompactGraph graph, CompactGraph.Adjacency adjacency, int[] owners,
+                                     EdgeQueue frontier, int edge, double key) {
+        for (int end = 0; end < 2; end++) {
+            int u = end == 0 ? graph.getEdgeTail(edge) : graph.getEdgeHead(edge);
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int next = adjacency.edgeId(slot);
+                if (owners[next] < 0) {
+                    frontier.add(next, key + graph.getWeight(next));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sous-graphe d'un secteur : ses aretes, plus le plus court chemin du depot a son
+     * sommet le plus proche (le camion doit pouvoir rejoindre son secteur).
+     */
+    private static UndirectedGraph sectorGraph(CompactGraph graph, ShortestPathTree fromDepot, int[] owners,
+                                               int sector, Vertex depot) {
+        UndirectedGraph result = new UndirectedGraph();
+        result.addVertex(depot);
+        int closest = -1;
+        for (int e = 0; e < owners.length; e++) {
+            if (owners[e] != sector) {
+                continue;
+            }
+            int tail = graph.getEdgeTail(e);
+            int head = graph.getEdgeHead(e);
+            result.addEdge(graph.getVertex(tail), graph.getVertex(head), graph.getWeight(e));
+            for (int v : new int[] { tail, head }) {
+                if (closest < 0 || fromDepot.getDistance(v) < fromDepot.getDistance(closest)) {
+                    closest = v;
+                }
+            }
+        }
+
+        // Chemin d'acces : aretes de l'arbre des plus courts chemins, sauf celles du secteur
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        for (int v = closest; fromDepot.getPredecessor(v) >= 0; v = fromDepot.getPredecessor(v)) {
+            int predecessor = fromDepot.getPredecessor(v);
+            int best = -1;
+            for (int slot = adjacency.start(v); slot < adjacency.end(v); slot++) {
+                int edge = adjacency.edgeId(slot);
+                if (adjacency.target(slot) == predecessor
+                        && (best < 0 || graph.getWeight(edge) < graph.getWeight(best))) {
+                    best = edge;
+                }
+            }
+            if (owners[best] != sector) {
+                result.addEdge(graph.getVertex(predecessor), graph.getVertex(v), graph.getWeight(best));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tas binaire (cle, arete) sans objets intermediaires, pour les frontieres des secteurs.
+     * Une arete peut y figurer plusieurs fois ; les entrees perimees sont ignorees au retrait.
+     */
+    private static class EdgeQueue {
+        private double[] keys = new double[16];
+        private int[] edges = new int[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int edge, double key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                edges = Arrays.copyOf(edges, 2 * size);
+            }
+            int position = size++;
+            while (position > 0) {
+                int parent = (position - 1) / 2;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[position] = keys[parent];
+                edges[position] = edges[parent];
+                position = parent;
+            }
+            keys[position] = key;
+            edges[position] = edge;
+        }
+
+        int peekEdge() {
+            return edges[0];
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        int poll() {
+            int top = edges[0];
+            size--;
+            double key = keys[size];
+            int edge = edges[size];
+            int position = 0;
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[position] = keys[child];
+                edges[position] = edges[child];
+                position = child;
+            }
+            keys[position] = key;
+            edges[position] = edge;
+            return top;
+        }
+    }
+}
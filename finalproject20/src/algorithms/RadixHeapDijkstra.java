@@ -0,0 +1,175 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Variante de Dijkstra pour les graphes a poids entiers (mode virgule fixe de CompactGraph),
+ * utilisant un tas radix a la place d'un tas binaire.
+ *
+ * Pourquoi un tas radix ?
+ * - Dans Dijkstra, les cles extraites sont croissantes (monotones) et entieres
+ * - Le tas radix exploite cette propriete : un element est range dans le seau numero
+ *   "position du bit le plus significatif qui differe de la derniere cle extraite"
+ *   (65 seaux pour des cles long), sans aucune comparaison entre elements
+ * - Chaque element ne peut que descendre de seau : cout amorti O(log C) par element,
+ *   ou C est le plus grand poids, au lieu de O(log n) comparaisons
+ *
+ * Les distances sont calculees exactement en entiers (long) puis divisees par l'echelle.
+ */
+public class RadixHeapDijkstra {
+
+    /**
+     * Execute la recherche sur un graphe non oriente dont les poids sont multiples de 1/weightScale.
+     *
+     * @param graph Le graphe non oriente
+     * @param source Le sommet source
+     * @param weightScale Unites entieres par unite de poids (1 pour des poids entiers)
+     * @return Un objet Result contenant les distances et les chemins
+     */
+    public static Dijkstra.Result shortestPaths(UndirectedGraph graph, Vertex source, int weightScale) {
+        return shortestPathTree(CompactGraph.of(graph).withFixedPointWeights(weightScale), source).toResult();
+    }
+
+    /**
+     * Execute la recherche sur un graphe oriente dont les poids sont multiples de 1/weightScale.
+     *
+     * @param graph Le graphe oriente
+     * @param source Le sommet source
+     * @param weightScale Unites entieres par unite de poids (1 pour des poids entiers)
+     * @return Un objet Result contenant les distances et les chemins
+     */
+    public static Dijkstra.Result shortestPaths(DirectedGraph graph, Vertex source, int weightScale) {
+        return shortestPathTree(CompactGraph.of(graph).withFixedPointWeights(weightScale), source).toResult();
+    }
+
+    /**
+     * Execute la recherche sur un graphe compact en mode virgule fixe.
+     */
+    public static ShortestPathTree shortestPathTree(CompactGraph graph, Vertex source) {
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex < 0) {
+            throw new IllegalArgumentException("Le sommet source n'existe pas dans le graphe");
+        }
+        return shortestPathTree(graph, sourceIndex);
+    }
+
+    /**
+     * Variante indexee.
+     *
+     * @throws IllegalArgumentException si le graphe n'est pas en mode virgule fixe
+     */
+    public static ShortestPathTree shortestPathTree(CompactGraph graph, int source) {
+        if (!graph.isFixedPoint()) {
+            throw new IllegalArgumentException(
+                "Le graphe doit etre en mode virgule fixe (voir CompactGraph.withFixedPointWeights)");
+        }
+
+        int n = graph.getVertexCount();
+        long[] distances = new long[n];
+        int[] predecessors = new int[n];
+        boolean[] settled = new boolean[n];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        Arrays.fill(predecessors, -1);
+        distances[source] = 0L;
+
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        RadixHeap queue = new RadixHeap();
+        queue.push(0L, source);
+
+        while (!queue.isEmpty()) {
+            int u = queue.pop();
+            // Entrees multiples : seule la premiere extraction d'un sommet compte
+            if (settled[u]) {
+                continue;
+            }
+            settled[u] = true;
+            long distanceU = distances[u];
+
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                long newDistance = distanceU + graph.getFixedWeight(adjacency.edgeId(slot));
+                if (newDistance < distances[v]) {
+                    distances[v] = newDistance;
+                    predecessors[v] = u;
+                    queue.push(newDistance, v);
+                }
+            }
+        }
+
+        double scale = graph.getWeightScale();
+        double[] realDistances = new double[n];
+        for (int v = 0; v < n; v++) {
+            realDistances[v] = distances[v] == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : distances[v] / scale;
+        }
+        return new ShortestPathTree(graph, source, realDistances, predecessors, false);
+    }
+
+    /**
+     * Tas radix a cles long monotones.
+     * Le seau 0 contient les cles egales a la derniere cle extraite ; le seau b (b >= 1)
+     * celles dont le bit le plus significatif different de cette cle est le bit b - 1.
+     */
+    private static class RadixHeap {
+        private final long[][] keys = new long[65][];
+        private final int[][] items = new int[65][];
+        private final int[] sizes = new int[65];
+        private long last = 0L;
+        private int size = 0;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(long key, int item) {
+            append(bucketOf(key), key, item);
+            size++;
+        }
+
+        /**
+         * Retire un element de cle minimale.
+         */
+        int pop() {
+            if (sizes[0] == 0) {
+                // Redistribuer le premier seau non vide autour de sa plus petite cle
+                int bucket = 1;
+                while (sizes[bucket] == 0) {
+                    bucket++;
+                }
+                long[] bucketKeys = keys[bucket];
+                int[] bucketItems = items[bucket];
+                int count = sizes[bucket];
+                long min = bucketKeys[0];
+                for (int i = 1; i < count; i++) {
+                    min = Math.min(min, bucketKeys[i]);
+                }
+                last = min;
+                sizes[bucket] = 0;
+                for (int i = 0; i < count; i++) {
+                    // Chaque element tombe dans un seau strictement inferieur
+                    append(bucketOf(bucketKeys[i]), bucketKeys[i], bucketItems[i]);
+                }
+            }
+            size--;
+            return items[0][--sizes[0]];
+        }
+
+        private int bucketOf(long key) {
+            return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+        }
+
+        private void append(int bucket, long key, int item) {
+            if (keys[bucket] == null) {
+                keys[bucket] = new long[8];
+                items[bucket] = new int[8];
+            } else if (sizes[bucket] == keys[bucket].length) {
+                keys[bucket] = Arrays.copyOf(keys[bucket], sizes[bucket] * 2);
+                items[bucket] = Arrays.copyOf(items[bucket], sizes[bucket] * 2);
+            }
+            keys[bucket][sizes[bucket]] = key;
+            items[bucket][sizes[bucket]] = item;
+            sizes[bucket]++;
+        }
+    }
+}
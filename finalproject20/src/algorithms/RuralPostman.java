@@ -0,0 +1,403 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Postier rural : tournee depuis le depot qui dessert seulement un sous-ensemble de rues
+ * (les rues a collecter ce jour-la), les autres pouvant etre empruntees a vide.
+ *
+ * Le probleme est NP-difficile ; on utilise l'heuristique de Frederickson :
+ * 1. Les rues a desservir (et le depot) forment des composantes connexes
+ * 2. Ces composantes sont reliees par un arbre couvrant minimal des plus courts chemins
+ *    entre composantes. Il est construit comme par Mehlhorn : un seul Dijkstra partant de
+ *    tous les sommets des rues a la fois, chaque sommet etant rattache a la composante la
+ *    plus proche ; une arete entre deux zones donne un chemin candidat entre leurs
+ *    composantes. Les candidats sont acceptes par cout croissant (Kruskal) des que le rayon
+ *    de recherche les depasse, et la recherche s'arrete quand tout est relie : elle ne
+ *    couvre que la zone des rues a desservir, pas toute la ville
+ * 3. Les sommets de degre impair du graphe reduit (rues + chemins de liaison) sont apparies
+ *    comme pour le Postier chinois, par des recherches locales (voir candidatesPerVertex)
+ * 4. Tournee eulerienne sur les nombres de passages
+ *
+ * Les passages qui ne desservent pas de rue (liaisons et appariement) sont les passages
+ * supplementaires du resultat (voir ChinesePostman.Result.getDuplicatedEdges).
+ *
+ * Cout : les methodes statiques construisent d'abord le graphe compact, en O(V + E). Une
+ * instance garde le graphe compact et des tableaux de travail (tampons, comme
+ * SearchWorkspace) d'une tournee a l'autre : chaque appel a solve() ne coute alors que
+ * les rues demandees, la zone exploree par les recherches et la tournee, pas la taille de
+ * la ville. Pour de nombreuses tournees sur la meme ville (une par jour de collecte),
+ * construire une instance une fois. Une instance n'est pas partagee entre threads.
+ */
+public class RuralPostman {
+    private final CompactGraph graph;
+    // Etat d'une arete ou d'un sommet pour l'appel en cours : valide si son tampon vaut stamp
+    private final int[] edgeStamps;
+    private final int[] passes;
+    private final boolean[] served;
+    private final int[] vertexStamps;
+    private final int[] parent;
+    private final boolean[] isTerminal;
+    private final boolean[] linked;
+    private final boolean[] odd;
+    private final double[] distance;
+    private final int[] zone;
+    private final int[] predecessor;
+    private final boolean[] settled;
+    private final IndexedMinHeap heap;
+    private final IndexedMinHeap bridges;
+    // Rangs des sommets impairs pour l'appariement (-1 partout entre deux appels)
+    private final int[] rank;
+    private final ConcurrentLinkedQueue<SearchWorkspace> workspaces = new ConcurrentLinkedQueue<>();
+    private int stamp;
+
+    /**
+     * Prepare des tournees repetees sur un graphe compact non oriente.
+     *
+     * @throws IllegalArgumentException si le graphe est oriente
+     */
+    public RuralPostman(CompactGraph graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Le graphe doit etre non oriente");
+        }
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        this.graph = graph;
+        this.edgeStamps = new int[m];
+        this.passes = new int[m];
+        this.served = new boolean[m];
+        this.vertexStamps = new int[n];
+        this.parent = new int[n];
+        this.isTerminal = new boolean[n];
+        this.linked = new boolean[n];
+        this.odd = new boolean[n];
+        this.distance = new double[n];
+        this.zone = new int[n];
+        this.predecessor = new int[n];
+        this.settled = new boolean[n];
+        this.heap = new IndexedMinHeap(n);
+        this.bridges = new IndexedMinHeap(m);
+        this.rank = new int[n];
+        Arrays.fill(rank, -1);
+        this.stamp = 0;
+    }
+
+    /**
+     * Tournee desservant les rues demandees, avec un appariement exact sur toutes les paires.
+     *
+     * @param graph Le graphe non oriente (toutes les rues de la ville)
+     * @param required Les rues a desservir (extremites sans ordre)
+     * @param depot Le depot
+     * @return La tournee et sa distance totale
+     */
+    public static ChinesePostman.Result solve(UndirectedGraph graph, Collection<Edge> required, Vertex depot) {
+        return solve(graph, required, depot, ChinesePostman.MatchingMode.EXACT, ChinesePostman.ALL_PAIRS);
+    }
+
+    /**
+     * Tournee desservant les rues demandees (tournee isolee : le graphe compact est construit
+     * pour l'occasion).
+     *
+     * @param graph Le graphe non oriente (toutes les rues de la ville)
+     * @param required Les rues a desservir (extremites sans ordre) ; parmi des rues
+     *                 paralleles, la plus courte est desservie
+     * @param depot Le depot
+     * @param mode Methode d'appariement des sommets impairs (voir ChinesePostman)
+     * @param candidatesPerVertex Nombre de voisins impairs candidats, ou ChinesePostman.ALL_PAIRS
+     * @return La tournee et sa distance totale
+     * @throws IllegalArgumentException si une rue a desservir n'existe pas ou n'est pas
+     *         accessible depuis le depot
+     */
+    public static ChinesePostman.Result solve(UndirectedGraph graph, Collection<Edge> required, Vertex depot,
+                                              ChinesePostman.MatchingMode mode, int candidatesPerVertex) {
+        if (graph.isEmpty()) {
+            throw new IllegalArgumentException("Le graphe est vide");
+        }
+        return new RuralPostman(CompactGraph.of(graph)).solve(required, depot, mode, candidatesPerVertex);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Tournee desservant les rues demandees, avec un appariement exact sur toutes les paires.
+     */
+    public ChinesePostman.Result solve(Collection<Edge> required, Vertex depot) {
+        return solve(required, depot, ChinesePostman.MatchingMode.EXACT, ChinesePostman.ALL_PAIRS);
+    }
+
+    /**
+     * Tournee desservant les rues demandees, sur le graphe de l'instance.
+     *
+     * @param required Les rues a desservir (extremites sans ordre) ; parmi des rues
+     *                 paralleles, la plus courte est desservie
+     * @param depot Le depot
+     * @param mode Methode d'appariement des sommets impairs (voir ChinesePostman)
+     * @param candidatesPerVertex Nombre de voisins impairs candidats, ou ChinesePostman.ALL_PAIRS
+     * @return La tournee et sa distance totale ; les identifiants d'aretes du resultat se
+     *         rapportent a getGraph()
+     * @throws IllegalArgumentException si une rue a desservir n'existe pas ou n'est pas
+     *         accessible depuis le depot
+     */
+    public ChinesePostman.Result solve(Collection<Edge> required, Vertex depot,
+                                       ChinesePostman.MatchingMode mode, int candidatesPerVertex) {
+        if (candidatesPerVertex < 0) {
+            throw new IllegalArgumentException("Le nombre de candidats doit etre positif");
+        }
+        int root = graph.indexOf(depot);
+        if (root < 0) {
+            throw new IllegalArgumentException("Le dépôt " + depot + " n'existe pas dans le graphe");
+        }
+        nextStamp();
+        try {
+            // Etape 1 : rues a desservir et composantes qu'elles forment avec le depot
+            IntList used = new IntList();
+            IntList terminals = new IntList();
+            addTerminal(root, terminals);
+            int components = 1;
+            for (Edge street : required) {
+                int e = findEdge(street);
+                touchEdge(e);
+                if (served[e]) {
+                    continue;
+                }
+                served[e] = true;
+                addPass(e, used);
+                int tail = graph.getEdgeTail(e);
+                int head = graph.getEdgeHead(e);
+                components += addTerminal(tail, terminals) + addTerminal(head, terminals);
+                if (union(tail, head)) {
+                    components--;
+                }
+            }
+
+            // Etape 2 : liaison des composantes
+            if (components > 1) {
+                connectComponents(terminals, components, used);
+            }
+
+            // Etape 3 : appariement des sommets impairs du graphe reduit (aretes de used, sans doublon)
+            for (int i = 0; i < used.size(); i++) {
+                int e = used.get(i);
+                odd[graph.getEdgeTail(e)] ^= passes[e] % 2 != 0;
+                odd[graph.getEdgeHead(e)] ^= passes[e] % 2 != 0;
+            }
+            IntList oddIndices = new IntList();
+            for (int i = 0; i < used.size(); i++) {
+                int e = used.get(i);
+                collectOdd(graph.getEdgeTail(e), oddIndices);
+                collectOdd(graph.getEdgeHead(e), oddIndices);
+            }
+            if (!oddIndices.isEmpty()) {
+                int[][] paths = ChinesePostman.findMatchedPaths(graph, oddIndices.toArray(), mode, candidatesPerVertex,
+                                                                rank, workspaces);
+                for (int[] path : paths) {
+                    for (int edge : path) {
+                        touchEdge(edge);
+                        addPass(edge, used);
+                    }
+                }
+            }
+
+            // Etape 4 : tournee eulerienne sur les seules aretes empruntees
+            int[] edges = used.toArray();
+            int[] edgePasses = new int[edges.length];
+            int[] servicePasses = new int[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                edgePasses[i] = passes[edges[i]];
+                servicePasses[i] = served[edges[i]] ? 1 : 0;
+            }
+            return ChinesePostman.tourResult(graph, edges, edgePasses, servicePasses, depot);
+        } finally {
+            heap.clear();
+            bridges.clear();
+        }
+    }
+
+    private int addTerminal(int v, IntList terminals) {
+        touchVertex(v);
+        if (isTerminal[v]) {
+            return 0;
+        }
+        isTerminal[v] = true;
+        linked[v] = true;
+        terminals.add(v);
+        return 1;
+    }
+
+    /**
+     * Ajoute v aux sommets impairs s'il l'est encore (chaque sommet n'est retenu qu'une fois).
+     */
+    private void collectOdd(int v, IntList oddIndices) {
+        if (odd[v]) {
+            odd[v] = false;
+            oddIndices.add(v);
+        }
+    }
+
+    /**
+     * Identifiant de la plus courte arete du graphe reliant les extremites de street.
+     */
+    private int findEdge(Edge street) {
+        int from = graph.indexOf(street.getFrom());
+        int to = graph.indexOf(street.getTo());
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        int best = -1;
+        if (from >= 0 && to >= 0) {
+            for (int slot = adjacency.start(from); slot < adjacency.end(from); slot++) {
+                int e = adjacency.edgeId(slot);
+                if (adjacency.target(slot) == to && (best < 0 || graph.getWeight(e) < graph.getWeight(best))) {
+                    best = e;
+                }
+            }
+        }
+        if (best < 0) {
+            throw new IllegalArgumentException("La rue " + street.getFrom().getId() + " - "
+                + street.getTo().getId() + " n'existe pas dans le graphe");
+        }
+        return best;
+    }
+
+    /**
+     * Relie les composantes par les chemins d'un arbre couvrant minimal (etape 2), en
+     * ajoutant un passage sur chaque arete de ces chemins.
+     *
+     * Dijkstra multi-sources depuis les terminaux : zone[v] est la composante du terminal le
+     * plus proche de v. Une arete u-v entre deux zones donne le chemin candidat
+     * terminal → u → v → terminal, de cout d(u) + w + d(v). Ce cout est au moins la distance
+     * du dernier sommet fixe : quand la recherche depasse un rayon r, tous les candidats de
+     * cout au plus r sont connus et peuvent etre acceptes dans l'ordre de Kruskal.
+     */
+    private void connectComponents(IntList terminals, int components, IntList used) {
+        for (int i = 0; i < terminals.size(); i++) {
+            int t = terminals.get(i);
+            distance[t] = 0.0;
+            zone[t] = find(t);
+            heap.insertOrDecrease(t, 0.0);
+        }
+
+        // Candidats indexes par arete : chacune est examinee une fois, depuis sa derniere extremite fixee
+        CompactGraph.Adjacency adjacency = graph.getOutgoing();
+        while (true) {
+            double radius = heap.isEmpty() ? Double.POSITIVE_INFINITY : heap.peekKey();
+            while (!bridges.isEmpty() && bridges.peekKey() <= radius) {
+                int e = bridges.poll();
+                int a = graph.getEdgeTail(e);
+                int b = graph.getEdgeHead(e);
+                if (union(zone[a], zone[b])) {
+                    touchEdge(e);
+                    addPass(e, used);
+                    linkToTerminal(a, used);
+                    linkToTerminal(b, used);
+                    if (--components == 1) {
+                        return;
+                    }
+                }
+            }
+            if (heap.isEmpty()) {
+                throw new IllegalArgumentException("Des rues à desservir ne sont pas accessibles depuis le dépôt");
+            }
+
+            int u = heap.poll();
+            settled[u] = true;
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                int e = adjacency.edgeId(slot);
+                touchVertex(v);
+                double through = distance[u] + graph.getWeight(e);
+                if (settled[v]) {
+                    if (zone[v] != zone[u]) {
+                        bridges.insertOrDecrease(e, through + distance[v]);
+                    }
+                } else if (through < distance[v]) {
+                    distance[v] = through;
+                    zone[v] = zone[u];
+                    predecessor[v] = e;
+                    heap.insertOrDecrease(v, through);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ajoute un passage sur le chemin de v vers son terminal, jusqu'au premier sommet deja
+     * relie (les chemins se rejoignent au lieu de se doubler).
+     */
+    private void linkToTerminal(int v, IntList used) {
+        while (!linked[v]) {
+            linked[v] = true;
+            int e = predecessor[v];
+            touchEdge(e);
+            addPass(e, used);
+            v = graph.getEdgeTail(e) == v ? graph.getEdgeHead(e) : graph.getEdgeTail(e);
+        }
+    }
+
+    /**
+     * Ajoute un passage sur e (deja touchee), et e aux aretes empruntees a son premier passage.
+     */
+    private void addPass(int e, IntList used) {
+        if (passes[e]++ == 0) {
+            used.add(e);
+            touchVertex(graph.getEdgeTail(e));
+            touchVertex(graph.getEdgeHead(e));
+        }
+    }
+
+    private void touchEdge(int e) {
+        if (edgeStamps[e] != stamp) {
+            edgeStamps[e] = stamp;
+            passes[e] = 0;
+            served[e] = false;
+        }
+    }
+
+    private void touchVertex(int v) {
+        if (vertexStamps[v] != stamp) {
+            vertexStamps[v] = stamp;
+            parent[v] = v;
+            isTerminal[v] = false;
+            linked[v] = false;
+            odd[v] = false;
+            distance[v] = Double.POSITIVE_INFINITY;
+            zone[v] = -1;
+            predecessor[v] = -1;
+            settled[v] = false;
+        }
+    }
+
+    private void nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            // Debordement du compteur : repartir de tableaux propres
+            Arrays.fill(edgeStamps, 0);
+            Arrays.fill(vertexStamps, 0);
+            stamp = 0;
+        }
+        stamp++;
+    }
+
+    private int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * Reunit les ensembles de a et b ; retourne false s'ils etaient deja reunis.
+     */
+    private boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return false;
+        }
+        parent[ra] = rb;
+        return true;
+    }
+}
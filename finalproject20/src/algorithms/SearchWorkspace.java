@@ -0,0 +1,161 @@
+package algorithms;
+
+import graph.CompactGraph;
+
+import java.util.Arrays;
+
+/**
+ * Tableaux de travail reutilisables pour enchainer de nombreux Dijkstra sur le meme graphe.
+ *
+ * Principe :
+ * - Les tableaux sont alloues une seule fois (taille = nombre de sommets)
+ * - Un numero de recherche (tampon) indique quelles cases sont valides : une distance
+ *   n'est lue que si visited[v] == stamp, il n'y a donc rien a remettre a zero
+ * - Le cout d'une recherche est proportionnel a la zone exploree, pas a la taille du graphe
+ *
+ * Une instance n'est pas partagee entre threads : chaque tache parallele a la sienne.
+ */
+class SearchWorkspace {
+    private final double[] distances;
+    private final int[] visited;
+    private final int[] wanted;
+    private final int[] predecessorEdges;
+    private final IndexedMinHeap queue;
+    private int stamp;
+
+    SearchWorkspace(int vertexCount) {
+        this.distances = new double[vertexCount];
+        this.visited = new int[vertexCount];
+        this.wanted = new int[vertexCount];
+        this.predecessorEdges = new int[vertexCount];
+        this.queue = new IndexedMinHeap(vertexCount);
+        this.stamp = 0;
+    }
+
+    /**
+     * Calcule la distance de root vers chaque sommet de targets (ou de chaque sommet de
+     * targets vers root si reverse). La recherche s'arrete des que tous les sommets
+     * demandes sont definitifs.
+     *
+     * @return Tableau aligne sur targets (infini si inaccessible)
+     */
+    double[] distancesTo(CompactGraph graph, int root, boolean reverse, int[] targets) {
+        nextStamp();
+        int remaining = 0;
+        for (int target : targets) {
+            if (wanted[target] != stamp) {
+                wanted[target] = stamp;
+                remaining++;
+            }
+        }
+
+        CompactGraph.Adjacency adjacency = graph.getAdjacency(reverse);
+        visit(root, 0.0, -1);
+        while (!queue.isEmpty() && remaining > 0) {
+            int u = queue.poll();
+            if (wanted[u] == stamp) {
+                remaining--;
+            }
+            double distanceU = distances[u];
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                double newDistance = distanceU + graph.getWeight(adjacency.edgeId(slot));
+                if (newDistance < distance(v)) {
+                    visit(v, newDistance, adjacency.edgeId(slot));
+                }
+            }
+        }
+        queue.clear();
+
+        double[] result = new double[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            result[i] = distance(targets[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Dijkstra borne : seuls les sommets a distance <= budget de root (ou vers root si
+     * reverse) sont inseres dans la file, la recherche s'arrete donc d'elle-meme au bord
+     * de la zone.
+     *
+     * @param reached Recoit les sommets atteints, par distance croissante
+     */
+    void withinBudget(CompactGraph graph, int root, boolean reverse, double budget, IntList reached) {
+        nextStamp();
+        CompactGraph.Adjacency adjacency = graph.getAdjacency(reverse);
+        visit(root, 0.0, -1);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            reached.add(u);
+            double distanceU = distances[u];
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                double newDistance = distanceU + graph.getWeight(adjacency.edgeId(slot));
+                if (newDistance <= budget && newDistance < distance(v)) {
+                    visit(v, newDistance, adjacency.edgeId(slot));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recherche des plus proches cibles : Dijkstra depuis root jusqu'a ce que count sommets
+     * marques (rank[v] >= 0, root excepte) soient definitifs.
+     *
+     * @param rank Rang de chaque sommet parmi les cibles, -1 pour les autres sommets
+     * @param found Recoit les sommets cibles trouves, par distance croissante
+     */
+    void nearestTargets(CompactGraph graph, int root, boolean reverse, int[] rank, int count, IntList found) {
+        nextStamp();
+        CompactGraph.Adjacency adjacency = graph.getAdjacency(reverse);
+        visit(root, 0.0, -1);
+        while (!queue.isEmpty() && found.size() < count) {
+            int u = queue.poll();
+            if (u != root && rank[u] >= 0) {
+                found.add(u);
+            }
+            double distanceU = distances[u];
+            for (int slot = adjacency.start(u); slot < adjacency.end(u); slot++) {
+                int v = adjacency.target(slot);
+                double newDistance = distanceU + graph.getWeight(adjacency.edgeId(slot));
+                if (newDistance < distance(v)) {
+                    visit(v, newDistance, adjacency.edgeId(slot));
+                }
+            }
+        }
+        queue.clear();
+    }
+
+    /**
+     * Distance provisoire de v pour la derniere recherche (infini si non atteint).
+     */
+    double distance(int v) {
+        return visited[v] == stamp ? distances[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Arete par laquelle v a ete atteint lors de la derniere recherche (-1 pour la racine).
+     * N'a de sens que pour un sommet atteint (distance finie).
+     */
+    int predecessorEdge(int v) {
+        return predecessorEdges[v];
+    }
+
+    private void visit(int v, double distance, int edgeId) {
+        visited[v] = stamp;
+        distances[v] = distance;
+        predecessorEdges[v] = edgeId;
+        queue.insertOrDecrease(v, distance);
+    }
+
+    private void nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            // Debordement du compteur : repartir de tableaux propres
+            Arrays.fill(visited, 0);
+            Arrays.fill(wanted, 0);
+            stamp = 0;
+        }
+        stamp++;
+    }
+}
@@ -0,0 +1,217 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU d'arbres de plus courts chemins, indexe par sommet source.
+ *
+ * Principe :
+ * - Chaque source interrogee donne lieu a un seul Dijkstra ; l'arbre obtenu
+ *   (tableaux de distances et de predecesseurs) est conserve
+ * - Le nombre d'arbres est borne : au-dela, l'arbre le moins recemment utilise est evince.
+ *   Chaque arbre occupe environ 12 octets par sommet du graphe
+ * - Si le graphe est modifie (ajout de sommet ou d'arete), tout le cache est invalide
+ *   automatiquement au prochain acces
+ * - Un changement de poids fait par updateWeight() repare les arbres en cache
+ *   (voir DynamicShortestPaths) au lieu de les jeter
+ * - Pour un graphe non oriente, d(a, b) = d(b, a) : le trajet retour vers une source
+ *   deja en cache est lu dans le meme arbre, sans nouveau calcul
+ * - Pour un graphe oriente, getReverseTree(depot) donne en une seule recherche inversee
+ *   la distance de tous les sommets vers le depot
+ */
+public class ShortestPathCache {
+    private final Graph graph;
+    private final Supplier<CompactGraph> snapshot;
+    private final boolean symmetric;
+    private final Map<Integer, ShortestPathTree> trees;
+    private CompactGraph compactGraph;
+    private DynamicShortestPaths dynamicPaths;
+    private long hits;
+    private long misses;
+
+    /**
+     * Cree un cache pour un graphe non oriente.
+     *
+     * @param graph Le graphe
+     * @param maxTrees Nombre maximal d'arbres conserves
+     */
+    public ShortestPathCache(UndirectedGraph graph, int maxTrees) {
+        this(graph, () -> CompactGraph.of(graph), true, maxTrees);
+    }
+
+    /**
+     * Cree un cache pour un graphe oriente.
+     *
+     * @param graph Le graphe
+     * @param maxTrees Nombre maximal d'arbres conserves
+     */
+    public ShortestPathCache(DirectedGraph graph, int maxTrees) {
+        this(graph, () -> CompactGraph.of(graph), false, maxTrees);
+    }
+
+    private ShortestPathCache(Graph graph, Supplier<CompactGraph> snapshot, boolean symmetric, int maxTrees) {
+        if (maxTrees < 1) {
+            throw new IllegalArgumentException("La taille du cache doit etre au moins 1");
+        }
+        this.graph = graph;
+        this.snapshot = snapshot;
+        this.symmetric = symmetric;
+        // LinkedHashMap en ordre d'acces : l'entree la plus ancienne est la moins recemment utilisee
+        this.trees = new LinkedHashMap<Integer, ShortestPathTree>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ShortestPathTree> eldest) {
+                return size() > maxTrees;
+            }
+        };
+        this.compactGraph = null;
+    }
+
+    /**
+     * Retourne l'arbre des plus courts chemins depuis source (calcule si absent du cache).
+     */
+    public synchronized ShortestPathTree getTree(Vertex source) {
+        CompactGraph current = refresh();
+        int index = current.indexOf(source);
+        if (index < 0) {
+            throw new IllegalArgumentException("Le sommet source n'existe pas dans le graphe");
+        }
+
+        ShortestPathTree tree = trees.get(index);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+        misses++;
+        tree = Dijkstra.shortestPathTree(current, index);
+        trees.put(index, tree);
+        return tree;
+    }
+
+    /**
+     * Retourne l'arbre inverse enracine en target : distances et chemins de tous les
+     * sommets vers target (calcule par une recherche sur les arcs entrants si absent).
+     */
+    public synchronized ShortestPathTree getReverseTree(Vertex target) {
+        if (symmetric) {
+            return getTree(target).reversedView();
+        }
+
+        CompactGraph current = refresh();
+        int index = current.indexOf(target);
+        if (index < 0) {
+            throw new IllegalArgumentException("Le sommet destination n'existe pas dans le graphe");
+        }
+
+        // Les arbres inverses sont ranges sous des cles negatives
+        int key = -index - 1;
+        ShortestPathTree tree = trees.get(key);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+        misses++;
+        tree = Dijkstra.shortestPathTreeTo(current, index);
+        trees.put(key, tree);
+        return tree;
+    }
+
+    /**
+     * Retourne la distance du plus court chemin de from vers to.
+     */
+    public synchronized double getDistance(Vertex from, Vertex to) {
+        ShortestPathTree reverse = findSymmetricTree(from, to);
+        if (reverse != null) {
+            return reverse.getDistance(from);
+        }
+        return getTree(from).getDistance(to);
+    }
+
+    /**
+     * Retourne le plus court chemin de from vers to (vide si inaccessible).
+     */
+    public synchronized List<Vertex> getPath(Vertex from, Vertex to) {
+        return new ArrayList<>(getCompactPath(from, to).asList());
+    }
+
+    /**
+     * Retourne le plus court chemin de from vers to sous forme compacte (vide si inaccessible).
+     */
+    public synchronized CompactPath getCompactPath(Vertex from, Vertex to) {
+        ShortestPathTree reverse = findSymmetricTree(from, to);
+        if (reverse != null) {
+            // Arbre enracine en to lu a l'envers : chemin from -> to
+            return reverse.reversedView().getCompactPath(from);
+        }
+        return getTree(from).getCompactPath(to);
+    }
+
+    /**
+     * Modifie le poids des aretes de from vers to dans le graphe et repare en place
+     * tous les arbres en cache.
+     */
+    public synchronized void updateWeight(Vertex from, Vertex to, double weight) {
+        CompactGraph current = refresh();
+        if (dynamicPaths == null || dynamicPaths.getGraph() != current) {
+            dynamicPaths = new DynamicShortestPaths(current);
+        }
+        dynamicPaths.updateWeight(from, to, weight, trees.values());
+    }
+
+    /**
+     * Pour un graphe non oriente, retourne l'arbre deja en cache enracine en to
+     * lorsque celui de from est absent ; null sinon.
+     */
+    private ShortestPathTree findSymmetricTree(Vertex from, Vertex to) {
+        if (!symmetric) {
+            return null;
+        }
+        CompactGraph current = refresh();
+        int fromIndex = current.indexOf(from);
+        int toIndex = current.indexOf(to);
+        if (fromIndex < 0 || toIndex < 0 || trees.containsKey(fromIndex)) {
+            return null;
+        }
+        ShortestPathTree tree = trees.get(toIndex);
+        if (tree != null) {
+            hits++;
+        }
+        return tree;
+    }
+
+    /**
+     * Reconstruit la representation compacte et vide le cache si le graphe a change.
+     */
+    private CompactGraph refresh() {
+        if (compactGraph == null || !compactGraph.isUpToDate()) {
+            compactGraph = snapshot.get();
+            trees.clear();
+        }
+        return compactGraph;
+    }
+
+    /**
+     * Vide le cache.
+     */
+    public synchronized void clear() {
+        trees.clear();
+    }
+
+    public synchronized int size() {
+        return trees.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+}
@@ -0,0 +1,152 @@
+package algorithms;
+
+import graph.*;
+
+import java.util.*;
+
+/**
+ * Arbre des plus courts chemins depuis une source, stocke dans des tableaux primitifs.
+ *
+ * Pour chaque sommet (indice dans le CompactGraph) on conserve la distance a la source
+ * et l'indice de son predecesseur dans l'arbre (-1 pour la source ou un sommet inaccessible).
+ * Cela represente environ 12 octets par sommet, contre plusieurs dizaines pour les
+ * HashMap de Dijkstra.Result.
+ *
+ * Un arbre inverse (isReverse()) est enracine en une destination : les distances sont
+ * celles des sommets VERS la racine, et le "predecesseur" d'un sommet est le suivant
+ * sur son chemin vers la racine.
+ *
+ * Apres un changement de poids, DynamicShortestPaths repare l'arbre en place
+ * (les tableaux sont modifies, l'objet reste le meme).
+ */
+public class ShortestPathTree {
+    private final CompactGraph graph;
+    private final int source;
+    private final double[] distances;
+    private final int[] predecessors;
+    private final boolean reverse;
+
+    ShortestPathTree(CompactGraph graph, int source, double[] distances, int[] predecessors, boolean reverse) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.reverse = reverse;
+    }
+
+    /**
+     * Retourne le meme arbre lu dans l'autre sens. Valable uniquement pour un graphe
+     * non oriente, ou le chemin a -> b est le chemin b -> a parcouru a l'envers.
+     */
+    ShortestPathTree reversedView() {
+        if (graph.isDirected()) {
+            throw new IllegalStateException("Un arbre oriente ne peut pas etre lu a l'envers");
+        }
+        return new ShortestPathTree(graph, source, distances, predecessors, !reverse);
+    }
+
+    /**
+     * Tableau des distances, modifiable par DynamicShortestPaths.
+     */
+    double[] distances() {
+        return distances;
+    }
+
+    /**
+     * Tableau des predecesseurs, modifiable par DynamicShortestPaths.
+     */
+    int[] predecessors() {
+        return predecessors;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public Vertex getSource() {
+        return graph.getVertex(source);
+    }
+
+    public int getSourceIndex() {
+        return source;
+    }
+
+    public boolean isReverse() {
+        return reverse;
+    }
+
+    public double getDistance(Vertex target) {
+        int index = graph.indexOf(target);
+        return index < 0 ? Double.POSITIVE_INFINITY : distances[index];
+    }
+
+    public double getDistance(int target) {
+        return distances[target];
+    }
+
+    /**
+     * Retourne l'indice du predecesseur de target dans l'arbre, ou -1.
+     */
+    public int getPredecessor(int target) {
+        return predecessors[target];
+    }
+
+    /**
+     * Retourne le plus court chemin de la source vers target (vide si inaccessible).
+     * Pour un arbre inverse, retourne le chemin de target vers la racine.
+     */
+    public List<Vertex> getPath(Vertex target) {
+        return new ArrayList<>(getCompactPath(target).asList());
+    }
+
+    /**
+     * Retourne le plus court chemin sous forme compacte (tableau d'indices), en O(longueur).
+     * Meme orientation que getPath.
+     */
+    public CompactPath getCompactPath(Vertex target) {
+        int index = graph.indexOf(target);
+        if (index < 0) {
+            return new CompactPath(graph, new int[0]);
+        }
+        return getCompactPath(index);
+    }
+
+    /**
+     * Variante indexee.
+     */
+    public CompactPath getCompactPath(int target) {
+        if (distances[target] == Double.POSITIVE_INFINITY) {
+            return new CompactPath(graph, new int[0]); // Pas de chemin
+        }
+
+        // Premier passage pour la longueur, second pour remplir le tableau au bon endroit
+        int length = 0;
+        for (int current = target; current >= 0; current = predecessors[current]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int position = reverse ? 0 : length - 1;
+        int step = reverse ? 1 : -1;
+        for (int current = target; current >= 0; current = predecessors[current]) {
+            path[position] = current;
+            position += step;
+        }
+        return new CompactPath(graph, path);
+    }
+
+    /**
+     * Convertit l'arbre au format Dijkstra.Result (distances et predecesseurs dans des Map).
+     */
+    public Dijkstra.Result toResult() {
+        Map<Vertex, Double> distanceMap = new HashMap<>();
+        Map<Vertex, Vertex> predecessorMap = new HashMap<>();
+        for (int v = 0; v < distances.length; v++) {
+            Vertex vertex = graph.getVertex(v);
+            distanceMap.put(vertex, distances[v]);
+            if (predecessors[v] >= 0) {
+                predecessorMap.put(vertex, graph.getVertex(predecessors[v]));
+            }
+        }
+        return new Dijkstra.Result(getSource(), distanceMap, predecessorMap, reverse);
+    }
+}
@@ -0,0 +1,446 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Représentation compacte d'un graphe sous forme de tableaux primitifs (format CSR).
+ *
+ * Les sommets sont numérotés de 0 à n-1 et les arêtes/arcs de 0 à m-1.
+ * Les arêtes incidentes à un sommet sont stockées de façon contiguë dans des
+ * tableaux d'entiers : un parcours ne crée aucun objet et ne fait aucune
+ * recherche dans une Map, contrairement à getNeighbors() + getWeight().
+ *
+ * Il s'agit d'un instantané : les modifications ultérieures du graphe d'origine
+ * ne sont pas répercutées (voir isUpToDate()), sauf les changements de poids
+ * faits par setWeight(), appliqués aux deux à la fois.
+ *
+ * Graphe mixte (of(MixedGraph)) : la représentation est orientée ; chaque rue à double
+ * sens y devient deux arcs opposés d'identifiants consécutifs (voir getTwin()).
+ *
+ * Mode virgule fixe (withFixedPointWeights) : lorsque tous les poids sont des multiples
+ * de 1/scale (mètres, secondes, décimètres...), ils sont stockés comme entiers int
+ * (poids réel = poids entier / scale), ce qui divise par deux la mémoire des poids et
+ * permet des files de priorité à clés entières (voir RadixHeapDijkstra).
+ */
+public class CompactGraph {
+
+    /**
+     * Listes d'adjacence d'un sens de parcours (arcs sortants ou entrants).
+     * Les emplacements start(u) à end(u) - 1 décrivent les voisins du sommet u.
+     */
+    public static class Adjacency {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] edgeIds;
+
+        private Adjacency(int[] offsets, int[] targets, int[] edgeIds) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.edgeIds = edgeIds;
+        }
+
+        public int start(int vertex) {
+            return offsets[vertex];
+        }
+
+        public int end(int vertex) {
+            return offsets[vertex + 1];
+        }
+
+        public int degree(int vertex) {
+            return offsets[vertex + 1] - offsets[vertex];
+        }
+
+        /**
+         * Retourne le sommet atteint par l'emplacement donné.
+         */
+        public int target(int slot) {
+            return targets[slot];
+        }
+
+        /**
+         * Retourne l'identifiant de l'arête/arc stocké à l'emplacement donné.
+         */
+        public int edgeId(int slot) {
+            return edgeIds[slot];
+        }
+    }
+
+    private final Graph source;
+    private long modificationCount;
+    private final Vertex[] vertices;
+    private final Map<Vertex, Integer> indices;
+    private final boolean directed;
+    private final int firstTwoWayArc;
+    private final int[] edgeTails;
+    private final int[] edgeHeads;
+    private final double[] edgeWeights;
+    private final int[] fixedWeights;
+    private final int weightScale;
+    private final Adjacency outgoing;
+    private final Adjacency incoming;
+
+    private CompactGraph(Graph source, Vertex[] vertices, Map<Vertex, Integer> indices, boolean directed,
+                         int firstTwoWayArc, int[] edgeTails, int[] edgeHeads, double[] edgeWeights) {
+        this.source = source;
+        this.modificationCount = source.getModificationCount();
+        this.vertices = vertices;
+        this.indices = indices;
+        this.directed = directed;
+        this.firstTwoWayArc = firstTwoWayArc;
+        this.edgeTails = edgeTails;
+        this.edgeHeads = edgeHeads;
+        this.edgeWeights = edgeWeights;
+        this.fixedWeights = null;
+        this.weightScale = 0;
+        if (directed) {
+            this.outgoing = buildAdjacency(vertices.length, edgeTails, edgeHeads, false);
+            this.incoming = buildAdjacency(vertices.length, edgeHeads, edgeTails, false);
+        } else {
+            // Pour un graphe non orienté, chaque arête apparaît chez ses deux extrémités
+            this.outgoing = buildAdjacency(vertices.length, edgeTails, edgeHeads, true);
+            this.incoming = outgoing;
+        }
+    }
+
+    /**
+     * Copie partageant la topologie de other, avec des poids en virgule fixe.
+     */
+    private CompactGraph(CompactGraph other, int[] fixedWeights, int weightScale) {
+        this.source = other.source;
+        this.modificationCount = other.modificationCount;
+        this.vertices = other.vertices;
+        this.indices = other.indices;
+        this.directed = other.directed;
+        this.firstTwoWayArc = other.firstTwoWayArc;
+        this.edgeTails = other.edgeTails;
+        this.edgeHeads = other.edgeHeads;
+        this.edgeWeights = null;
+        this.fixedWeights = fixedWeights;
+        this.weightScale = weightScale;
+        this.outgoing = other.outgoing;
+        this.incoming = other.incoming;
+    }
+
+    /**
+     * Construit la représentation compacte d'un graphe non orienté.
+     * Chaque objet Edge reçoit son propre identifiant (les arêtes parallèles sont conservées).
+     */
+    public static CompactGraph of(UndirectedGraph graph) {
+        Vertex[] vertices = graph.getVertices().toArray(new Vertex[0]);
+        Map<Vertex, Integer> indices = indexVertices(vertices);
+
+        int m = graph.getEdgeCount();
+        int[] tails = new int[m];
+        int[] heads = new int[m];
+        double[] weights = new double[m];
+        Set<Edge> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        int count = 0;
+        for (Vertex v : vertices) {
+            for (Edge e : graph.getEdges(v)) {
+                if (seen.add(e)) {
+                    tails[count] = indices.get(e.getFrom());
+                    heads[count] = indices.get(e.getTo());
+                    weights[count] = e.getWeight();
+                    count++;
+                }
+            }
+        }
+        return new CompactGraph(graph, vertices, indices, false, m, tails, heads, weights);
+    }
+
+    /**
+     * Construit la représentation compacte d'un graphe orienté.
+     * Les listes entrantes sont construites en même temps que les listes sortantes.
+     */
+    public static CompactGraph of(DirectedGraph graph) {
+        Vertex[] vertices = graph.getVertices().toArray(new Vertex[0]);
+        Map<Vertex, Integer> indices = indexVertices(vertices);
+
+        List<DirectedEdge> edges = graph.getAllEdges();
+        int m = edges.size();
+        int[] tails = new int[m];
+        int[] heads = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            DirectedEdge e = edges.get(i);
+            tails[i] = indices.get(e.getFrom());
+            heads[i] = indices.get(e.getTo());
+            weights[i] = e.getWeight();
+        }
+        return new CompactGraph(graph, vertices, indices, true, m, tails, heads, weights);
+    }
+
+    /**
+     * Construit la représentation compacte (orientée) d'un graphe mixte.
+     * Les arcs reçoivent les identifiants 0 à getArcCount() - 1 ; l'arête k (dans l'ordre de
+     * getAllEdges()) devient ensuite les arcs getArcCount() + 2k (from → to) et
+     * getArcCount() + 2k + 1 (to → from).
+     */
+    public static CompactGraph of(MixedGraph graph) {
+        Vertex[] vertices = graph.getVertices().toArray(new Vertex[0]);
+        Map<Vertex, Integer> indices = indexVertices(vertices);
+
+        List<DirectedEdge> arcs = graph.getAllArcs();
+        List<Edge> edges = graph.getAllEdges();
+        int a = arcs.size();
+        int m = a + 2 * edges.size();
+        int[] tails = new int[m];
+        int[] heads = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < a; i++) {
+            DirectedEdge arc = arcs.get(i);
+            tails[i] = indices.get(arc.getFrom());
+            heads[i] = indices.get(arc.getTo());
+            weights[i] = arc.getWeight();
+        }
+        for (int k = 0; k < edges.size(); k++) {
+            Edge edge = edges.get(k);
+            int forward = a + 2 * k;
+            tails[forward] = heads[forward + 1] = indices.get(edge.getFrom());
+            heads[forward] = tails[forward + 1] = indices.get(edge.getTo());
+            weights[forward] = weights[forward + 1] = edge.getWeight();
+        }
+        return new CompactGraph(graph, vertices, indices, true, a, tails, heads, weights);
+    }
+
+    private static Map<Vertex, Integer> indexVertices(Vertex[] vertices) {
+        Map<Vertex, Integer> indices = new HashMap<>();
+        for (int i = 0; i < vertices.length; i++) {
+            indices.put(vertices[i], i);
+        }
+        return indices;
+    }
+
+    /**
+     * Construit les tableaux CSR : comptage des degrés, sommes préfixes, puis remplissage.
+     */
+    private static Adjacency buildAdjacency(int n, int[] keys, int[] values, boolean symmetric) {
+        int m = keys.length;
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[keys[e] + 1]++;
+            if (symmetric) {
+                offsets[values[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] edgeIds = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int slot = cursor[keys[e]]++;
+            targets[slot] = values[e];
+            edgeIds[slot] = e;
+            if (symmetric) {
+                slot = cursor[values[e]]++;
+                targets[slot] = keys[e];
+                edgeIds[slot] = e;
+            }
+        }
+        return new Adjacency(offsets, targets, edgeIds);
+    }
+
+    /**
+     * Retourne une version de ce graphe dont les poids sont stockés en entiers :
+     * poids entier = poids réel × scale. La topologie est partagée, pas copiée.
+     *
+     * @param scale Nombre d'unités entières par unité de poids (1 pour des poids entiers)
+     * @throws IllegalArgumentException si un poids n'est pas un multiple de 1/scale
+     *         ou dépasse la capacité d'un int
+     */
+    public CompactGraph withFixedPointWeights(int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("L'échelle doit être au moins 1");
+        }
+        int m = edgeTails.length;
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            double scaled = getWeight(e) * scale;
+            long rounded = Math.round(scaled);
+            if (Math.abs(scaled - rounded) > 1e-9 * Math.max(1.0, Math.abs(scaled)) || rounded > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                    "Poids non représentable en virgule fixe (échelle " + scale + ") : " + getWeight(e));
+            }
+            weights[e] = (int) rounded;
+        }
+        return new CompactGraph(this, weights, scale);
+    }
+
+    /**
+     * Indique si les poids sont stockés en virgule fixe.
+     */
+    public boolean isFixedPoint() {
+        return fixedWeights != null;
+    }
+
+    /**
+     * Retourne l'échelle des poids en virgule fixe (0 si les poids sont des double).
+     */
+    public int getWeightScale() {
+        return weightScale;
+    }
+
+    /**
+     * Retourne le graphe d'origine de cette représentation compacte.
+     */
+    public Graph getSource() {
+        return source;
+    }
+
+    /**
+     * Vérifie que le graphe d'origine n'a pas été modifié depuis la construction.
+     */
+    public boolean isUpToDate() {
+        return source.getModificationCount() == modificationCount;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTails.length;
+    }
+
+    public Vertex getVertex(int index) {
+        return vertices[index];
+    }
+
+    /**
+     * Retourne l'indice du sommet, ou -1 s'il n'appartient pas au graphe.
+     */
+    public int indexOf(Vertex vertex) {
+        Integer index = indices.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Retourne les arcs sortants (ou les arêtes incidentes pour un graphe non orienté).
+     */
+    public Adjacency getOutgoing() {
+        return outgoing;
+    }
+
+    /**
+     * Retourne les arcs entrants (identiques aux sortants pour un graphe non orienté).
+     */
+    public Adjacency getIncoming() {
+        return incoming;
+    }
+
+    /**
+     * Retourne l'adjacence à utiliser pour un parcours direct ou inversé.
+     */
+    public Adjacency getAdjacency(boolean reverse) {
+        return reverse ? incoming : outgoing;
+    }
+
+    /**
+     * Retourne l'arc opposé d'une rue à double sens (graphe mixte), ou -1 pour un arc à
+     * sens unique ou une arête de graphe non orienté.
+     */
+    public int getTwin(int edgeId) {
+        if (edgeId < firstTwoWayArc) {
+            return -1;
+        }
+        return firstTwoWayArc + ((edgeId - firstTwoWayArc) ^ 1);
+    }
+
+    /**
+     * Retourne le nombre d'arcs à sens unique (tous les arcs, sauf pour un graphe mixte).
+     */
+    public int getOneWayCount() {
+        return firstTwoWayArc;
+    }
+
+    public int getEdgeTail(int edgeId) {
+        return edgeTails[edgeId];
+    }
+
+    public int getEdgeHead(int edgeId) {
+        return edgeHeads[edgeId];
+    }
+
+    public double getWeight(int edgeId) {
+        if (fixedWeights != null) {
+            return (double) fixedWeights[edgeId] / weightScale;
+        }
+        return edgeWeights[edgeId];
+    }
+
+    /**
+     * Modifie le poids des arêtes/arcs de from vers to, dans le graphe d'origine et dans
+     * cet instantané, qui reste donc à jour. Pour un graphe mixte, les deux arcs d'une rue
+     * à double sens sont modifiés. Les autres instantanés du même graphe
+     * (copies en virgule fixe comprises) ne le sont plus.
+     *
+     * @return Les identifiants des arêtes modifiées
+     * @throws IllegalStateException si l'instantané n'est plus à jour ou est en virgule fixe
+     * @throws IllegalArgumentException s'il n'existe aucune arête de from vers to
+     */
+    public int[] setWeight(Vertex from, Vertex to, double weight) {
+        if (!isUpToDate()) {
+            throw new IllegalStateException("La représentation compacte n'est plus à jour");
+        }
+        if (fixedWeights != null) {
+            throw new IllegalStateException("Les poids en virgule fixe ne peuvent pas être modifiés");
+        }
+        int u = indexOf(from);
+        int v = indexOf(to);
+        if (u < 0 || v < 0) {
+            throw new IllegalArgumentException("Aucune arête entre " + from + " et " + to);
+        }
+
+        // Arêtes concernées (une boucle apparaît deux fois dans la liste de son sommet)
+        int[] edges = new int[2 * outgoing.degree(u)];
+        int count = 0;
+        for (int slot = outgoing.start(u); slot < outgoing.end(u); slot++) {
+            int edge = outgoing.edgeId(slot);
+            if (outgoing.target(slot) == v && (count == 0 || edges[count - 1] != edge)) {
+                edges[count++] = edge;
+                if (getTwin(edge) >= 0) {
+                    edges[count++] = getTwin(edge);
+                }
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Aucune arête entre " + from + " et " + to);
+        }
+        if (firstTwoWayArc < edgeTails.length) {
+            // Une boucle à double sens a été vue par ses deux arcs
+            Arrays.sort(edges, 0, count);
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (unique == 0 || edges[unique - 1] != edges[i]) {
+                    edges[unique++] = edges[i];
+                }
+            }
+            count = unique;
+        }
+
+        source.setWeight(from, to, weight);
+        for (int i = 0; i < count; i++) {
+            edgeWeights[edges[i]] = weight;
+        }
+        modificationCount = source.getModificationCount();
+        return Arrays.copyOf(edges, count);
+    }
+
+    /**
+     * Retourne le poids entier (en unités 1/scale) d'une arête ; réservé au mode virgule fixe.
+     */
+    public int getFixedWeight(int edgeId) {
+        if (fixedWeights == null) {
+            throw new IllegalStateException("Le graphe n'est pas en mode virgule fixe");
+        }
+        return fixedWeights[edgeId];
+    }
+}
@@ -0,0 +1,246 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Chemin (ou tournée) stocké comme un tableau d'indices de sommets d'un CompactGraph.
+ *
+ * Un sommet du chemin coûte 4 octets, au lieu d'une référence plus la place occupée
+ * dans une ArrayList<Vertex>. La vue asList() permet de passer le chemin aux méthodes
+ * qui attendent une List<Vertex> (affichage, calcul de distance) sans rien copier :
+ * les objets Vertex sont retrouvés à la demande.
+ *
+ * Pour les tournées très longues qui répètent des segments (allers-retours dans une
+ * impasse, par exemple), encodeRuns() produit un codage par plages plus compact.
+ */
+public class CompactPath {
+    private final CompactGraph graph;
+    private final int[] vertices;
+
+    public CompactPath(CompactGraph graph, int[] vertices) {
+        this.graph = graph;
+        this.vertices = vertices;
+    }
+
+    /**
+     * Construit un chemin compact à partir d'une liste de sommets du graphe.
+     */
+    public static CompactPath fromVertices(CompactGraph graph, List<Vertex> path) {
+        int[] indices = new int[path.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = graph.indexOf(path.get(i));
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Le sommet " + path.get(i) + " n'existe pas dans le graphe");
+            }
+        }
+        return new CompactPath(graph, indices);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Retourne le nombre de sommets du chemin.
+     */
+    public int size() {
+        return vertices.length;
+    }
+
+    public boolean isEmpty() {
+        return vertices.length == 0;
+    }
+
+    public int getVertexIndex(int position) {
+        return vertices[position];
+    }
+
+    public Vertex getVertex(int position) {
+        return graph.getVertex(vertices[position]);
+    }
+
+    /**
+     * Retourne une copie des indices de sommets.
+     */
+    public int[] toIndexArray() {
+        return vertices.clone();
+    }
+
+    /**
+     * Retourne une vue List<Vertex> en lecture seule, sans copie.
+     */
+    public List<Vertex> asList() {
+        return new VertexListView();
+    }
+
+    /**
+     * Retourne le même chemin parcouru en sens inverse.
+     */
+    public CompactPath reversed() {
+        int n = vertices.length;
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            reversed[i] = vertices[n - 1 - i];
+        }
+        return new CompactPath(graph, reversed);
+    }
+
+    /**
+     * Encode le chemin par plages : chaque bloc de periode <= maxPeriod sommets répété
+     * consécutivement au moins deux fois est stocké une seule fois avec son nombre de répétitions.
+     *
+     * @param maxPeriod Longueur maximale des blocs recherchés (1 = codage RLE classique)
+     * @return Le chemin encodé
+     */
+    public RunLengthEncoding encodeRuns(int maxPeriod) {
+        if (maxPeriod < 1) {
+            throw new IllegalArgumentException("La période maximale doit être au moins 1");
+        }
+        return RunLengthEncoding.encode(graph, vertices, maxPeriod);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < vertices.length; i++) {
+            if (i > 0) sb.append(" -> ");
+            sb.append(graph.getVertex(vertices[i]).getId());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Vue List<Vertex> paresseuse sur le tableau d'indices.
+     */
+    private class VertexListView extends AbstractList<Vertex> implements RandomAccess {
+        @Override
+        public Vertex get(int index) {
+            return graph.getVertex(vertices[index]);
+        }
+
+        @Override
+        public int size() {
+            return vertices.length;
+        }
+    }
+
+    /**
+     * Chemin encodé par plages de segments répétés.
+     *
+     * Format : une suite de blocs [période p, répétitions r, s1, ..., sp] dans un seul int[].
+     * Un bloc avec r = 1 est une suite littérale de p sommets.
+     */
+    public static class RunLengthEncoding {
+        private final CompactGraph graph;
+        private final int[] blocks;
+        private final int decodedSize;
+
+        private RunLengthEncoding(CompactGraph graph, int[] blocks, int decodedSize) {
+            this.graph = graph;
+            this.blocks = blocks;
+            this.decodedSize = decodedSize;
+        }
+
+        private static RunLengthEncoding encode(CompactGraph graph, int[] path, int maxPeriod) {
+            int n = path.length;
+            int[] out = new int[16];
+            int outSize = 0;
+            int literalStart = 0;
+            int i = 0;
+
+            while (i < n) {
+                // Chercher le bloc répété qui économise le plus de place à partir de i
+                int bestPeriod = 0;
+                int bestRepeats = 0;
+                // Couper une suite littérale coûte 2 entiers d'en-tête : le bloc doit faire mieux
+                int bestSaving = 2;
+                for (int p = 1; p <= maxPeriod && i + 2 * p <= n; p++) {
+                    int repeats = 1;
+                    while (i + (repeats + 1) * p <= n && sameBlock(path, i, i + repeats * p, p)) {
+                        repeats++;
+                    }
+                    // Un bloc coûte p + 2 entiers au lieu de p × repeats
+                    int saving = p * repeats - (p + 2);
+                    if (repeats >= 2 && saving > bestSaving) {
+                        bestPeriod = p;
+                        bestRepeats = repeats;
+                        bestSaving = saving;
+                    }
+                }
+
+                if (bestPeriod == 0) {
+                    i++;
+                    continue;
+                }
+
+                // Vider la suite littérale en attente, puis écrire le bloc répété
+                if (literalStart < i) {
+                    out = ensureCapacity(out, outSize + 2 + (i - literalStart));
+                    outSize = writeBlock(out, outSize, path, literalStart, i - literalStart, 1);
+                }
+                out = ensureCapacity(out, outSize + 2 + bestPeriod);
+                outSize = writeBlock(out, outSize, path, i, bestPeriod, bestRepeats);
+                i += bestPeriod * bestRepeats;
+                literalStart = i;
+            }
+            if (literalStart < n) {
+                out = ensureCapacity(out, outSize + 2 + (n - literalStart));
+                outSize = writeBlock(out, outSize, path, literalStart, n - literalStart, 1);
+            }
+            return new RunLengthEncoding(graph, Arrays.copyOf(out, outSize), n);
+        }
+
+        private static boolean sameBlock(int[] path, int first, int second, int length) {
+            for (int k = 0; k < length; k++) {
+                if (path[first + k] != path[second + k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int[] ensureCapacity(int[] array, int capacity) {
+            return capacity <= array.length ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+        }
+
+        private static int writeBlock(int[] out, int outSize, int[] path, int start, int period, int repeats) {
+            out[outSize++] = period;
+            out[outSize++] = repeats;
+            System.arraycopy(path, start, out, outSize, period);
+            return outSize + period;
+        }
+
+        /**
+         * Retourne le nombre d'entiers utilisés par l'encodage.
+         */
+        public int getEncodedSize() {
+            return blocks.length;
+        }
+
+        /**
+         * Retourne le nombre de sommets du chemin décodé.
+         */
+        public int getDecodedSize() {
+            return decodedSize;
+        }
+
+        /**
+         * Reconstruit le chemin complet.
+         */
+        public CompactPath decode() {
+            int[] path = new int[decodedSize];
+            int size = 0;
+            int pos = 0;
+            while (pos < blocks.length) {
+                int period = blocks[pos];
+                int repeats = blocks[pos + 1];
+                for (int r = 0; r < repeats; r++) {
+                    System.arraycopy(blocks, pos + 2, path, size, period);
+                    size += period;
+                }
+                pos += 2 + period;
+            }
+            return new CompactPath(graph, path);
+        }
+    }
+}
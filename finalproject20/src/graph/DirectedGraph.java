@@ -11,12 +11,16 @@ public class DirectedGraph implements Graph {
     private final Map<Vertex, List<DirectedEdge>> outgoingEdges;
     private final Map<Vertex, List<DirectedEdge>> incomingEdges;
     private int edgeCount;
+    private long modificationCount;
+    private StronglyConnectedComponents components;
+    private long componentsModificationCount;
 
     public DirectedGraph() {
         this.vertices = new HashMap<>();
         this.outgoingEdges = new HashMap<>();
         this.incomingEdges = new HashMap<>();
         this.edgeCount = 0;
+        this.modificationCount = 0;
     }
 
     /**
@@ -28,6 +32,7 @@ public class DirectedGraph implements Graph {
             vertices.put(vertex.getId(), vertex);
             outgoingEdges.put(vertex, new ArrayList<>());
             incomingEdges.put(vertex, new ArrayList<>());
+            modificationCount++;
         }
     }
 
@@ -43,6 +48,41 @@ public class DirectedGraph implements Graph {
         outgoingEdges.get(from).add(edge);
         incomingEdges.get(to).add(edge);
         edgeCount++;
+        modificationCount++;
+    }
+
+    /**
+     * Modifie le poids de tous les arcs de from vers to.
+     * Les arcs étant immuables, chacun est remplacé par un nouvel arc
+     * dans les listes sortantes de from et entrantes de to.
+     */
+    @Override
+    public void setWeight(Vertex from, Vertex to, double weight) {
+        List<DirectedEdge> outgoing = outgoingEdges.get(from);
+        List<DirectedEdge> incoming = incomingEdges.get(to);
+        if (outgoing == null || incoming == null) {
+            throw new IllegalArgumentException("Aucun arc de " + from + " vers " + to);
+        }
+
+        Map<DirectedEdge, DirectedEdge> replacements = new IdentityHashMap<>();
+        for (int i = 0; i < outgoing.size(); i++) {
+            DirectedEdge edge = outgoing.get(i);
+            if (edge.getTo().equals(to)) {
+                DirectedEdge replacement = new DirectedEdge(from, to, weight);
+                replacements.put(edge, replacement);
+                outgoing.set(i, replacement);
+            }
+        }
+        if (replacements.isEmpty()) {
+            throw new IllegalArgumentException("Aucun arc de " + from + " vers " + to);
+        }
+        for (int i = 0; i < incoming.size(); i++) {
+            DirectedEdge replacement = replacements.get(incoming.get(i));
+            if (replacement != null) {
+                incoming.set(i, replacement);
+            }
+        }
+        modificationCount++;
     }
 
     /**
@@ -128,6 +168,32 @@ public class DirectedGraph implements Graph {
         return outgoingEdges.getOrDefault(vertex, new ArrayList<>()).size();
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Retourne les composantes fortement connexes du graphe.
+     * Le résultat est conservé et n'est recalculé qu'après une modification du graphe :
+     * tester si un aller-retour est possible ne coûte alors qu'une recherche de sommet.
+     */
+    public synchronized StronglyConnectedComponents getStronglyConnectedComponents() {
+        long current = getModificationCount();
+        if (components == null || componentsModificationCount != current) {
+            components = StronglyConnectedComponents.of(this);
+            componentsModificationCount = current;
+        }
+        return components;
+    }
+
+    /**
+     * Vérifie si a et b sont mutuellement accessibles (aller-retour possible).
+     */
+    public boolean areStronglyConnected(Vertex a, Vertex b) {
+        return getStronglyConnectedComponents().areStronglyConnected(a, b);
+    }
+
     @Override
     public boolean isEmpty() {
         return vertices.isEmpty();
@@ -0,0 +1,134 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Vue en lecture seule d'un sous-graphe induit d'un graphe orienté.
+ *
+ * L'ensemble des sommets est fixé à la construction ; les arcs sont lus à la demande
+ * dans le graphe d'origine (seuls ceux dont les deux extrémités appartiennent à la vue
+ * sont visibles). Aucun arc n'est copié, et un changement de poids dans le graphe
+ * d'origine est immédiatement visible.
+ *
+ * La vue est en lecture seule : addVertex, addEdge et setWeight lèvent une exception.
+ */
+public class DirectedSubgraph extends DirectedGraph {
+    private final DirectedGraph parent;
+    private final Set<Vertex> members;
+
+    /**
+     * Crée la vue de parent restreinte aux sommets donnés.
+     *
+     * @throws IllegalArgumentException si un sommet n'appartient pas au graphe d'origine
+     */
+    public DirectedSubgraph(DirectedGraph parent, Collection<Vertex> vertices) {
+        this.parent = parent;
+        this.members = new HashSet<>();
+        for (Vertex v : vertices) {
+            if (parent.getVertex(v.getId()) == null) {
+                throw new IllegalArgumentException("Le sommet " + v + " n'existe pas dans le graphe d'origine");
+            }
+            members.add(v);
+            super.addVertex(v);
+        }
+    }
+
+    public DirectedGraph getParent() {
+        return parent;
+    }
+
+    @Override
+    public void addVertex(Vertex vertex) {
+        throw new UnsupportedOperationException("Le sous-graphe est en lecture seule");
+    }
+
+    @Override
+    public void addEdge(Vertex from, Vertex to, double weight) {
+        throw new UnsupportedOperationException("Le sous-graphe est en lecture seule");
+    }
+
+    @Override
+    public void setWeight(Vertex from, Vertex to, double weight) {
+        throw new UnsupportedOperationException("Le sous-graphe est en lecture seule");
+    }
+
+    @Override
+    public List<DirectedEdge> getOutgoingEdges(Vertex vertex) {
+        List<DirectedEdge> edges = new ArrayList<>();
+        if (!members.contains(vertex)) {
+            return edges;
+        }
+        for (DirectedEdge edge : parent.getOutgoingEdges(vertex)) {
+            if (members.contains(edge.getTo())) {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public List<DirectedEdge> getIncomingEdges(Vertex vertex) {
+        List<DirectedEdge> edges = new ArrayList<>();
+        if (!members.contains(vertex)) {
+            return edges;
+        }
+        for (DirectedEdge edge : parent.getIncomingEdges(vertex)) {
+            if (members.contains(edge.getFrom())) {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public List<DirectedEdge> getAllEdges() {
+        List<DirectedEdge> allEdges = new ArrayList<>();
+        for (Vertex v : members) {
+            allEdges.addAll(getOutgoingEdges(v));
+        }
+        return allEdges;
+    }
+
+    @Override
+    public double getWeight(Vertex from, Vertex to) {
+        if (!members.contains(from) || !members.contains(to)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return parent.getWeight(from, to);
+    }
+
+    /**
+     * Nombre d'arcs visibles, recompté à chaque appel (le graphe d'origine peut changer).
+     */
+    @Override
+    public int getEdgeCount() {
+        return getAllEdges().size();
+    }
+
+    @Override
+    public int getInDegree(Vertex vertex) {
+        return getIncomingEdges(vertex).size();
+    }
+
+    @Override
+    public int getOutDegree(Vertex vertex) {
+        return getOutgoingEdges(vertex).size();
+    }
+
+    @Override
+    public List<Vertex> getNeighbors(Vertex vertex) {
+        List<Vertex> neighbors = new ArrayList<>();
+        for (DirectedEdge edge : getOutgoingEdges(vertex)) {
+            neighbors.add(edge.getTo());
+        }
+        return neighbors;
+    }
+
+    /**
+     * Compteur du graphe d'origine : les structures dérivées de la vue voient ses modifications.
+     */
+    @Override
+    public long getModificationCount() {
+        return parent.getModificationCount();
+    }
+}
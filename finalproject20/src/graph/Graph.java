@@ -49,6 +49,20 @@ public interface Graph {
      * Pour un graphe orienté, cela peut être les successeurs.
      */
     List<Vertex> getNeighbors(Vertex vertex);
+
+    /**
+     * Modifie le poids de toutes les arêtes/arcs reliant from à to (arêtes parallèles comprises).
+     *
+     * @throws IllegalArgumentException s'il n'existe aucune arête/arc de from vers to
+     */
+    void setWeight(Vertex from, Vertex to, double weight);
+
+    /**
+     * Retourne un compteur incrémenté à chaque modification du graphe.
+     * Permet aux structures dérivées (caches, représentations compactes) de détecter
+     * qu'elles ne sont plus à jour.
+     */
+    long getModificationCount();
 }
 
 
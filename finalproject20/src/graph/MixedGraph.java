@@ -0,0 +1,310 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Représente un graphe mixte pondéré : des arcs (rues à sens unique, parcourues
+ * de 'from' vers 'to') et des arêtes (rues à double sens, parcourues dans un sens
+ * ou dans l'autre) entre les mêmes sommets.
+ */
+public class MixedGraph implements Graph {
+    private final Map<String, Vertex> vertices;
+    private final Map<Vertex, List<DirectedEdge>> outgoingArcs;
+    private final Map<Vertex, List<DirectedEdge>> incomingArcs;
+    private final Map<Vertex, List<Edge>> edges;
+    private int arcCount;
+    private int undirectedEdgeCount;
+    private long modificationCount;
+
+    public MixedGraph() {
+        this.vertices = new HashMap<>();
+        this.outgoingArcs = new HashMap<>();
+        this.incomingArcs = new HashMap<>();
+        this.edges = new HashMap<>();
+        this.arcCount = 0;
+        this.undirectedEdgeCount = 0;
+        this.modificationCount = 0;
+    }
+
+    /**
+     * Ajoute un sommet au graphe.
+     */
+    @Override
+    public void addVertex(Vertex vertex) {
+        if (!vertices.containsKey(vertex.getId())) {
+            vertices.put(vertex.getId(), vertex);
+            outgoingArcs.put(vertex, new ArrayList<>());
+            incomingArcs.put(vertex, new ArrayList<>());
+            edges.put(vertex, new ArrayList<>());
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Ajoute un arc (sens unique) du sommet 'from' vers le sommet 'to'.
+     * Si les sommets n'existent pas, ils sont créés automatiquement.
+     */
+    public void addArc(Vertex from, Vertex to, double weight) {
+        addVertex(from);
+        addVertex(to);
+
+        DirectedEdge arc = new DirectedEdge(from, to, weight);
+        outgoingArcs.get(from).add(arc);
+        incomingArcs.get(to).add(arc);
+        arcCount++;
+        modificationCount++;
+    }
+
+    /**
+     * Ajoute une arête (double sens) entre deux sommets.
+     * Si les sommets n'existent pas, ils sont créés automatiquement.
+     */
+    public void addEdge(Vertex from, Vertex to, double weight) {
+        addVertex(from);
+        addVertex(to);
+
+        Edge edge = new Edge(from, to, weight);
+        edges.get(from).add(edge);
+        edges.get(to).add(edge);
+        undirectedEdgeCount++;
+        modificationCount++;
+    }
+
+    /**
+     * Modifie le poids des arcs de from vers to et des arêtes entre from et to.
+     * Arcs et arêtes étant immuables, chacun est remplacé par un nouvel objet
+     * aux mêmes extrémités.
+     */
+    @Override
+    public void setWeight(Vertex from, Vertex to, double weight) {
+        if (!vertices.containsKey(from.getId()) || !vertices.containsKey(to.getId())) {
+            throw new IllegalArgumentException("Aucune rue de " + from + " vers " + to);
+        }
+
+        // Arcs de from vers to
+        Map<DirectedEdge, DirectedEdge> arcReplacements = new IdentityHashMap<>();
+        List<DirectedEdge> outgoing = outgoingArcs.get(from);
+        for (int i = 0; i < outgoing.size(); i++) {
+            DirectedEdge arc = outgoing.get(i);
+            if (arc.getTo().equals(to)) {
+                DirectedEdge replacement = new DirectedEdge(from, to, weight);
+                arcReplacements.put(arc, replacement);
+                outgoing.set(i, replacement);
+            }
+        }
+        List<DirectedEdge> incoming = incomingArcs.get(to);
+        for (int i = 0; i < incoming.size(); i++) {
+            DirectedEdge replacement = arcReplacements.get(incoming.get(i));
+            if (replacement != null) {
+                incoming.set(i, replacement);
+            }
+        }
+
+        // Arêtes entre from et to
+        Map<Edge, Edge> edgeReplacements = new IdentityHashMap<>();
+        List<Edge> fromEdges = edges.get(from);
+        for (int i = 0; i < fromEdges.size(); i++) {
+            Edge edge = fromEdges.get(i);
+            if (edge.getOther(from).equals(to)) {
+                Edge replacement = edgeReplacements.get(edge);
+                if (replacement == null) {
+                    replacement = new Edge(edge.getFrom(), edge.getTo(), weight);
+                    edgeReplacements.put(edge, replacement);
+                }
+                fromEdges.set(i, replacement);
+            }
+        }
+        List<Edge> toEdges = edges.get(to);
+        if (toEdges != fromEdges) {
+            for (int i = 0; i < toEdges.size(); i++) {
+                Edge replacement = edgeReplacements.get(toEdges.get(i));
+                if (replacement != null) {
+                    toEdges.set(i, replacement);
+                }
+            }
+        }
+
+        if (arcReplacements.isEmpty() && edgeReplacements.isEmpty()) {
+            throw new IllegalArgumentException("Aucune rue de " + from + " vers " + to);
+        }
+        modificationCount++;
+    }
+
+    /**
+     * Retourne les arcs sortants d'un sommet.
+     */
+    public List<DirectedEdge> getOutgoingArcs(Vertex vertex) {
+        return new ArrayList<>(outgoingArcs.getOrDefault(vertex, new ArrayList<>()));
+    }
+
+    /**
+     * Retourne les arcs entrants d'un sommet.
+     */
+    public List<DirectedEdge> getIncomingArcs(Vertex vertex) {
+        return new ArrayList<>(incomingArcs.getOrDefault(vertex, new ArrayList<>()));
+    }
+
+    /**
+     * Retourne les arêtes (double sens) incidentes à un sommet.
+     */
+    public List<Edge> getEdges(Vertex vertex) {
+        return new ArrayList<>(edges.getOrDefault(vertex, new ArrayList<>()));
+    }
+
+    /**
+     * Retourne tous les arcs du graphe.
+     */
+    public List<DirectedEdge> getAllArcs() {
+        List<DirectedEdge> allArcs = new ArrayList<>();
+        for (List<DirectedEdge> arcs : outgoingArcs.values()) {
+            allArcs.addAll(arcs);
+        }
+        return allArcs;
+    }
+
+    /**
+     * Retourne toutes les arêtes (double sens) du graphe, arêtes parallèles comprises.
+     */
+    public List<Edge> getAllEdges() {
+        Set<Edge> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Edge> allEdges = new ArrayList<>();
+        for (List<Edge> incident : edges.values()) {
+            for (Edge edge : incident) {
+                if (seen.add(edge)) {
+                    allEdges.add(edge);
+                }
+            }
+        }
+        return allEdges;
+    }
+
+    /**
+     * Retourne le poids de la rue la plus courte permettant d'aller de 'from' à 'to'
+     * (arc de from vers to ou arête entre les deux), ou Double.POSITIVE_INFINITY s'il n'y en a pas.
+     */
+    public double getWeight(Vertex from, Vertex to) {
+        double best = Double.POSITIVE_INFINITY;
+        List<DirectedEdge> arcs = outgoingArcs.get(from);
+        if (arcs != null) {
+            for (DirectedEdge arc : arcs) {
+                if (arc.getTo().equals(to)) {
+                    best = Math.min(best, arc.getWeight());
+                }
+            }
+        }
+        List<Edge> incident = edges.get(from);
+        if (incident != null) {
+            for (Edge edge : incident) {
+                if (edge.getOther(from).equals(to)) {
+                    best = Math.min(best, edge.getWeight());
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Set<Vertex> getVertices() {
+        return new HashSet<>(vertices.values());
+    }
+
+    @Override
+    public Vertex getVertex(String id) {
+        return vertices.get(id);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Retourne le nombre total de rues (arcs et arêtes).
+     */
+    @Override
+    public int getEdgeCount() {
+        return arcCount + undirectedEdgeCount;
+    }
+
+    /**
+     * Retourne le nombre d'arcs (rues à sens unique).
+     */
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Retourne le nombre d'arêtes (rues à double sens).
+     */
+    public int getUndirectedEdgeCount() {
+        return undirectedEdgeCount;
+    }
+
+    /**
+     * Retourne le degré total d'un sommet (arcs entrants et sortants, et arêtes).
+     */
+    @Override
+    public int getDegree(Vertex vertex) {
+        return incomingArcs.getOrDefault(vertex, new ArrayList<>()).size()
+            + outgoingArcs.getOrDefault(vertex, new ArrayList<>()).size()
+            + edges.getOrDefault(vertex, new ArrayList<>()).size();
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return vertices.isEmpty();
+    }
+
+    /**
+     * Retourne les sommets accessibles directement : successeurs par les arcs
+     * sortants, puis voisins par les arêtes.
+     */
+    @Override
+    public List<Vertex> getNeighbors(Vertex vertex) {
+        List<Vertex> neighbors = new ArrayList<>();
+        List<DirectedEdge> arcs = outgoingArcs.get(vertex);
+        if (arcs != null) {
+            for (DirectedEdge arc : arcs) {
+                neighbors.add(arc.getTo());
+            }
+        }
+        List<Edge> incident = edges.get(vertex);
+        if (incident != null) {
+            for (Edge edge : incident) {
+                neighbors.add(edge.getOther(vertex));
+            }
+        }
+        return neighbors;
+    }
+
+    /**
+     * Retourne une représentation textuelle du graphe pour le débogage.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Graphe mixte : ").append(getVertexCount()).append(" sommets, ")
+          .append(arcCount).append(" arcs, ").append(undirectedEdgeCount).append(" arêtes\n");
+        for (Vertex v : vertices.values()) {
+            sb.append(v).append(" : ");
+            boolean first = true;
+            for (DirectedEdge arc : outgoingArcs.get(v)) {
+                if (!first) sb.append(", ");
+                sb.append("→").append(arc.getTo().getId()).append("(").append(arc.getWeight()).append(")");
+                first = false;
+            }
+            for (Edge edge : edges.get(v)) {
+                if (!first) sb.append(", ");
+                sb.append(edge.getOther(v).getId()).append("(").append(edge.getWeight()).append(")");
+                first = false;
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,194 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Composantes fortement connexes d'un graphe (algorithme de Tarjan, version itérative).
+ *
+ * Deux sommets sont dans la même composante si chacun est accessible depuis l'autre :
+ * un aller-retour dépôt → particulier → dépôt n'est possible que dans ce cas.
+ *
+ * Le parcours en profondeur est mené avec une pile explicite (un curseur par sommet sur
+ * ses arcs sortants) au lieu de la récursion : aucun risque de StackOverflowError sur
+ * un grand graphe, et le temps reste linéaire (chaque arc est examiné une seule fois).
+ *
+ * Les composantes sont numérotées dans l'ordre où Tarjan les termine, c'est-à-dire dans
+ * l'ordre topologique inverse du graphe des composantes (une composante puits d'abord).
+ *
+ * Pour un DirectedGraph, le résultat est conservé par le graphe lui-même
+ * (voir DirectedGraph.getStronglyConnectedComponents()).
+ */
+public class StronglyConnectedComponents {
+    private final CompactGraph graph;
+    private final int[] components;
+    private final int[] componentOffsets;
+    private final int[] componentVertices;
+
+    private StronglyConnectedComponents(CompactGraph graph, int[] components, int componentCount) {
+        this.graph = graph;
+        this.components = components;
+
+        // Regrouper les sommets par composante (tri par comptage)
+        this.componentOffsets = new int[componentCount + 1];
+        for (int c : components) {
+            componentOffsets[c + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentOffsets[c + 1] += componentOffsets[c];
+        }
+        int[] cursor = Arrays.copyOf(componentOffsets, componentCount);
+        this.componentVertices = new int[components.length];
+        for (int v = 0; v < components.length; v++) {
+            componentVertices[cursor[components[v]]++] = v;
+        }
+    }
+
+    /**
+     * Calcule les composantes fortement connexes d'un graphe orienté.
+     */
+    public static StronglyConnectedComponents of(DirectedGraph graph) {
+        return of(CompactGraph.of(graph));
+    }
+
+    /**
+     * Calcule les composantes fortement connexes d'un graphe compact (pour un graphe
+     * non orienté, ce sont simplement ses composantes connexes).
+     */
+    public static StronglyConnectedComponents of(CompactGraph graph) {
+        int n = graph.getVertexCount();
+        CompactGraph.Adjacency outgoing = graph.getOutgoing();
+        int[] order = new int[n];        // Numéro de visite (-1 si non visité)
+        int[] low = new int[n];          // Plus petit numéro accessible depuis le sous-arbre
+        int[] cursor = new int[n];       // Prochain arc sortant à examiner
+        int[] components = new int[n];   // Composante (-1 tant que le sommet est sur la pile)
+        int[] tarjanStack = new int[n];
+        int[] callStack = new int[n];
+        Arrays.fill(order, -1);
+        Arrays.fill(components, -1);
+
+        int visitCount = 0;
+        int componentCount = 0;
+        int tarjanTop = 0;
+        for (int root = 0; root < n; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+            int callTop = 0;
+            order[root] = low[root] = visitCount++;
+            cursor[root] = outgoing.start(root);
+            tarjanStack[tarjanTop++] = root;
+            callStack[callTop++] = root;
+
+            while (callTop > 0) {
+                int u = callStack[callTop - 1];
+                if (cursor[u] < outgoing.end(u)) {
+                    int v = outgoing.target(cursor[u]++);
+                    if (order[v] < 0) {
+                        // Descendre vers v (équivalent de l'appel récursif)
+                        order[v] = low[v] = visitCount++;
+                        cursor[v] = outgoing.start(v);
+                        tarjanStack[tarjanTop++] = v;
+                        callStack[callTop++] = v;
+                    } else if (components[v] < 0) {
+                        // v est encore sur la pile : il appartient à la composante en cours
+                        low[u] = Math.min(low[u], order[v]);
+                    }
+                    continue;
+                }
+
+                // Tous les arcs de u ont été examinés : retour vers son parent
+                callTop--;
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    low[parent] = Math.min(low[parent], low[u]);
+                }
+                if (low[u] == order[u]) {
+                    // u est la racine d'une composante : dépiler jusqu'à u
+                    int w;
+                    do {
+                        w = tarjanStack[--tarjanTop];
+                        components[w] = componentCount;
+                    } while (w != u);
+                    componentCount++;
+                }
+            }
+        }
+        return new StronglyConnectedComponents(graph, components, componentCount);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public int getComponentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    /**
+     * Vérifie si tout sommet est accessible depuis tout autre sommet.
+     */
+    public boolean isStronglyConnected() {
+        return getComponentCount() <= 1;
+    }
+
+    /**
+     * Retourne le numéro de la composante du sommet d'indice compact donné.
+     */
+    public int getComponent(int vertexIndex) {
+        return components[vertexIndex];
+    }
+
+    /**
+     * Retourne le numéro de la composante d'un sommet.
+     *
+     * @throws IllegalArgumentException si le sommet n'existe pas dans le graphe
+     */
+    public int getComponent(Vertex vertex) {
+        int index = graph.indexOf(vertex);
+        if (index < 0) {
+            throw new IllegalArgumentException("Le sommet " + vertex + " n'existe pas dans le graphe");
+        }
+        return components[index];
+    }
+
+    /**
+     * Vérifie si a et b sont mutuellement accessibles (aller-retour possible).
+     */
+    public boolean areStronglyConnected(Vertex a, Vertex b) {
+        return getComponent(a) == getComponent(b);
+    }
+
+    /**
+     * Retourne le nombre de sommets de la composante c.
+     */
+    public int getComponentSize(int c) {
+        return componentOffsets[c + 1] - componentOffsets[c];
+    }
+
+    /**
+     * Retourne le numéro de la plus grande composante (-1 si le graphe est vide).
+     */
+    public int getLargestComponent() {
+        if (getComponentCount() == 0) {
+            return -1;
+        }
+        int largest = 0;
+        for (int c = 1; c < getComponentCount(); c++) {
+            if (getComponentSize(c) > getComponentSize(largest)) {
+                largest = c;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Retourne les sommets de la composante c.
+     */
+    public List<Vertex> getComponentVertices(int c) {
+        List<Vertex> result = new ArrayList<>(getComponentSize(c));
+        for (int p = componentOffsets[c]; p < componentOffsets[c + 1]; p++) {
+            result.add(graph.getVertex(componentVertices[p]));
+        }
+        return result;
+    }
+}
@@ -10,11 +10,13 @@ public class UndirectedGraph implements Graph {
     private final Map<String, Vertex> vertices;
     private final Map<Vertex, List<Edge>> adjacencyList;
     private int edgeCount;
+    private long modificationCount;
 
     public UndirectedGraph() {
         this.vertices = new HashMap<>();
         this.adjacencyList = new HashMap<>();
         this.edgeCount = 0;
+        this.modificationCount = 0;
     }
 
     /**
@@ -25,6 +27,7 @@ public class UndirectedGraph implements Graph {
         if (!vertices.containsKey(vertex.getId())) {
             vertices.put(vertex.getId(), vertex);
             adjacencyList.put(vertex, new ArrayList<>());
+            modificationCount++;
         }
     }
 
@@ -40,6 +43,46 @@ public class UndirectedGraph implements Graph {
         adjacencyList.get(from).add(edge);
         adjacencyList.get(to).add(edge);
         edgeCount++;
+        modificationCount++;
+    }
+
+    /**
+     * Modifie le poids de toutes les arêtes entre from et to.
+     * Les arêtes étant immuables, chacune est remplacée par une nouvelle arête
+     * aux mêmes extrémités chez ses deux sommets.
+     */
+    @Override
+    public void setWeight(Vertex from, Vertex to, double weight) {
+        List<Edge> fromEdges = adjacencyList.get(from);
+        List<Edge> toEdges = adjacencyList.get(to);
+        if (fromEdges == null || toEdges == null) {
+            throw new IllegalArgumentException("Aucune arête entre " + from + " et " + to);
+        }
+
+        Map<Edge, Edge> replacements = new IdentityHashMap<>();
+        for (int i = 0; i < fromEdges.size(); i++) {
+            Edge edge = fromEdges.get(i);
+            if (edge.getOther(from).equals(to)) {
+                Edge replacement = replacements.get(edge);
+                if (replacement == null) {
+                    replacement = new Edge(edge.getFrom(), edge.getTo(), weight);
+                    replacements.put(edge, replacement);
+                }
+                fromEdges.set(i, replacement);
+            }
+        }
+        if (replacements.isEmpty()) {
+            throw new IllegalArgumentException("Aucune arête entre " + from + " et " + to);
+        }
+        if (toEdges != fromEdges) {
+            for (int i = 0; i < toEdges.size(); i++) {
+                Edge replacement = replacements.get(toEdges.get(i));
+                if (replacement != null) {
+                    toEdges.set(i, replacement);
+                }
+            }
+        }
+        modificationCount++;
     }
 
     /**
@@ -103,6 +146,11 @@ public class UndirectedGraph implements Graph {
         return adjacencyList.getOrDefault(vertex, new ArrayList<>()).size();
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     @Override
     public boolean isEmpty() {
         return vertices.isEmpty();
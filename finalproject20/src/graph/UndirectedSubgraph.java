@@ -0,0 +1,115 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * Vue en lecture seule d'un sous-graphe induit d'un graphe non orienté.
+ *
+ * L'ensemble des sommets est fixé à la construction ; les arêtes sont lues à la demande
+ * dans le graphe d'origine (seules celles dont les deux extrémités appartiennent à la vue
+ * sont visibles). Aucune arête n'est copiée, et un changement de poids dans le graphe
+ * d'origine est immédiatement visible.
+ *
+ * La vue est en lecture seule : addVertex, addEdge et setWeight lèvent une exception.
+ */
+public class UndirectedSubgraph extends UndirectedGraph {
+    private final UndirectedGraph parent;
+    private final Set<Vertex> members;
+
+    /**
+     * Crée la vue de parent restreinte aux sommets donnés.
+     *
+     * @throws IllegalArgumentException si un sommet n'appartient pas au graphe d'origine
+     */
+    public UndirectedSubgraph(UndirectedGraph parent, Collection<Vertex> vertices) {
+        this.parent = parent;
+        this.members = new HashSet<>();
+        for (Vertex v : vertices) {
+            if (parent.getVertex(v.getId()) == null) {
+                throw new IllegalArgumentException("Le sommet " + v + " n'existe pas dans le graphe d'origine");
+            }
+            members.add(v);
+            super.addVertex(v);
+        }
+    }
+
+    public UndirectedGraph getParent() {
+        return parent;
+    }
+
+    @Override
+    public void addVertex(Vertex vertex) {
+        throw new UnsupportedOperationException("Le sous-graphe est en lecture seule");
+    }
+
+    @Override
+    public void addEdge(Vertex from, Vertex to, double weight) {
+        throw new UnsupportedOperationException("Le sous-graphe est en lecture seule");
+    }
+
+    @Override
+    public void setWeight(Vertex from, Vertex to, double weight) {
+        throw new UnsupportedOperationException("Le sous-graphe est en lecture seule");
+    }
+
+    @Override
+    public List<Edge> getEdges(Vertex vertex) {
+        List<Edge> edges = new ArrayList<>();
+        if (!members.contains(vertex)) {
+            return edges;
+        }
+        for (Edge edge : parent.getEdges(vertex)) {
+            if (members.contains(edge.getOther(vertex))) {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public List<Edge> getAllEdges() {
+        Set<Edge> edgeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Vertex v : members) {
+            edgeSet.addAll(getEdges(v));
+        }
+        return new ArrayList<>(edgeSet);
+    }
+
+    @Override
+    public double getWeight(Vertex from, Vertex to) {
+        if (!members.contains(from) || !members.contains(to)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return parent.getWeight(from, to);
+    }
+
+    /**
+     * Nombre d'arêtes visibles, recompté à chaque appel (le graphe d'origine peut changer).
+     */
+    @Override
+    public int getEdgeCount() {
+        return getAllEdges().size();
+    }
+
+    @Override
+    public int getDegree(Vertex vertex) {
+        return getEdges(vertex).size();
+    }
+
+    @Override
+    public List<Vertex> getNeighbors(Vertex vertex) {
+        List<Vertex> neighbors = new ArrayList<>();
+        for (Edge edge : getEdges(vertex)) {
+            neighbors.add(edge.getOther(vertex));
+        }
+        return neighbors;
+    }
+
+    /**
+     * Compteur du graphe d'origine : les structures dérivées de la vue voient ses modifications.
+     */
+    @Override
+    public long getModificationCount() {
+        return parent.getModificationCount();
+    }
+}
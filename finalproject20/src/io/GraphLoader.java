@@ -5,7 +5,9 @@ import graph.*;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,8 +21,60 @@ import java.util.Map;
  * #Aretes (pour graphe non orienté) ou #Arcs (pour graphe orienté)
  * ID1;ID2;Poids
  * ...
+ * 
+ * Graphe mixte (loadMixedGraph) : le même fichier peut contenir une section #Aretes
+ * (rues à double sens) et une section #Arcs (rues à sens unique).
+ * 
+ * Tournées avec capacité : une quatrième colonne facultative de la section #Aretes
+ * (ID1;ID2;Poids;Demande) donne la quantité à collecter dans la rue, lue par
+ * loadUndirectedGraphWithDemands (0 si elle est absente).
+ * 
+ * Mode virgule fixe : les variantes prenant une échelle (weightScale) exigent que chaque
+ * poids soit un multiple de 1/weightScale (weightScale = 1 pour des mètres ou secondes
+ * entiers). Le graphe peut alors être compacté avec CompactGraph.withFixedPointWeights.
  */
 public class GraphLoader {
+
+    /** Échelle signifiant "poids réels quelconques" (aucune contrainte de virgule fixe). */
+    private static final int ANY_WEIGHT = 0;
+
+    /**
+     * Résultat du chargement avec demandes : graphe + quantité à collecter dans chaque rue.
+     * Une demande par ligne de #Aretes, dans l'ordre du fichier : deux rues parallèles
+     * gardent chacune la leur (getStreets().get(i) a la demande getDemands()[i]).
+     */
+    public static class DemandLoadResult {
+        private final UndirectedGraph graph;
+        private final List<Edge> streets;
+        private final double[] demands;
+
+        public DemandLoadResult(UndirectedGraph graph, List<Edge> streets, double[] demands) {
+            if (streets.size() != demands.length) {
+                throw new IllegalArgumentException("Une demande est attendue pour chaque rue");
+            }
+            this.graph = graph;
+            this.streets = streets;
+            this.demands = demands;
+        }
+
+        public UndirectedGraph getGraph() {
+            return graph;
+        }
+
+        /**
+         * Retourne les rues de demande non nulle, dans l'ordre du fichier.
+         */
+        public List<Edge> getStreets() {
+            return streets;
+        }
+
+        /**
+         * Retourne la demande de chaque rue de getStreets().
+         */
+        public double[] getDemands() {
+            return demands.clone();
+        }
+    }
     
     /**
      * Charge un graphe non orienté depuis un fichier.
@@ -31,6 +85,51 @@ public class GraphLoader {
      * @throws IllegalArgumentException Si le format du fichier est incorrect
      */
     public static UndirectedGraph loadUndirectedGraph(String filePath) throws IOException {
+        return loadUndirectedGraph(filePath, ANY_WEIGHT);
+    }
+
+    /**
+     * Charge un graphe non orienté dont les poids sont en virgule fixe.
+     * 
+     * @param filePath Chemin vers le fichier
+     * @param weightScale Nombre d'unités entières par unité de poids (1 pour des poids entiers,
+     *                    0 pour des poids quelconques)
+     * @return Un graphe non orienté
+     * @throws IOException Si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException Si le format est incorrect ou un poids n'est pas un multiple de 1/weightScale
+     */
+    public static UndirectedGraph loadUndirectedGraph(String filePath, int weightScale) throws IOException {
+        return loadUndirectedGraph(filePath, weightScale, null, null);
+    }
+
+    /**
+     * Charge un graphe non orienté et les demandes de ses rues (quatrième colonne de #Aretes).
+     * 
+     * @param filePath Chemin vers le fichier
+     * @return Le graphe et les demandes (seules les rues de demande non nulle y figurent)
+     * @throws IOException Si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException Si le format est incorrect ou une demande est négative
+     */
+    public static DemandLoadResult loadUndirectedGraphWithDemands(String filePath) throws IOException {
+        List<Edge> streets = new ArrayList<>();
+        List<Double> demands = new ArrayList<>();
+        UndirectedGraph graph = loadUndirectedGraph(filePath, ANY_WEIGHT, streets, demands);
+        double[] values = new double[demands.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = demands.get(i);
+        }
+        return new DemandLoadResult(graph, streets, values);
+    }
+
+    /**
+     * Chargement non orienté ; si streets n'est pas null, la quatrième colonne est lue :
+     * chaque rue de demande non nulle est ajoutée à streets, et sa demande à demands.
+     */
+    private static UndirectedGraph loadUndirectedGraph(String filePath, int weightScale, List<Edge> streets,
+                                                       List<Double> demands) throws IOException {
+        if (weightScale < 0) {
+            throw new IllegalArgumentException("L'échelle des poids doit être positive");
+        }
         UndirectedGraph graph = new UndirectedGraph();
         Map<String, Vertex> vertexMap = new HashMap<>();
         
@@ -66,19 +165,14 @@ public class GraphLoader {
                     vertexMap.put(id, vertex);
                     graph.addVertex(vertex);
                 } else if (inEdgesSection) {
-                    // Format : ID1;ID2;Poids
+                    // Format : ID1;ID2;Poids[;Demande]
                     String[] parts = line.split(";");
                     if (parts.length < 3) {
                         throw new IllegalArgumentException("Format d'arête invalide : " + line);
                     }
                     String id1 = parts[0].trim();
                     String id2 = parts[1].trim();
-                    double weight;
-                    try {
-                        weight = Double.parseDouble(parts[2].trim());
-                    } catch (NumberFormatException e) {
-                        throw new IllegalArgumentException("Poids invalide : " + parts[2]);
-                    }
+                    double weight = parseWeight(parts[2], weightScale);
                     
                     Vertex v1 = vertexMap.get(id1);
                     Vertex v2 = vertexMap.get(id2);
@@ -87,6 +181,13 @@ public class GraphLoader {
                     }
                     
                     graph.addEdge(v1, v2, weight);
+                    if (streets != null && parts.length >= 4) {
+                        double demand = parseDemand(parts[3]);
+                        if (demand > 0) {
+                            streets.add(new Edge(v1, v2, weight));
+                            demands.add(demand);
+                        }
+                    }
                 }
             }
         }
@@ -107,6 +208,23 @@ public class GraphLoader {
      * @throws IllegalArgumentException Si le format du fichier est incorrect
      */
     public static DirectedGraph loadDirectedGraph(String filePath) throws IOException {
+        return loadDirectedGraph(filePath, ANY_WEIGHT);
+    }
+
+    /**
+     * Charge un graphe orienté dont les poids sont en virgule fixe.
+     * 
+     * @param filePath Chemin vers le fichier
+     * @param weightScale Nombre d'unités entières par unité de poids (1 pour des poids entiers,
+     *                    0 pour des poids quelconques)
+     * @return Un graphe orienté
+     * @throws IOException Si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException Si le format est incorrect ou un poids n'est pas un multiple de 1/weightScale
+     */
+    public static DirectedGraph loadDirectedGraph(String filePath, int weightScale) throws IOException {
+        if (weightScale < 0) {
+            throw new IllegalArgumentException("L'échelle des poids doit être positive");
+        }
         DirectedGraph graph = new DirectedGraph();
         Map<String, Vertex> vertexMap = new HashMap<>();
         
@@ -149,12 +267,7 @@ public class GraphLoader {
                     }
                     String id1 = parts[0].trim();
                     String id2 = parts[1].trim();
-                    double weight;
-                    try {
-                        weight = Double.parseDouble(parts[2].trim());
-                    } catch (NumberFormatException e) {
-                        throw new IllegalArgumentException("Poids invalide : " + parts[2]);
-                    }
+                    double weight = parseWeight(parts[2], weightScale);
                     
                     Vertex v1 = vertexMap.get(id1);
                     Vertex v2 = vertexMap.get(id2);
@@ -173,6 +286,127 @@ public class GraphLoader {
         
         return graph;
     }
+
+    /**
+     * Charge un graphe mixte : rues à double sens de la section #Aretes, rues à sens
+     * unique de la section #Arcs (une quatrième colonne éventuelle est ignorée).
+     * 
+     * @param filePath Chemin vers le fichier
+     * @return Un graphe mixte
+     * @throws IOException Si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException Si le format du fichier est incorrect
+     */
+    public static MixedGraph loadMixedGraph(String filePath) throws IOException {
+        MixedGraph graph = new MixedGraph();
+        Map<String, Vertex> vertexMap = new HashMap<>();
+        
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            boolean inVerticesSection = false;
+            boolean inEdgesSection = false;
+            boolean inArcsSection = false;
+            
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                
+                // Ignorer les lignes vides et les commentaires
+                if (line.isEmpty() || line.startsWith("#")) {
+                    if (line.equals("#Sommets")) {
+                        inVerticesSection = true;
+                        inEdgesSection = false;
+                        inArcsSection = false;
+                    } else if (line.equals("#Aretes")) {
+                        inVerticesSection = false;
+                        inEdgesSection = true;
+                        inArcsSection = false;
+                    } else if (line.equals("#Arcs")) {
+                        inVerticesSection = false;
+                        inEdgesSection = false;
+                        inArcsSection = true;
+                    }
+                    continue;
+                }
+                
+                if (inVerticesSection) {
+                    // Format : ID;Nom
+                    String[] parts = line.split(";");
+                    if (parts.length < 2) {
+                        throw new IllegalArgumentException("Format de sommet invalide : " + line);
+                    }
+                    String id = parts[0].trim();
+                    String name = parts[1].trim();
+                    Vertex vertex = new Vertex(id, name);
+                    vertexMap.put(id, vertex);
+                    graph.addVertex(vertex);
+                } else if (inEdgesSection || inArcsSection) {
+                    // Format : ID1;ID2;Poids
+                    String[] parts = line.split(";");
+                    if (parts.length < 3) {
+                        throw new IllegalArgumentException((inArcsSection ? "Format d'arc invalide : "
+                                                                          : "Format d'arête invalide : ") + line);
+                    }
+                    String id1 = parts[0].trim();
+                    String id2 = parts[1].trim();
+                    double weight = parseWeight(parts[2], ANY_WEIGHT);
+                    
+                    Vertex v1 = vertexMap.get(id1);
+                    Vertex v2 = vertexMap.get(id2);
+                    if (v1 == null || v2 == null) {
+                        throw new IllegalArgumentException("Sommet non trouvé : " + id1 + " ou " + id2);
+                    }
+                    
+                    if (inArcsSection) {
+                        graph.addArc(v1, v2, weight);
+                    } else {
+                        graph.addEdge(v1, v2, weight);
+                    }
+                }
+            }
+        }
+        
+        if (graph.isEmpty()) {
+            throw new IllegalArgumentException("Le graphe chargé est vide");
+        }
+        
+        return graph;
+    }
+
+    /**
+     * Lit un poids ; si weightScale > 0, vérifie qu'il est un multiple de 1/weightScale.
+     */
+    private static double parseWeight(String text, int weightScale) {
+        double weight;
+        try {
+            weight = Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Poids invalide : " + text);
+        }
+        if (weightScale > 0) {
+            double scaled = weight * weightScale;
+            if (Math.abs(scaled - Math.rint(scaled)) > 1e-9 * Math.max(1.0, Math.abs(scaled))
+                    || Math.abs(scaled) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                    "Poids non représentable en virgule fixe (échelle " + weightScale + ") : " + text);
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Lit une demande (quantité à collecter), positive ou nulle.
+     */
+    private static double parseDemand(String text) {
+        double demand;
+        try {
+            demand = Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Demande invalide : " + text);
+        }
+        if (demand < 0 || Double.isNaN(demand) || Double.isInfinite(demand)) {
+            throw new IllegalArgumentException("La demande doit être positive ou nulle : " + text);
+        }
+        return demand;
+    }
 }
 
 
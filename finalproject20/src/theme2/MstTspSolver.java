@@ -19,19 +19,26 @@ public class MstTspSolver {
     
     /**
      * Resultat de l'algorithme MST-TSP.
+     * 
+     * La tournee est stockee comme un tableau d'indices de sommets (voir CompactPath) ;
+     * getTour() en est une vue en lecture seule.
      */
     public static class Result {
-        private final List<Vertex> tour;
+        private final CompactPath tour;
         private final double totalDistance;
         private final double mstWeight;
 
-        public Result(List<Vertex> tour, double totalDistance, double mstWeight) {
+        public Result(CompactPath tour, double totalDistance, double mstWeight) {
             this.tour = tour;
             this.totalDistance = totalDistance;
             this.mstWeight = mstWeight;
         }
 
         public List<Vertex> getTour() {
+            return tour.asList();
+        }
+
+        public CompactPath getCompactPath() {
             return tour;
         }
 
@@ -64,69 +71,43 @@ public class MstTspSolver {
         UndirectedGraph mst = MstBuilder.buildMst(graph, depot);
         double mstWeight = MstBuilder.calculateMstWeight(mst);
         
-        // Etape 2 : Parcourir l'arbre en profondeur
-        List<Vertex> dfsTour = dfsTraversal(mst, depot);
+        // Etapes 2 et 3 : Parcourir l'arbre en profondeur avec shortcutting
+        // (indices des sommets dans le graphe compact, depot en premier)
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] indices = new int[compact.getVertexCount() + 1];
+        int length = dfsTraversal(mst, compact, depot, new boolean[compact.getVertexCount()], indices, 0);
         
-        // Etape 3 : Appliquer le shortcutting
-        List<Vertex> shortcutTour = applyShortcutting(dfsTour);
-        
-        // S'assurer que la tournee commence et finit au depot
-        if (!shortcutTour.get(0).equals(depot)) {
-            shortcutTour.add(0, depot);
-        }
-        if (!shortcutTour.get(shortcutTour.size() - 1).equals(depot)) {
-            shortcutTour.add(depot);
+        // S'assurer que la tournee finit au depot
+        if (indices[length - 1] != indices[0]) {
+            indices[length++] = indices[0];
         }
+        CompactPath tour = new CompactPath(compact, Arrays.copyOf(indices, length));
         
         // Etape 4 : Calculer le cout reel sur le graphe complet
-        double totalDistance = calculateTourDistance(graph, shortcutTour);
-        
-        return new Result(shortcutTour, totalDistance, mstWeight);
-    }
-
-    /**
-     * Parcourt l'arbre MST en profondeur (DFS) a partir du depot.
-     */
-    private static List<Vertex> dfsTraversal(UndirectedGraph mst, Vertex start) {
-        List<Vertex> tour = new ArrayList<>();
-        Set<Vertex> visited = new HashSet<>();
+        double totalDistance = calculateTourDistance(graph, tour.asList());
         
-        dfsHelper(mst, start, visited, tour);
-        
-        return tour;
+        return new Result(tour, totalDistance, mstWeight);
     }
 
     /**
-     * Helper recursif pour le DFS.
+     * Parcourt l'arbre MST en profondeur (DFS) a partir de current et ecrit les sommets
+     * dans tour a leur premiere visite : c'est le parcours avec shortcutting, les retours
+     * vers un sommet deja visite sont sautes.
+     * 
+     * @return La position qui suit le dernier sommet ecrit
      */
-    private static void dfsHelper(UndirectedGraph mst, Vertex current, Set<Vertex> visited, List<Vertex> tour) {
-        visited.add(current);
-        tour.add(current);
+    private static int dfsTraversal(UndirectedGraph mst, CompactGraph compact, Vertex current,
+                                    boolean[] visited, int[] tour, int length) {
+        int index = compact.indexOf(current);
+        visited[index] = true;
+        tour[length++] = index;
         
         for (Vertex neighbor : mst.getNeighbors(current)) {
-            if (!visited.contains(neighbor)) {
-                dfsHelper(mst, neighbor, visited, tour);
-                // Revenir au sommet parent apres avoir visite un sous-arbre
-                tour.add(current);
-            }
-        }
-    }
-
-    /**
-     * Applique le shortcutting : si un sommet est revisite, ne le garder qu'a la premiere visite.
-     */
-    private static List<Vertex> applyShortcutting(List<Vertex> tour) {
-        List<Vertex> shortcutTour = new ArrayList<>();
-        Set<Vertex> visited = new HashSet<>();
-        
-        for (Vertex v : tour) {
-            if (!visited.contains(v)) {
-                shortcutTour.add(v);
-                visited.add(v);
+            if (!visited[compact.indexOf(neighbor)]) {
+                length = dfsTraversal(mst, compact, neighbor, visited, tour, length);
             }
         }
-        
-        return shortcutTour;
+        return length;
     }
 
     /**
@@ -21,17 +21,24 @@ public class NearestNeighborSolver {
     
     /**
      * Resultat de l'algorithme du plus proche voisin.
+     * 
+     * La tournee est stockee comme un tableau d'indices de sommets (voir CompactPath) ;
+     * getTour() en est une vue en lecture seule.
      */
     public static class Result {
-        private final List<Vertex> tour;
+        private final CompactPath tour;
         private final double totalDistance;
 
-        public Result(List<Vertex> tour, double totalDistance) {
+        public Result(CompactPath tour, double totalDistance) {
             this.tour = tour;
             this.totalDistance = totalDistance;
         }
 
         public List<Vertex> getTour() {
+            return tour.asList();
+        }
+
+        public CompactPath getCompactPath() {
             return tour;
         }
 
@@ -56,12 +63,15 @@ public class NearestNeighborSolver {
             throw new IllegalArgumentException("Le dépôt n'existe pas dans le graphe");
         }
 
-        List<Vertex> tour = new ArrayList<>();
+        // Indices des sommets dans le graphe compact : chaque sommet une fois, puis le depot
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] indices = new int[compact.getVertexCount() + 1];
+        int length = 0;
         Set<Vertex> visited = new HashSet<>();
         
         // Commencer au depot
         Vertex current = depot;
-        tour.add(current);
+        indices[length++] = compact.indexOf(current);
         visited.add(current);
         
         // Visiter tous les autres sommets
@@ -73,16 +83,17 @@ public class NearestNeighborSolver {
                 throw new IllegalStateException("Le graphe n'est pas connecte");
             }
             
-            tour.add(nearest);
+            indices[length++] = compact.indexOf(nearest);
             visited.add(nearest);
             current = nearest;
         }
         
         // Revenir au depot
-        tour.add(depot);
+        indices[length++] = indices[0];
+        CompactPath tour = new CompactPath(compact, indices);
         
         // Calculer la distance totale
-        double totalDistance = calculateTourDistance(graph, tour);
+        double totalDistance = calculateTourDistance(graph, tour.asList());
         
         return new Result(tour, totalDistance);
     }
@@ -337,7 +337,14 @@ public class ConsoleMenu {
 
         Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentUndirectedGraph);
 
-        ChinesePostman.Result result = ChinesePostman.solve(currentUndirectedGraph, depot);
+        ChinesePostman.Result result;
+        try {
+            result = ChinesePostman.solve(currentUndirectedGraph, depot);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            System.out.println("Toutes les rues doivent être accessibles depuis le dépôt.");
+            return;
+        }
 
         System.out.println("\n--- RÉSULTATS ---");
         System.out.println("Tournée complète (certaines arêtes peuvent être parcourues plusieurs fois) :");
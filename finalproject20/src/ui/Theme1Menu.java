@@ -6,7 +6,12 @@ import io.GraphLoader;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
@@ -14,15 +19,37 @@ import java.util.Scanner;
  * Menu console interactif pour le Thème 1 - Collecte des déchets.
  */
 public class Theme1Menu {
+    /** Nombre d'arbres de plus courts chemins conservés entre deux requêtes. */
+    private static final int PATH_CACHE_SIZE = 16;
+    /** Extensions des fichiers d'étiquettes de distances enregistrés à côté du graphe. */
+    private static final String UNDIRECTED_LABELS_SUFFIX = ".hublabels";
+    private static final String DIRECTED_LABELS_SUFFIX = ".directed.hublabels";
+
     private Scanner scanner;
     private UndirectedGraph currentUndirectedGraph;
+    private List<Edge> currentStreets;
+    private double[] currentDemands;
     private DirectedGraph currentDirectedGraph;
+    private MixedGraph currentMixedGraph;
+    private ShortestPathCache undirectedPathCache;
+    private ShortestPathCache directedPathCache;
+    private HubLabels undirectedLabels;
+    private HubLabels directedLabels;
+    private String undirectedGraphFile;
+    private String directedGraphFile;
     private boolean isUndirected;
 
     public Theme1Menu(Scanner scanner) {
         this.scanner = scanner;
         this.currentUndirectedGraph = null;
+        this.currentStreets = new ArrayList<>();
+        this.currentDemands = new double[0];
         this.currentDirectedGraph = null;
+        this.currentMixedGraph = null;
+        this.undirectedPathCache = null;
+        this.directedPathCache = null;
+        this.undirectedLabels = null;
+        this.directedLabels = null;
         this.isUndirected = true;
     }
 
@@ -55,6 +82,24 @@ public class Theme1Menu {
                 case 6:
                     problem2GeneralCase();
                     break;
+                case 7:
+                    problem2DirectedCase();
+                    break;
+                case 8:
+                    problem2CapacitatedCase();
+                    break;
+                case 9:
+                    problem2FleetCase();
+                    break;
+                case 10:
+                    problem2RuralCase();
+                    break;
+                case 11:
+                    problem2MixedCase();
+                    break;
+                case 12:
+                    saveLabels();
+                    break;
                 case 0:
                     running = false;
                     break;
@@ -79,6 +124,12 @@ public class Theme1Menu {
         System.out.println("4) T1 - P2 - Cas idéal : Tous les sommets pairs");
         System.out.println("5) T1 - P2 - Cas 2 sommets impairs");
         System.out.println("6) T1 - P2 - Cas général : Postier chinois");
+        System.out.println("7) T1 - P2 - Postier chinois (graphe orienté, rues à sens unique)");
+        System.out.println("8) T1 - P2 - Tournées avec capacité du camion (demandes des rues)");
+        System.out.println("9) T1 - P2 - Postier chinois avec plusieurs camions");
+        System.out.println("10) T1 - P2 - Postier rural (seulement les rues à collecter)");
+        System.out.println("11) T1 - P2 - Postier chinois mixte (sens uniques et doubles sens)");
+        System.out.println("12) Construire et enregistrer les étiquettes de distances");
         System.out.println("0) Retour au menu principal");
         System.out.println("=".repeat(60));
     }
@@ -116,21 +167,42 @@ public class Theme1Menu {
             filePath = scanner.nextLine().trim();
         }
         
-        System.out.print("Type de graphe (1=non orienté, 2=orienté) : ");
+        System.out.print("Type de graphe (1=non orienté, 2=orienté, 3=mixte) : ");
         int type = readInt("");
         
         try {
             if (type == 1) {
-                currentUndirectedGraph = GraphLoader.loadUndirectedGraph(filePath);
+                GraphLoader.DemandLoadResult loaded = GraphLoader.loadUndirectedGraphWithDemands(filePath);
+                currentUndirectedGraph = loaded.getGraph();
+                currentStreets = loaded.getStreets();
+                currentDemands = loaded.getDemands();
+                undirectedPathCache = new ShortestPathCache(currentUndirectedGraph, PATH_CACHE_SIZE);
+                undirectedLabels = loadLabels(filePath, currentUndirectedGraph);
+                undirectedGraphFile = filePath;
                 isUndirected = true;
                 displayGraphSummary(currentUndirectedGraph);
             } else if (type == 2) {
                 currentDirectedGraph = GraphLoader.loadDirectedGraph(filePath);
+                directedPathCache = new ShortestPathCache(currentDirectedGraph, PATH_CACHE_SIZE);
+                directedLabels = loadLabels(filePath, currentDirectedGraph);
+                directedGraphFile = filePath;
                 isUndirected = false;
                 displayGraphSummary(currentDirectedGraph);
+            } else if (type == 3) {
+                // Sections #Aretes (double sens) et #Arcs (sens unique) dans le même fichier
+                currentMixedGraph = GraphLoader.loadMixedGraph(filePath);
+                System.out.println("Rues à sens unique : " + currentMixedGraph.getArcCount()
+                                 + ", rues à double sens : " + currentMixedGraph.getUndirectedEdgeCount());
+                displayGraphSummary(currentMixedGraph);
             } else {
                 System.out.println("Type invalide. Utilisation du type non orienté par défaut.");
-                currentUndirectedGraph = GraphLoader.loadUndirectedGraph(filePath);
+                GraphLoader.DemandLoadResult loaded = GraphLoader.loadUndirectedGraphWithDemands(filePath);
+                currentUndirectedGraph = loaded.getGraph();
+                currentStreets = loaded.getStreets();
+                currentDemands = loaded.getDemands();
+                undirectedPathCache = new ShortestPathCache(currentUndirectedGraph, PATH_CACHE_SIZE);
+                undirectedLabels = loadLabels(filePath, currentUndirectedGraph);
+                undirectedGraphFile = filePath;
                 isUndirected = true;
                 displayGraphSummary(currentUndirectedGraph);
             }
@@ -142,10 +214,74 @@ public class Theme1Menu {
         }
     }
 
+    /**
+     * Relit les étiquettes de distances enregistrées à côté du fichier du graphe (option 12)
+     * si elles sont plus récentes que lui et correspondent au graphe (sommets, rues et poids).
+     * Sinon renvoie null : les étiquettes ne sont construites qu'à la demande (option 12).
+     */
+    private HubLabels loadLabels(String filePath, Graph graph) {
+        boolean directed = graph instanceof DirectedGraph;
+        Path graphFile = Paths.get(filePath);
+        Path labelFile = labelFile(filePath, directed);
+        try {
+            if (Files.exists(labelFile)
+                    && Files.getLastModifiedTime(labelFile).compareTo(Files.getLastModifiedTime(graphFile)) >= 0) {
+                HubLabels labels = HubLabels.load(labelFile);
+                if (labels.matches(graph)) {
+                    return labels;
+                }
+            }
+        } catch (IOException e) {
+            // Fichier d'étiquettes illisible : on s'en passe
+        }
+        return null;
+    }
+
+    private static Path labelFile(String graphFile, boolean directed) {
+        return Paths.get(graphFile + (directed ? DIRECTED_LABELS_SUFFIX : UNDIRECTED_LABELS_SUFFIX));
+    }
+
+    /**
+     * Construit, si besoin, les étiquettes des graphes chargés et les enregistre à côté de
+     * leurs fichiers, pour que le prochain chargement les relise.
+     */
+    private void saveLabels() {
+        if (currentUndirectedGraph == null && currentDirectedGraph == null) {
+            System.out.println("Erreur : Aucun graphe chargé.");
+            return;
+        }
+        if (currentUndirectedGraph != null && undirectedLabels == null) {
+            undirectedLabels = HubLabels.build(currentUndirectedGraph);
+        }
+        if (currentDirectedGraph != null && directedLabels == null) {
+            directedLabels = HubLabels.build(currentDirectedGraph);
+        }
+        saveLabels(undirectedLabels, undirectedGraphFile, false);
+        saveLabels(directedLabels, directedGraphFile, true);
+    }
+
+    private void saveLabels(HubLabels labels, String graphFile, boolean directed) {
+        if (labels == null) {
+            return;
+        }
+        Path file = labelFile(graphFile, directed);
+        try {
+            labels.save(file);
+            System.out.println("Étiquettes enregistrées : " + file);
+        } catch (IOException e) {
+            System.out.println("Étiquettes de distances non enregistrées : " + e.getMessage());
+        }
+    }
+
     private void displayGraphSummary(Graph graph) {
         System.out.println("\n--- Résumé du graphe ---");
         System.out.println("Nombre de sommets : " + graph.getVertexCount());
         System.out.println("Nombre d'arêtes/arcs : " + graph.getEdgeCount());
+        if (graph instanceof DirectedGraph) {
+            // Composantes calculées une fois ici, puis conservées par le graphe
+            StronglyConnectedComponents components = ((DirectedGraph) graph).getStronglyConnectedComponents();
+            System.out.println("Composantes fortement connexes : " + components.getComponentCount());
+        }
         System.out.println("\nDegrés des sommets :");
         for (Vertex v : graph.getVertices()) {
             System.out.println("  " + v + " : degré " + graph.getDegree(v));
@@ -170,16 +306,19 @@ public class Theme1Menu {
             return;
         }
 
+        // Chemins et distances sont lus dans le même arbre du dépôt
+        // (conservé en cache pour les requêtes suivantes)
+        ShortestPathTree tree = undirectedPathCache.getTree(depot);
+
         // Calculer le chemin aller : dépôt → particulier
-        Dijkstra.Result resultAller = Dijkstra.shortestPaths(currentUndirectedGraph, depot);
-        List<Vertex> pathAller = resultAller.getPath(particulier);
-        double distanceAller = resultAller.getDistance(particulier);
+        List<Vertex> pathAller = tree.getPath(particulier);
+        double distanceAller = tree.getDistance(particulier);
 
         // Calculer le chemin retour : particulier → dépôt
-        // Pour un graphe non orienté, c'est le même chemin à l'envers
-        Dijkstra.Result resultRetour = Dijkstra.shortestPaths(currentUndirectedGraph, particulier);
-        List<Vertex> pathRetour = resultRetour.getPath(depot);
-        double distanceRetour = resultRetour.getDistance(depot);
+        // Pour un graphe non orienté, c'est le même chemin à l'envers, sans nouveau Dijkstra
+        List<Vertex> pathRetour = new ArrayList<>(pathAller);
+        Collections.reverse(pathRetour);
+        double distanceRetour = distanceAller;
 
         double distanceTotale = distanceAller + distanceRetour;
 
@@ -213,16 +352,36 @@ public class Theme1Menu {
             return;
         }
 
+        // L'aller-retour n'est possible que si les deux sommets sont dans la même
+        // composante fortement connexe (test immédiat, les composantes sont en cache)
+        if (!currentDirectedGraph.areStronglyConnected(depot, particulier)) {
+            System.out.println("\nLe dépôt et le particulier ne sont pas dans la même composante");
+            System.out.println("fortement connexe : l'aller-retour complet est impossible.");
+        }
+
+        // Chemins et distances sont lus dans les mêmes arbres du dépôt. Si des étiquettes
+        // enregistrées ont été relues (option 12), un trajet impossible est écarté sans recherche.
+        double distanceAller = Double.POSITIVE_INFINITY;
+        double distanceRetour = Double.POSITIVE_INFINITY;
+
         // Calculer le chemin aller : dépôt → particulier
-        Dijkstra.Result resultAller = Dijkstra.shortestPaths(currentDirectedGraph, depot);
-        List<Vertex> pathAller = resultAller.getPath(particulier);
-        double distanceAller = resultAller.getDistance(particulier);
+        List<Vertex> pathAller = new ArrayList<>();
+        if (directedLabels == null || directedLabels.getDistance(depot, particulier) != Double.POSITIVE_INFINITY) {
+            ShortestPathTree tree = directedPathCache.getTree(depot);
+            distanceAller = tree.getDistance(particulier);
+            pathAller = tree.getPath(particulier);
+        }
 
         // Calculer le chemin retour : particulier → dépôt
         // Pour un graphe orienté, le chemin retour peut être différent !
-        Dijkstra.Result resultRetour = Dijkstra.shortestPaths(currentDirectedGraph, particulier);
-        List<Vertex> pathRetour = resultRetour.getPath(depot);
-        double distanceRetour = resultRetour.getDistance(depot);
+        // Une recherche inversée depuis le dépôt (arcs entrants) donne le retour de
+        // tous les particuliers à la fois : deux recherches au total, quel que soit le client
+        List<Vertex> pathRetour = new ArrayList<>();
+        if (directedLabels == null || directedLabels.getDistance(particulier, depot) != Double.POSITIVE_INFINITY) {
+            ShortestPathTree reverseTree = directedPathCache.getReverseTree(depot);
+            distanceRetour = reverseTree.getDistance(particulier);
+            pathRetour = reverseTree.getPath(particulier);
+        }
 
         double distanceTotale = distanceAller + distanceRetour;
 
@@ -274,14 +433,26 @@ public class Theme1Menu {
         Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentUndirectedGraph);
 
         System.out.println("\nTous les sommets ont un degré pair. Construction de la tournée eulérienne...");
-        List<Vertex> tour = EulerianTour.findEulerianTour(currentUndirectedGraph, depot);
-        double distance = EulerianTour.calculateTourDistance(currentUndirectedGraph, tour);
+        // La tournée est affichée au fur et à mesure de sa construction : les sommets émis ne
+        // sont pas gardés, mais la pile de Hierholzer peut au pire contenir toute la tournée
+        CompactGraph compact = CompactGraph.of(currentUndirectedGraph);
+        int[] multiplicities = new int[compact.getEdgeCount()];
+        Arrays.fill(multiplicities, 1);
+        EulerianTour.TourIterator tour = EulerianTour.tourIterator(compact, multiplicities, depot);
 
         System.out.println("\n--- RÉSULTATS ---");
         System.out.println("Tournée eulérienne (chaque arête parcourue exactement une fois) :");
-        printPath(tour);
-        System.out.println("\nDistance TOTALE : " + distance);
-        System.out.println("Nombre de sommets visités : " + tour.size());
+        System.out.print("  ");
+        int visited = 0;
+        while (tour.hasNext()) {
+            if (visited++ > 0) {
+                System.out.print(" → ");
+            }
+            System.out.print(compact.getVertex(tour.nextInt()).getId());
+        }
+        System.out.println();
+        System.out.println("\nDistance TOTALE : " + tour.getDistance());
+        System.out.println("Nombre de sommets visités : " + visited);
     }
 
     private void problem2TwoOddVertices() {
@@ -362,7 +533,14 @@ public class Theme1Menu {
 
         Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentUndirectedGraph);
 
-        ChinesePostman.Result result = ChinesePostman.solve(currentUndirectedGraph, depot);
+        ChinesePostman.Result result;
+        try {
+            result = ChinesePostman.solve(currentUndirectedGraph, depot);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            System.out.println("Toutes les rues doivent être accessibles depuis le dépôt.");
+            return;
+        }
 
         System.out.println("\n--- RÉSULTATS ---");
         System.out.println("Tournée complète (certaines arêtes peuvent être parcourues plusieurs fois) :");
@@ -388,6 +566,196 @@ public class Theme1Menu {
         }
     }
 
+    private void problem2DirectedCase() {
+        if (currentDirectedGraph == null) {
+            System.out.println("Erreur : Aucun graphe orienté chargé.");
+            return;
+        }
+
+        System.out.println("\n--- T1 P2 - Postier chinois orienté ---");
+        System.out.println("Tournée minimale empruntant chaque rue dans son sens de circulation.");
+        System.out.println("(Les arcs à repasser sont choisis par un flot de coût minimal)\n");
+
+        Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentDirectedGraph);
+
+        ChinesePostman.Result result;
+        try {
+            result = ChinesePostman.solve(currentDirectedGraph, depot);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            System.out.println("Toutes les rues doivent être dans la même composante fortement connexe que le dépôt.");
+            return;
+        }
+
+        System.out.println("\n--- RÉSULTATS ---");
+        System.out.println("Tournée complète (certains arcs peuvent être parcourus plusieurs fois) :");
+        printPath(result.getTour());
+        System.out.println("\nDistance TOTALE : " + result.getTotalDistance());
+        System.out.println("Nombre de sommets visités : " + result.getTour().size());
+
+        if (!result.getDuplicatedEdges().isEmpty()) {
+            System.out.println("\nArcs parcourus plusieurs fois (passages supplémentaires) : " +
+                             result.getDuplicatedEdges().size());
+            int maxDisplay = Math.min(5, result.getDuplicatedEdges().size());
+            for (int i = 0; i < maxDisplay; i++) {
+                Edge e = result.getDuplicatedEdges().get(i);
+                System.out.println("  - " + e.getFrom().getId() + " → " + e.getTo().getId() +
+                                 " (poids " + e.getWeight() + ")");
+            }
+            if (result.getDuplicatedEdges().size() > maxDisplay) {
+                System.out.println("  ... et " + (result.getDuplicatedEdges().size() - maxDisplay) + " autres");
+            }
+        } else {
+            System.out.println("\nAucun passage supplémentaire nécessaire (graphe déjà eulérien).");
+        }
+    }
+
+    private void problem2CapacitatedCase() {
+        if (currentUndirectedGraph == null) {
+            System.out.println("Erreur : Aucun graphe non orienté chargé.");
+            return;
+        }
+
+        System.out.println("\n--- T1 P2 - Tournées avec capacité ---");
+        System.out.println("La tournée du Postier chinois est découpée en voyages : le camion");
+        System.out.println("rentre au dépôt se vider avant d'être plein.\n");
+
+        if (currentStreets.isEmpty()) {
+            System.out.println("Aucune demande chargée : ajoutez une 4e colonne (quantité à collecter)");
+            System.out.println("dans la section #Aretes du fichier (ID1;ID2;Poids;Demande).");
+            return;
+        }
+        double totalDemand = 0.0;
+        for (double demand : currentDemands) {
+            totalDemand += demand;
+        }
+        System.out.println("Rues à collecter : " + currentStreets.size() + " (quantité totale " + totalDemand + ")");
+
+        double capacity = readDouble("Capacité du camion : ");
+        Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentUndirectedGraph);
+
+        CapacitatedArcRouting.Result result;
+        try {
+            result = CapacitatedArcRouting.solve(currentUndirectedGraph, currentStreets, currentDemands, capacity,
+                                                 depot);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            return;
+        }
+
+        System.out.println("\n--- RÉSULTATS ---");
+        int number = 1;
+        for (CapacitatedArcRouting.Trip trip : result.getTrips()) {
+            System.out.println("Voyage " + number++ + " (charge " + trip.getLoad() + ", distance "
+                             + trip.getDistance() + ") :");
+            printPath(trip.getRoute());
+        }
+        System.out.println("\nNombre de voyages : " + result.getTrips().size());
+        System.out.println("Distance TOTALE : " + result.getTotalDistance());
+        System.out.println("(Tournée unique sans capacité : " + result.getGiantTourDistance() + ")");
+    }
+
+    private void problem2FleetCase() {
+        if (currentUndirectedGraph == null) {
+            System.out.println("Erreur : Aucun graphe non orienté chargé.");
+            return;
+        }
+
+        System.out.println("\n--- T1 P2 - Postier chinois avec plusieurs camions ---");
+        System.out.println("Les rues sont réparties en secteurs équilibrés, un par camion,");
+        System.out.println("et les tournées des secteurs sont calculées en parallèle.\n");
+
+        int vehicles = readInt("Nombre de camions : ");
+        if (vehicles < 1) {
+            System.out.println("Erreur : Au moins un camion est nécessaire.");
+            return;
+        }
+        Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentUndirectedGraph);
+
+        MultiVehiclePostman.Result result;
+        try {
+            result = MultiVehiclePostman.solve(currentUndirectedGraph, depot, vehicles);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            return;
+        }
+
+        System.out.println("\n--- RÉSULTATS ---");
+        for (int i = 0; i < result.getVehicleCount(); i++) {
+            ChinesePostman.Result tour = result.getTour(i);
+            System.out.println("Camion " + (i + 1) + " (" + result.getSector(i).size() + " rues, distance "
+                             + tour.getTotalDistance() + ") :");
+            printPath(tour.getTour());
+        }
+        System.out.println("\nDurée de la collecte (plus longue tournée) : " + result.getMakespan());
+        System.out.println("Distance TOTALE parcourue : " + result.getTotalDistance());
+    }
+
+    private void problem2RuralCase() {
+        if (currentUndirectedGraph == null) {
+            System.out.println("Erreur : Aucun graphe non orienté chargé.");
+            return;
+        }
+
+        System.out.println("\n--- T1 P2 - Postier rural ---");
+        System.out.println("Tournée minimale desservant seulement les rues à collecter ce jour-là ;");
+        System.out.println("les autres rues peuvent être empruntées à vide.\n");
+
+        List<Edge> required = currentStreets;
+        if (required.isEmpty()) {
+            System.out.println("Aucune rue à collecter : ajoutez une 4e colonne (quantité à collecter)");
+            System.out.println("dans la section #Aretes du fichier (ID1;ID2;Poids;Demande).");
+            return;
+        }
+        System.out.println("Rues à collecter : " + required.size() + " sur " + currentUndirectedGraph.getEdgeCount());
+
+        Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentUndirectedGraph);
+
+        ChinesePostman.Result result;
+        try {
+            result = RuralPostman.solve(currentUndirectedGraph, required, depot);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            return;
+        }
+
+        System.out.println("\n--- RÉSULTATS ---");
+        System.out.println("Tournée complète :");
+        printPath(result.getTour());
+        System.out.println("\nDistance TOTALE : " + result.getTotalDistance());
+        System.out.println("Nombre de sommets visités : " + result.getTour().size());
+        System.out.println("Passages sans collecte (trajets à vide) : " + result.getDuplicatedEdges().size());
+    }
+
+    private void problem2MixedCase() {
+        if (currentMixedGraph == null) {
+            System.out.println("Erreur : Aucun graphe mixte chargé.");
+            return;
+        }
+
+        System.out.println("\n--- T1 P2 - Postier chinois mixte ---");
+        System.out.println("Tournée couvrant les rues à sens unique dans leur sens et les rues à");
+        System.out.println("double sens dans le sens choisi (orientation par flot de coût minimal).\n");
+
+        Vertex depot = selectVertex("Sélectionnez le sommet DÉPÔT", currentMixedGraph);
+
+        ChinesePostman.Result result;
+        try {
+            result = MixedPostman.solve(currentMixedGraph, depot);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Erreur : " + e.getMessage());
+            System.out.println("Toutes les rues doivent être dans la même composante fortement connexe que le dépôt.");
+            return;
+        }
+
+        System.out.println("\n--- RÉSULTATS ---");
+        System.out.println("Tournée complète (certaines rues peuvent être parcourues plusieurs fois) :");
+        printPath(result.getTour());
+        System.out.println("\nDistance TOTALE : " + result.getTotalDistance());
+        System.out.println("Nombre de sommets visités : " + result.getTour().size());
+        System.out.println("Passages supplémentaires : " + result.getDuplicatedEdges().size());
+    }
+
     private Vertex selectVertex(String prompt, Graph graph) {
         System.out.println("\n" + prompt + " :");
         List<Vertex> vertices = new java.util.ArrayList<>(graph.getVertices());
@@ -422,6 +790,17 @@ public class Theme1Menu {
         System.out.println();
     }
 
+    private double readDouble(String prompt) {
+        System.out.print(prompt);
+        while (!scanner.hasNextDouble()) {
+            System.out.print("Veuillez entrer un nombre : ");
+            scanner.next();
+        }
+        double value = scanner.nextDouble();
+        scanner.nextLine(); // Consommer le retour à la ligne
+        return value;
+    }
+
     private int readInt(String prompt) {
         System.out.print(prompt);
         while (!scanner.hasNextInt()) {
@@ -1,5 +1,6 @@
 package ui;
 
+import algorithms.FloydWarshall;
 import graph.*;
 import io.GraphLoader;
 import theme2.*;
@@ -102,10 +103,15 @@ public class Theme2Menu {
         // Constantes
         final double MAX_CAPACITY = 20.0;
         
-        // Charger le graphe complet
+        // Charger le graphe (complet par défaut)
+        System.out.print("Fichier du graphe (Entrée : theme2_mst_graph_complete.txt) : ");
+        String filePath = scanner.nextLine().trim();
+        if (filePath.isEmpty()) {
+            filePath = "theme2_mst_graph_complete.txt";
+        }
         try {
-            System.out.println("Chargement du graphe theme2_mst_graph_complete.txt...");
-            currentGraph = GraphLoader.loadUndirectedGraph("theme2_mst_graph_complete.txt");
+            System.out.println("Chargement du graphe " + filePath + "...");
+            currentGraph = GraphLoader.loadUndirectedGraph(filePath);
             System.out.println("Graphe chargé avec succès !");
             System.out.println("Dans cette méthode, nous prenons en compte la charge maximale du camion et la contenance de chaque point de collecte.");
             displayGraphSummaryForMst(currentGraph);
@@ -117,6 +123,15 @@ public class Theme2Menu {
             return;
         }
 
+        // L'approche MST suppose un graphe complet : sinon, travailler sur la fermeture métrique,
+        // en gardant les plus courts chemins pour afficher les rues réellement empruntées
+        FloydWarshall.Result closure = null;
+        if (!isComplete(currentGraph)) {
+            System.out.println("Le graphe n'est pas complet : calcul des plus courtes distances entre tous les sommets (Floyd-Warshall)...");
+            closure = FloydWarshall.solve(currentGraph, true);
+            currentGraph = closure.toCompleteGraph();
+        }
+
         // Dépôt fixé à H
         Vertex depot = currentGraph.getVertex("H");
         if (depot == null) {
@@ -177,6 +192,10 @@ public class Theme2Menu {
                 System.out.print(subTour.get(j).getId());
             }
             System.out.println();
+            if (closure != null) {
+                System.out.println("Itinéraire par les rues :");
+                printPath(streetRoute(closure, subTour));
+            }
             System.out.println("Charge de la tournée " + (i + 1) + " : " + (int)tourLoad);
             System.out.println("Distance de la tournée " + (i + 1) + " : " + String.format("%.1f", tourDistance));
             System.out.println();
@@ -187,6 +206,20 @@ public class Theme2Menu {
         System.out.println("La tournée globale a été construite à partir de l'arbre couvrant minimal (MST), puis découpée en tournées respectant la capacité du camion.");
     }
 
+    /**
+     * Itinéraire par les rues d'une tournée calculée sur la fermeture métrique : chaque
+     * étape entre deux points est remplacée par le plus court chemin qu'elle représente.
+     */
+    private List<Vertex> streetRoute(FloydWarshall.Result closure, List<Vertex> tour) {
+        List<Vertex> route = new ArrayList<>();
+        route.add(tour.get(0));
+        for (int j = 0; j + 1 < tour.size(); j++) {
+            List<Vertex> leg = closure.getPath(tour.get(j), tour.get(j + 1));
+            route.addAll(leg.subList(1, leg.size()));
+        }
+        return route;
+    }
+
     private void splitByCapacity(List<Vertex> tour, Vertex depot) {
         System.out.println("\nDéfinition des quantités de déchets à collecter :");
         
@@ -252,6 +285,21 @@ public class Theme2Menu {
         System.out.println("Contenances des points de collecte : A=4, B=6, C=5, D=3, E=4, F=2, G=5");
     }
 
+    /**
+     * Vérifie que chaque sommet est relié directement à tous les autres.
+     */
+    private boolean isComplete(UndirectedGraph graph) {
+        int n = graph.getVertexCount();
+        for (Vertex v : graph.getVertices()) {
+            Set<Vertex> neighbors = new HashSet<>(graph.getNeighbors(v));
+            neighbors.remove(v);
+            if (neighbors.size() < n - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Vertex selectVertex(String prompt, Graph graph) {
         System.out.println("\n" + prompt + " :");
         List<Vertex> vertices = new ArrayList<>(graph.getVertices());